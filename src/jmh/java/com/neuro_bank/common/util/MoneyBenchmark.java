@@ -0,0 +1,77 @@
+package com.neuro_bank.common.util;
+
+import com.neuro_bank.common.enums.Currency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+// Phan tinh tien cua 1 lan chuyen (kiem tra so du, tru nguon, cong dich, so du truoc/sau cho entry):
+// BigDecimal nhu truoc, Money tu cot BigDecimal (Money.of), va Money tu cot long (MinorUnitsConverter).
+// So sanh B/op (profiler gc): mvn -Pjmh test-compile exec:exec -Djmh.include=MoneyBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+  private BigDecimal amount;
+  private BigDecimal fromBalance;
+  private BigDecimal toBalance;
+  private long fromMinor;
+  private long toMinor;
+
+  @Setup
+  public void setUp() {
+    amount = new BigDecimal("1250000.5000");
+    fromBalance = new BigDecimal("98765432.1000").setScale(Money.SCALE, RoundingMode.UNNECESSARY);
+    toBalance = new BigDecimal("1000.0000");
+    fromMinor = Money.of(fromBalance, Currency.VND).minorUnits();
+    toMinor = Money.of(toBalance, Currency.VND).minorUnits();
+  }
+
+  @Benchmark
+  public BigDecimal bigDecimal() {
+    if (fromBalance.compareTo(amount) < 0) {
+      throw new IllegalStateException();
+    }
+    BigDecimal fromAfter = fromBalance.subtract(amount);
+    BigDecimal toAfter = toBalance.add(amount);
+    return fromAfter.add(toAfter);
+  }
+
+  @Benchmark
+  public BigDecimal moneyFromBigDecimalColumns() {
+    Money value = Money.of(amount, Currency.VND);
+    Money from = Money.of(fromBalance, Currency.VND);
+    if (from.isLessThan(value)) {
+      throw new IllegalStateException();
+    }
+    Money fromAfter = from.minus(value);
+    Money toAfter = Money.of(toBalance, Currency.VND).plus(value);
+    return fromAfter.plus(toAfter).toBigDecimal();
+  }
+
+  @Benchmark
+  public long moneyFromMinorColumns() {
+    Money value = Money.of(amount, Currency.VND);
+    Money from = new Money(fromMinor, Currency.VND);
+    if (from.isLessThan(value)) {
+      throw new IllegalStateException();
+    }
+    Money fromAfter = from.minus(value);
+    Money toAfter = new Money(toMinor, Currency.VND).plus(value);
+    return fromAfter.plus(toAfter).minorUnits();
+  }
+}
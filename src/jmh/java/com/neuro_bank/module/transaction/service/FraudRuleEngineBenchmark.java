@@ -0,0 +1,79 @@
+package com.neuro_bank.module.transaction.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Chi phi 1 lan evaluate (feature trong memory + rule trong fraud/rules.yml) tren 10k user da co lich su;
+// SampleTime in ra p0.99 -> muc tieu < 1 ms. Lich su Redis doc truoc lock nen khong tinh o day.
+// Chay: mvn -Pjmh test-compile exec:exec -Djmh.include=FraudRuleEngineBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FraudRuleEngineBenchmark {
+  private static final int USERS = 10_000;
+  private static final int COUNTERPARTIES = 50;
+  private static final FraudHistory HISTORY = new FraudHistory(120, 3.5e9, 18, 0.6, 120);
+
+  private FraudRuleEngine engine;
+  private UUID[] users;
+  private UUID[] accounts;
+  private UUID[] counterparties;
+  private BigDecimal[] amounts;
+
+  @Setup
+  public void setUp() {
+    FraudFeatureStore featureStore = new FraudFeatureStore(10, 200_000);
+    // evaluate khong goi Redis (history truyen vao)
+    engine = new FraudRuleEngine(featureStore, null, new DefaultResourceLoader(), new SimpleMeterRegistry(),
+        "classpath:fraud/rules.yml", new BigDecimal("50000000"), 20, new BigDecimal("1000000000000"));
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    users = new UUID[USERS];
+    accounts = new UUID[USERS];
+    for (int i = 0; i < USERS; i++) {
+      users[i] = UUID.randomUUID();
+      accounts[i] = UUID.randomUUID();
+    }
+    counterparties = new UUID[COUNTERPARTIES];
+    for (int i = 0; i < COUNTERPARTIES; i++) {
+      counterparties[i] = UUID.randomUUID();
+    }
+    amounts = new BigDecimal[1024];
+    for (int i = 0; i < amounts.length; i++) {
+      amounts[i] = BigDecimal.valueOf(random.nextLong(10_000, 20_000_000));
+    }
+    // vai giao dich moi account de window/EWMA/counterparty co du lieu nhu production
+    for (int i = 0; i < USERS; i++) {
+      for (int j = 0; j < 5; j++) {
+        featureStore.record(users[i], accounts[i], counterparties[random.nextInt(COUNTERPARTIES)],
+            amounts[random.nextInt(amounts.length)].doubleValue());
+      }
+    }
+  }
+
+  @Benchmark
+  public FraudDecision evaluate() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int user = random.nextInt(USERS);
+    return engine.evaluate(users[user], accounts[user], counterparties[random.nextInt(COUNTERPARTIES)],
+        amounts[random.nextInt(amounts.length)], HISTORY);
+  }
+}
@@ -0,0 +1,65 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.common.enums.Currency;
+import com.neuro_bank.common.util.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Phan tinh tien cua 1 lan post cung tien te va khac tien te (them FxRateService.convert) tren bang ty gia
+// fx/rates.yml; nhieu thread doc cung snapshot. Chenh lech so voi chi phi 1 transfer (lock + SQL, muc ms).
+// Chay: mvn -Pjmh test-compile exec:exec -Djmh.include=FxRateServiceBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class FxRateServiceBenchmark {
+  private FxRateService fxRateService;
+  private Money amount;
+  private Money fromBalance;
+  private Money vndBalance;
+  private Money usdBalance;
+
+  @Setup
+  public void setUp() {
+    fxRateService = new FxRateService(new DefaultResourceLoader(), new SimpleMeterRegistry(),
+        "classpath:fx/rates.yml");
+    amount = Money.of(new BigDecimal("1250000.5000"), Currency.VND);
+    fromBalance = Money.of(new BigDecimal("98765432.1000"), Currency.VND);
+    vndBalance = Money.of(new BigDecimal("1000.0000"), Currency.VND);
+    usdBalance = Money.of(new BigDecimal("1000.0000"), Currency.USD);
+  }
+
+  @Benchmark
+  public long sameCurrency() {
+    if (fromBalance.isLessThan(amount)) {
+      throw new IllegalStateException();
+    }
+    return fromBalance.minus(amount).minorUnits() + vndBalance.plus(amount).minorUnits();
+  }
+
+  @Benchmark
+  public long crossCurrency() {
+    if (fromBalance.isLessThan(amount)) {
+      throw new IllegalStateException();
+    }
+    FxConversion fx = fxRateService.convert(amount, Currency.USD);
+    return fromBalance.minus(amount).minorUnits() + usdBalance.plus(fx.target()).minorUnits();
+  }
+}
@@ -0,0 +1,65 @@
+package com.neuro_bank.module.transaction.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+// So sanh generator hien tai voi ban cu (SecureRandom + DateTimeFormatter + String.format).
+// Chay: mvn -Pjmh test-compile exec:exec -Djmh.include=TransactionReferenceGeneratorBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionReferenceGeneratorBenchmark {
+  private final TransactionReferenceGenerator current = new TransactionReferenceGenerator(1);
+  private final LegacyGenerator legacy = new LegacyGenerator();
+
+  @Benchmark
+  public String current() {
+    return current.nextReference();
+  }
+
+  @Benchmark
+  public String legacy() {
+    return legacy.nextReference();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public String currentContended() {
+    return current.nextReference();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public String legacyContended() {
+    return legacy.nextReference();
+  }
+
+  // ban truoc khi doi sang sequence theo node
+  static final class LegacyGenerator {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    String nextReference() {
+      String timestamp = LocalDateTime.now(ZoneOffset.UTC).format(FORMATTER);
+      int randomNumber = secureRandom.nextInt(1_000_000);
+      return "TXN" + timestamp + String.format("%06d", randomNumber);
+    }
+  }
+}
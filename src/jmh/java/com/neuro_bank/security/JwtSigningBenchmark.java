@@ -0,0 +1,101 @@
+package com.neuro_bank.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Throughput ky/verify access token theo thuat toan JwtKeySet ho tro, signer/verifier tao 1 lan nhu JwtKeySet;
+// claim giong JwtTokenProvider.buildToken. Verify tinh ca parse token (giong JwtDecoder).
+// Chay: mvn -Pjmh test-compile exec:exec -Djmh.include=JwtSigningBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+  @Param({"RS256", "ES256"})
+  private String algorithm;
+
+  private JWSHeader header;
+  private JWSSigner signer;
+  private JWSVerifier verifier;
+  private JWTClaimsSet claims;
+  private String token;
+
+  @Setup
+  public void setUp() throws JOSEException {
+    JWSAlgorithm active = JWSAlgorithm.parse(algorithm);
+    String keyId;
+    if (JWSAlgorithm.RS256.equals(active)) {
+      RSAKey key = new RSAKeyGenerator(2048).keyIDFromThumbprint(true).generate();
+      keyId = key.getKeyID();
+      signer = new RSASSASigner(key);
+      verifier = new RSASSAVerifier(key);
+    } else {
+      ECKey key = new ECKeyGenerator(Curve.P_256).keyIDFromThumbprint(true).generate();
+      keyId = key.getKeyID();
+      signer = new ECDSASigner(key);
+      verifier = new ECDSAVerifier(key);
+    }
+    header = new JWSHeader.Builder(active).type(JOSEObjectType.JWT).keyID(keyId).build();
+
+    Instant now = Instant.now();
+    claims = new JWTClaimsSet.Builder()
+        .subject(UUID.randomUUID().toString())
+        .issuer("neuro-bank")
+        .issueTime(Date.from(now))
+        .expirationTime(Date.from(now.plusSeconds(900)))
+        .jwtID(UUID.randomUUID().toString())
+        .claim("email", "user@neuro-bank.local")
+        .claim("status", "ACTIVE")
+        .claim("tokenType", "ACCESS")
+        .claim("sessionId", UUID.randomUUID().toString())
+        .claim("deviceFingerprint", "benchmark")
+        .build();
+    token = sign();
+  }
+
+  @Benchmark
+  public String sign() throws JOSEException {
+    SignedJWT jwt = new SignedJWT(header, claims);
+    jwt.sign(signer);
+    return jwt.serialize();
+  }
+
+  @Benchmark
+  public boolean verify() throws ParseException, JOSEException {
+    return SignedJWT.parse(token).verify(verifier);
+  }
+}
@@ -0,0 +1,24 @@
+package com.neuro_bank.common.converter;
+
+import com.neuro_bank.common.util.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// cot numeric(19,4) <-> long don vi nho (scale 4 nhu Money): BigDecimal chi tao luc load/flush,
+// cong/tru/so sanh tren entity dung thang long. Cot co le hon 4 so hoac tran long -> ArithmeticException
+@Converter
+public class MinorUnitsConverter implements AttributeConverter<Long, BigDecimal> {
+  @Override
+  public BigDecimal convertToDatabaseColumn(Long minorUnits) {
+    return minorUnits == null ? null : BigDecimal.valueOf(minorUnits, Money.SCALE);
+  }
+
+  @Override
+  public Long convertToEntityAttribute(BigDecimal amount) {
+    return amount == null ? null
+        : amount.setScale(Money.SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+  }
+}
@@ -0,0 +1,7 @@
+package com.neuro_bank.common.enums;
+
+public enum BulkTransferItemStatus {
+  PENDING,
+  COMPLETED,
+  FAILED
+}
@@ -0,0 +1,9 @@
+package com.neuro_bank.common.enums;
+
+public enum BulkTransferStatus {
+  PENDING,
+  PROCESSING,
+  COMPLETED,
+  PARTIALLY_COMPLETED,
+  FAILED
+}
@@ -0,0 +1,8 @@
+package com.neuro_bank.common.enums;
+
+public enum HoldStatus {
+  ACTIVE,
+  CAPTURED,
+  RELEASED,
+  EXPIRED
+}
@@ -0,0 +1,8 @@
+package com.neuro_bank.common.enums;
+
+public enum ReconciliationStatus {
+  PENDING,
+  RUNNING,
+  COMPLETED,
+  FAILED
+}
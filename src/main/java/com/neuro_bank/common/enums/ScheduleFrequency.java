@@ -0,0 +1,8 @@
+package com.neuro_bank.common.enums;
+
+public enum ScheduleFrequency {
+  ONCE,
+  DAILY,
+  WEEKLY,
+  MONTHLY
+}
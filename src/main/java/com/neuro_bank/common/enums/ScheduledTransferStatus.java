@@ -0,0 +1,10 @@
+package com.neuro_bank.common.enums;
+
+public enum ScheduledTransferStatus {
+  ACTIVE,
+  // that bai lien tiep qua nguong -> dung cho toi khi user xu ly
+  PAUSED,
+  COMPLETED,
+  FAILED,
+  CANCELLED
+}
@@ -0,0 +1,6 @@
+package com.neuro_bank.common.enums;
+
+public enum StatementFormat {
+  CSV,
+  NDJSON
+}
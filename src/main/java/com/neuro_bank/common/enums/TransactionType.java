@@ -8,5 +8,6 @@ public enum TransactionType {
   LOAN_PAYMENT,
   INTEREST_CREDIT,
   FEE_DEBIT,
-  REFUND
+  REFUND,
+  SHARD_FOLD
 }
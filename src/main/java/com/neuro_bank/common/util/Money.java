@@ -0,0 +1,71 @@
+package com.neuro_bank.common.util;
+
+import com.neuro_bank.common.enums.Currency;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+// So tien dang so nguyen don vi nho (scale 4 nhu cot numeric(19,4)) cho duong chuyen tien: cong/tru/so sanh
+// tren long, khong cap phat BigDecimal moi buoc. Cot DB va API van la BigDecimal, chi doi o 2 dau.
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+  public static final int SCALE = 4;
+
+  public Money {
+    Objects.requireNonNull(currency, "currency");
+  }
+
+  // tu cot DB / request: lon hon scale 4 hoac tran long -> ArithmeticException, khong lam tron ngam
+  public static Money of(BigDecimal amount, Currency currency) {
+    return new Money(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact(), currency);
+  }
+
+  public static Money zero(Currency currency) {
+    return new Money(0, currency);
+  }
+
+  public Money plus(Money other) {
+    return new Money(Math.addExact(minorUnits, sameCurrency(other).minorUnits), currency);
+  }
+
+  public Money minus(Money other) {
+    return new Money(Math.subtractExact(minorUnits, sameCurrency(other).minorUnits), currency);
+  }
+
+  public Money negate() {
+    return new Money(Math.negateExact(minorUnits), currency);
+  }
+
+  public boolean isGreaterThan(Money other) {
+    return compareTo(other) > 0;
+  }
+
+  public boolean isLessThan(Money other) {
+    return compareTo(other) < 0;
+  }
+
+  public int signum() {
+    return Long.signum(minorUnits);
+  }
+
+  public BigDecimal toBigDecimal() {
+    return BigDecimal.valueOf(minorUnits, SCALE);
+  }
+
+  @Override
+  public int compareTo(Money other) {
+    return Long.compare(minorUnits, sameCurrency(other).minorUnits);
+  }
+
+  @Override
+  public String toString() {
+    return toBigDecimal().toPlainString() + " " + currency;
+  }
+
+  private Money sameCurrency(Money other) {
+    if (other.currency != currency) {
+      throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + other.currency);
+    }
+    return other;
+  }
+}
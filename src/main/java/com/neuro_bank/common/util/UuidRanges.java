@@ -0,0 +1,30 @@
+package com.neuro_bank.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// chia khong gian UUID thanh n khoang [lower, upper) deu nhau theo 64 bit dau (unsigned),
+// khop thu tu so sanh uuid cua Postgres. upper = null o khoang cuoi (khong chan tren)
+public final class UuidRanges {
+  private UuidRanges() {
+  }
+
+  public record Range(UUID lower, UUID upper) {
+  }
+
+  public static List<Range> split(int count) {
+    if (count < 1) {
+      throw new IllegalArgumentException("count must be positive");
+    }
+    List<Range> ranges = new ArrayList<>(count);
+    // buoc = 2^64 / count, tinh tren unsigned
+    long step = Long.divideUnsigned(-1L, count);
+    for (int i = 0; i < count; i++) {
+      UUID lower = new UUID(step * i, 0);
+      UUID upper = i == count - 1 ? null : new UUID(step * (i + 1), 0);
+      ranges.add(new Range(lower, upper));
+    }
+    return ranges;
+  }
+}
@@ -1,5 +1,8 @@
 package com.neuro_bank.config;
 
+import com.neuro_bank.infrastructure.StripedExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -36,4 +39,25 @@ public class AsyncConfig {
     executor.initialize();
     return executor;
   }
+
+  // moi job bulk giu 1 connection trong luc xu ly chunk -> gioi han so job chay song song
+  @Bean("bulkTransferExecutor")
+  public Executor bulkTransferExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(2);
+    executor.setMaxPoolSize(2);
+    executor.setQueueCapacity(100);
+    executor.setThreadNamePrefix("bulk-transfer-");
+    executor.initialize();
+    return executor;
+  }
+
+  // so stripe = so worker toi da dong thoi giu connection cho transfer, nen <= hikari pool size
+  @Bean(name = "accountMutationExecutor", destroyMethod = "shutdown")
+  public StripedExecutor accountMutationExecutor(
+      @Value("${app.transaction.striped.stripes}") int stripes,
+      @Value("${app.transaction.striped.queue-capacity}") int queueCapacity,
+      MeterRegistry meterRegistry) {
+    return new StripedExecutor("account.mutation", stripes, queueCapacity, meterRegistry);
+  }
 }
@@ -1,7 +1,9 @@
 package com.neuro_bank.config;
 
+import java.time.Duration;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
@@ -13,6 +15,8 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
@@ -21,8 +25,12 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.neuro_bank.infrastructure.PasswordHashingExecutor;
+import com.neuro_bank.security.BoundedPasswordEncoder;
 import com.neuro_bank.security.CustomJwtAuthenticationConverter;
+import com.neuro_bank.security.JwtKeySet;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -31,11 +39,15 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class SecurityConfig {
   private final CustomJwtAuthenticationConverter jwtAuthenticationConverter;
+  private final JwtKeySet jwtKeySet;
+  private static final int PASSWORD_MEMORY_KB = 65536;
+  private static final int PIN_MEMORY_KB = 131072;
   private static final String[] PUBLIC_ENDPOINTS = {
       "/api/v1/auth/register", "/api/v1/auth/login",
       "/api/v1/auth/refresh", "/api/v1/auth/verify-otp",
       "/api/v1/auth/resend-otp", "/api/v1/auth/verify-new-device",
-      "/v3/api-docs/**", "/swagger-ui/**", "/actuator/health"
+      "/v3/api-docs/**", "/swagger-ui/**", "/actuator/health",
+      "/.well-known/jwks.json"
   };
 
   @Bean
@@ -56,6 +68,12 @@ public class SecurityConfig {
     return http.build();
   }
 
+  // thay decoder RSA mac dinh cua Boot: verify theo key set (RS256/ES256), verifier tao 1 lan
+  @Bean
+  public JwtDecoder jwtDecoder() {
+    return new NimbusJwtDecoder(jwtKeySet.jwtProcessor());
+  }
+
   @Bean
   public BearerTokenResolver cookieBearerTokenResolver() {
     return request -> {
@@ -83,15 +101,31 @@ public class SecurityConfig {
     return source;
   }
 
+  // pool chung cho password va pin: so thread tinh theo hash ton memory nhat (pin 128mb)
+  @Bean(destroyMethod = "shutdown")
+  public PasswordHashingExecutor passwordHashingExecutor(
+      @Value("${app.security.password-hashing.threads}") int threads,
+      @Value("${app.security.password-hashing.memory-fraction}") double memoryFraction,
+      @Value("${app.security.password-hashing.queue-capacity}") int queueCapacity,
+      @Value("${app.security.password-hashing.max-wait-ms}") long maxWaitMs,
+      MeterRegistry meterRegistry) {
+    int size = threads > 0 ? threads : PasswordHashingExecutor.threadsFor(Runtime.getRuntime().maxMemory(),
+        memoryFraction, Math.max(PASSWORD_MEMORY_KB, PIN_MEMORY_KB) * 1024L,
+        Runtime.getRuntime().availableProcessors());
+    return new PasswordHashingExecutor(size, queueCapacity, Duration.ofMillis(maxWaitMs), meterRegistry);
+  }
+
   @Bean
-  public PasswordEncoder passwordEncoder() {
+  public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor) {
     // argon2id: saltLength=16, hashLength=32, paralleisim=1, memor=64mb, iterations=3
-    return new Argon2PasswordEncoder(16, 32, 1, 65536, 3);
+    return new BoundedPasswordEncoder("password",
+        new Argon2PasswordEncoder(16, 32, 1, PASSWORD_MEMORY_KB, 3), passwordHashingExecutor);
   }
 
   @Bean("pinEncoder")
-  public PasswordEncoder pinEncoder() {
-    return new Argon2PasswordEncoder(16, 32, 1, 131072, 5);
+  public PasswordEncoder pinEncoder(PasswordHashingExecutor passwordHashingExecutor) {
+    return new BoundedPasswordEncoder("pin",
+        new Argon2PasswordEncoder(16, 32, 1, PIN_MEMORY_KB, 5), passwordHashingExecutor);
   }
 
   private AuthenticationEntryPoint authEntryPoint() {
@@ -0,0 +1,115 @@
+package com.neuro_bank.infrastructure;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Timing wheel nhieu tang (kieu Kafka purgatory): them/het han O(1), khong can PriorityQueue O(log n)
+// hay quet bang. Tang i co wheelSize o, moi o rong tickMs * wheelSize^i; den ranh gioi cua tang i
+// thi do o hien tai xuong tang thap hon theo deadline that. Chi 1 thread goi advance().
+public class HierarchicalTimingWheel<T> {
+  private final long tickMs;
+  private final int wheelSize;
+  private final long[] spans;
+  private final List<List<Slot<T>>> levels;
+  // deadline <= tick hien tai luc them vao -> tra ve o lan advance ke tiep
+  private List<Slot<T>> overdue = new ArrayList<>();
+  private long currentTick;
+  private int size;
+
+  public HierarchicalTimingWheel(long tickMs, int wheelSize, int levelCount, long startMs) {
+    this.tickMs = tickMs;
+    this.wheelSize = wheelSize;
+    this.spans = new long[levelCount];
+    this.levels = new ArrayList<>(levelCount);
+    long span = 1;
+    for (int i = 0; i < levelCount; i++) {
+      spans[i] = span;
+      List<Slot<T>> buckets = new ArrayList<>(wheelSize);
+      for (int b = 0; b < wheelSize; b++) {
+        buckets.add(null);
+      }
+      levels.add(buckets);
+      span = Math.multiplyExact(span, wheelSize);
+    }
+    this.currentTick = startMs / tickMs;
+  }
+
+  public synchronized void schedule(T item, long deadlineMs) {
+    // lam tron len: khong bao gio het han som hon deadline
+    insert(new Slot<>(item, (deadlineMs + tickMs - 1) / tickMs, null));
+    size++;
+  }
+
+  // quay kim toi nowMs, tra ve cac item da den han
+  public synchronized List<T> advance(long nowMs) {
+    List<T> expired = new ArrayList<>();
+    long targetTick = nowMs / tickMs;
+    while (currentTick < targetTick) {
+      currentTick++;
+      // tang cao truoc de item do xuong qua nhieu tang trong cung 1 tick van ve dung o
+      for (int level = spans.length - 1; level > 0; level--) {
+        if (currentTick % spans[level] == 0) {
+          Slot<T> slot = takeBucket(level, (int) ((currentTick / spans[level]) % wheelSize));
+          for (; slot != null; slot = slot.next) {
+            insert(new Slot<>(slot.item, slot.deadlineTick, null));
+          }
+        }
+      }
+      for (Slot<T> slot = takeBucket(0, (int) (currentTick % wheelSize)); slot != null; slot = slot.next) {
+        expired.add(slot.item);
+      }
+    }
+    // gom ca item den han ngay trong luc do xuong (deadline == tick hien tai)
+    overdue.forEach(slot -> expired.add(slot.item));
+    overdue = new ArrayList<>();
+    size -= expired.size();
+    return expired;
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  private void insert(Slot<T> slot) {
+    if (slot.deadlineTick <= currentTick) {
+      overdue.add(slot);
+      return;
+    }
+    for (int level = 0; level < spans.length; level++) {
+      long bucket = slot.deadlineTick / spans[level];
+      if (bucket - currentTick / spans[level] < wheelSize) {
+        push(level, (int) (bucket % wheelSize), slot);
+        return;
+      }
+    }
+    // xa hon ca wheel: dat o cuoi tang cao nhat, lan do xuong sau se xep lai theo deadline that
+    int top = spans.length - 1;
+    push(top, (int) ((currentTick / spans[top] + wheelSize - 1) % wheelSize), slot);
+  }
+
+  // moi o la danh sach lien ket don, khong cap phat collection cho tung o
+  private void push(int level, int bucket, Slot<T> slot) {
+    List<Slot<T>> buckets = levels.get(level);
+    slot.next = buckets.get(bucket);
+    buckets.set(bucket, slot);
+  }
+
+  private Slot<T> takeBucket(int level, int bucket) {
+    List<Slot<T>> buckets = levels.get(level);
+    Slot<T> head = buckets.get(bucket);
+    buckets.set(bucket, null);
+    return head;
+  }
+
+  private static final class Slot<T> {
+    final T item;
+    final long deadlineTick;
+    Slot<T> next;
+
+    Slot(T item, long deadlineTick, Slot<T> next) {
+      this.item = item;
+      this.deadlineTick = deadlineTick;
+      this.next = next;
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package com.neuro_bank.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neuro_bank.common.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// 2 tang: near cache trong process (replay nong) -> Redis (claim in-flight + response da luu).
+// Redis loi thi chay thang action, unique idempotency key o DB van chan trung.
+@Service
+@Slf4j
+public class IdempotencyService {
+  private static final String KEY_PREFIX = "idem:";
+  private static final String IN_FLIGHT = "IN_FLIGHT";
+  private static final String DONE = "DONE";
+  private static final long MIN_POLL_MS = 20;
+  private static final long MAX_POLL_MS = 500;
+
+  private final RedisService redisService;
+  private final ObjectMapper objectMapper;
+  private final Duration responseTtl;
+  private final Duration inFlightTtl;
+  private final long waitTimeoutMs;
+  private final Cache<String, Completed> nearCache;
+
+  public IdempotencyService(RedisService redisService,
+      ObjectMapper objectMapper,
+      @Value("${app.transaction.iempotency.ttl_seconds}") long ttlSeconds,
+      @Value("${app.transaction.iempotency.in-flight-ttl-seconds}") long inFlightTtlSeconds,
+      @Value("${app.transaction.iempotency.wait-timeout-ms}") long waitTimeoutMs,
+      @Value("${app.transaction.iempotency.near-cache-size}") long nearCacheSize,
+      @Value("${app.transaction.iempotency.near-cache-ttl-seconds}") long nearCacheTtlSeconds) {
+    this.redisService = redisService;
+    this.objectMapper = objectMapper;
+    this.responseTtl = Duration.ofSeconds(ttlSeconds);
+    this.inFlightTtl = Duration.ofSeconds(inFlightTtlSeconds);
+    this.waitTimeoutMs = waitTimeoutMs;
+    this.nearCache = Caffeine.newBuilder()
+        .maximumSize(nearCacheSize)
+        .expireAfterWrite(Duration.ofSeconds(Math.min(nearCacheTtlSeconds, ttlSeconds)))
+        .build();
+  }
+
+  public <T> T execute(String key, String requestHash, Class<T> responseType, Supplier<T> action) {
+    Completed near = nearCache.getIfPresent(key);
+    if (near != null) {
+      return replay(near, requestHash, responseType);
+    }
+
+    String redisKey = KEY_PREFIX + key;
+    long deadline = System.currentTimeMillis() + waitTimeoutMs;
+    long pollMs = MIN_POLL_MS;
+    while (true) {
+      Optional<Boolean> claimed = tryClaim(redisKey, requestHash);
+      if (claimed.isEmpty()) {
+        return action.get();
+      }
+      if (claimed.get()) {
+        return runClaimed(key, redisKey, requestHash, action);
+      }
+
+      Optional<Entry> existing = read(redisKey);
+      if (existing.isPresent()) {
+        Entry entry = existing.get();
+        if (!entry.requestHash().equals(requestHash)) {
+          throw mismatch();
+        }
+        if (DONE.equals(entry.state())) {
+          Completed completed = new Completed(entry.requestHash(), entry.response());
+          nearCache.put(key, completed);
+          return replay(completed, requestHash, responseType);
+        }
+      }
+      // request dau tien con dang chay (hoac vua fail va nha key) -> cho roi thu lai
+      if (System.currentTimeMillis() >= deadline) {
+        throw BusinessException.conflict("A request with this Idempotency-Key is still in progress");
+      }
+      sleep(pollMs);
+      pollMs = Math.min(pollMs * 2, MAX_POLL_MS);
+    }
+  }
+
+  private <T> T runClaimed(String key, String redisKey, String requestHash, Supplier<T> action) {
+    T response;
+    try {
+      response = action.get();
+    } catch (RuntimeException ex) {
+      // that bai -> nha key de client retry duoc
+      release(redisKey);
+      throw ex;
+    }
+    JsonNode body = objectMapper.valueToTree(response);
+    store(redisKey, new Entry(DONE, requestHash, body), responseTtl);
+    nearCache.put(key, new Completed(requestHash, body));
+    return response;
+  }
+
+  private <T> T replay(Completed completed, String requestHash, Class<T> responseType) {
+    if (!completed.requestHash().equals(requestHash)) {
+      throw mismatch();
+    }
+    try {
+      return objectMapper.treeToValue(completed.response(), responseType);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Cannot read cached idempotent response", ex);
+    }
+  }
+
+  // empty = Redis khong dung duoc
+  private Optional<Boolean> tryClaim(String redisKey, String requestHash) {
+    try {
+      String value = objectMapper.writeValueAsString(new Entry(IN_FLIGHT, requestHash, null));
+      return Optional.of(redisService.setIfAbsent(redisKey, value, inFlightTtl));
+    } catch (DataAccessException | JsonProcessingException ex) {
+      log.warn("Idempotency claim unavailable for key={}: {}", redisKey, ex.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private Optional<Entry> read(String redisKey) {
+    try {
+      Optional<String> raw = redisService.get(redisKey);
+      return raw.isPresent() ? Optional.of(objectMapper.readValue(raw.get(), Entry.class)) : Optional.empty();
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Corrupted idempotency entry " + redisKey, ex);
+    }
+  }
+
+  private void store(String redisKey, Entry entry, Duration ttl) {
+    try {
+      redisService.set(redisKey, objectMapper.writeValueAsString(entry), ttl);
+    } catch (DataAccessException | JsonProcessingException ex) {
+      // ket qua da commit o DB; lan replay sau se doc lai tu DB
+      log.warn("Cannot store idempotent response for key={}: {}", redisKey, ex.getMessage());
+      release(redisKey);
+    }
+  }
+
+  private void release(String redisKey) {
+    try {
+      redisService.delete(redisKey);
+    } catch (DataAccessException ex) {
+      log.warn("Cannot release idempotency key={}: {}", redisKey, ex.getMessage());
+    }
+  }
+
+  // cho replay doc tu DB (Redis het TTL / khong dung duoc / unique constraint): cung loi 422 nhu replay Redis.
+  // storedHash null = dong ghi truoc khi co cot hash, khong so duoc
+  public static void verifyRequestHash(String storedHash, String requestHash) {
+    if (storedHash != null && !storedHash.equals(requestHash)) {
+      throw mismatch();
+    }
+  }
+
+  private static BusinessException mismatch() {
+    return new BusinessException(422, "IDEMPOTENCY_KEY_REUSED",
+        "Idempotency-Key was already used with a different request");
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw BusinessException.conflict("Interrupted while waiting for idempotent request");
+    }
+  }
+
+  private record Entry(String state, String requestHash, JsonNode response) {
+  }
+
+  private record Completed(String requestHash, JsonNode response) {
+  }
+}
@@ -0,0 +1,114 @@
+package com.neuro_bank.infrastructure;
+
+import com.neuro_bank.common.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+// Argon2 ton memory-cost moi lan hash (64-128MB) -> chay tren pool rieng, so thread tinh theo heap va so core
+// thay vi de moi Tomcat thread tu hash. Queue co gioi han: day thi tu choi ngay (429), cho qua max-wait ma
+// chua toi luot thi huy (503) -> burst dang nhap khong lam OOM node.
+@Slf4j
+public class PasswordHashingExecutor {
+  private final ThreadPoolExecutor executor;
+  private final Duration maxWait;
+  private final MeterRegistry meterRegistry;
+  private final Counter rejectedCounter;
+
+  public PasswordHashingExecutor(int threads, int queueCapacity, Duration maxWait, MeterRegistry meterRegistry) {
+    this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hash-"),
+        new ThreadPoolExecutor.AbortPolicy());
+    this.maxWait = maxWait;
+    this.meterRegistry = meterRegistry;
+    this.rejectedCounter = meterRegistry.counter("auth.hashing.rejected");
+    Gauge.builder("auth.hashing.queue.depth", executor, e -> e.getQueue().size())
+        .description("Password hashes waiting for a hashing thread")
+        .register(meterRegistry);
+    Gauge.builder("auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+        .description("Password hashes currently running")
+        .register(meterRegistry);
+    log.info("Password hashing pool: threads={} queue={} maxWait={}", threads, queueCapacity, maxWait);
+  }
+
+  // heap * fraction / memory 1 hash, gioi han boi so core (argon2 parallelism=1 -> 1 core/hash)
+  public static int threadsFor(long maxHeapBytes, double memoryFraction, long hashMemoryBytes, int cores) {
+    long byMemory = (long) (maxHeapBytes * memoryFraction) / hashMemoryBytes;
+    return (int) Math.max(1, Math.min(byMemory, cores));
+  }
+
+  // chay task tren pool roi cho ket qua; exception cua task duoc nem lai nguyen ban
+  public <T> T execute(String encoder, String operation, Callable<T> task) {
+    long submittedAt = System.nanoTime();
+    Future<T> future;
+    try {
+      future = executor.submit(() -> {
+        long startedAt = System.nanoTime();
+        timer("auth.hashing.queue", encoder, operation).record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+        try {
+          return task.call();
+        } finally {
+          timer("auth.hashing.duration", encoder, operation)
+              .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+      });
+    } catch (RejectedExecutionException ex) {
+      rejectedCounter.increment();
+      throw BusinessException.toManyRequests("Too many login attempts. Please try again later");
+    }
+    try {
+      return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      // chua toi luot thi bo, dang hash thi doi xong (huy giua chung khong tra lai memory som hon)
+      if (future.cancel(false)) {
+        rejectedCounter.increment();
+        throw new BusinessException(503, "SERVICE_UNAVAILABLE", "Service is busy. Please try again later");
+      }
+      return await(future);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+    } catch (ExecutionException ex) {
+      throw unwrap(ex);
+    }
+  }
+
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  private Timer timer(String name, String encoder, String operation) {
+    return Timer.builder(name)
+        .tag("encoder", encoder)
+        .tag("operation", operation)
+        .register(meterRegistry);
+  }
+
+  private <T> T await(Future<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+    } catch (ExecutionException ex) {
+      throw unwrap(ex);
+    }
+  }
+
+  private RuntimeException unwrap(ExecutionException ex) {
+    Throwable cause = ex.getCause();
+    if (cause instanceof RuntimeException runtime) {
+      return runtime;
+    }
+    if (cause instanceof Error error) {
+      throw error;
+    }
+    return new IllegalStateException(cause);
+  }
+}
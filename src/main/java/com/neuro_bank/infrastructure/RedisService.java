@@ -1,16 +1,27 @@
 package com.neuro_bank.infrastructure;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class RedisService {
 
+  private static final String BLACKLIST_PREFIX = "blacklist:jti:";
+
   private final StringRedisTemplate redisTemplate;
 
   public void set(String key, String value, Duration ttl) {
@@ -41,12 +52,67 @@ public class RedisService {
     return count != null ? count : 0;
   }
 
+  public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+    return redisTemplate.execute(script, keys, args);
+  }
+
+  // nhieu lan goi script trong 1 round trip (backfill)
+  public void executePipelined(RedisScript<?> script, List<List<String>> keys, List<Object[]> args) {
+    redisTemplate.executePipelined(new SessionCallback<Object>() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public <K, V> Object execute(RedisOperations<K, V> operations) {
+        RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+        for (int i = 0; i < keys.size(); i++) {
+          ops.execute(script, keys.get(i), args.get(i));
+        }
+        return null;
+      }
+    });
+  }
+
+  public long deleteByPattern(String pattern) {
+    long deleted = 0;
+    List<String> batch = new ArrayList<>(500);
+    try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(500).build())) {
+      while (cursor.hasNext()) {
+        batch.add(cursor.next());
+        if (batch.size() == 500) {
+          deleted += redisTemplate.delete(batch);
+          batch.clear();
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      deleted += redisTemplate.delete(batch);
+    }
+    return deleted;
+  }
+
+  public Map<String, String> hashEntries(String key) {
+    return redisTemplate.<String, String>opsForHash().entries(key);
+  }
+
+  public void publish(String channel, String message) {
+    redisTemplate.convertAndSend(channel, message);
+  }
+
   public void blacklistToken(String jti, Duration ttl) {
-    set("blacklist:jti:" + jti, "1", ttl);
+    set(BLACKLIST_PREFIX + jti, "1", ttl);
   }
 
   public boolean isTokenBlacklisted(String jti) {
-    return hasKey("blacklist:jti:" + jti);
+    return hasKey(BLACKLIST_PREFIX + jti);
+  }
+
+  // SCAN toan bo jti dang bi blacklist (nap lai filter local), khong dung KEYS
+  public void forEachBlacklistedToken(Consumer<String> action) {
+    ScanOptions options = ScanOptions.scanOptions().match(BLACKLIST_PREFIX + "*").count(500).build();
+    try (Cursor<String> cursor = redisTemplate.scan(options)) {
+      while (cursor.hasNext()) {
+        action.accept(cursor.next().substring(BLACKLIST_PREFIX.length()));
+      }
+    }
   }
 
 }
@@ -0,0 +1,100 @@
+package com.neuro_bank.infrastructure;
+
+import com.neuro_bank.common.exception.BusinessException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+// moi key (account id) luon roi vao cung 1 stripe = 1 worker thread
+// -> cac mutation cua 1 account xep hang trong memory, khong giu connection khi cho lock
+@Slf4j
+public class StripedExecutor {
+  private final ThreadPoolExecutor[] stripes;
+
+  public StripedExecutor(String name, int stripeCount, int queueCapacity, MeterRegistry meterRegistry) {
+    this.stripes = new ThreadPoolExecutor[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+          new LinkedBlockingQueue<>(queueCapacity), new CustomizableThreadFactory(name + "-" + i + "-"),
+          new ThreadPoolExecutor.AbortPolicy());
+      stripes[i] = executor;
+      Gauge.builder(name + ".queue.depth", executor, e -> e.getQueue().size())
+          .tag("stripe", String.valueOf(i))
+          .description("Pending tasks waiting for the stripe worker")
+          .register(meterRegistry);
+    }
+  }
+
+  public <T> Future<T> submit(Object key, Callable<T> task) {
+    return stripeFor(key).submit(new DelegatingSecurityContextCallable<>(task));
+  }
+
+  // submit roi cho ket qua; exception cua task duoc nem lai nguyen ban
+  public <T> T execute(Object key, Callable<T> task, Duration timeout) {
+    Future<T> future;
+    try {
+      future = submit(key, task);
+    } catch (RejectedExecutionException ex) {
+      throw BusinessException.toManyRequests("Account is busy. Please try again later");
+    }
+    try {
+      return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      // task chua chay thi huy; dang chay thi doi cho xong de khong tra loi sai
+      if (future.cancel(false)) {
+        throw new BusinessException(503, "SERVICE_UNAVAILABLE", "Account is busy. Please try again later");
+      }
+      return await(future);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for stripe worker", ex);
+    } catch (ExecutionException ex) {
+      throw unwrap(ex);
+    }
+  }
+
+  public int queueDepth(int stripe) {
+    return stripes[stripe].getQueue().size();
+  }
+
+  public int stripeCount() {
+    return stripes.length;
+  }
+
+  public void shutdown() {
+    for (ThreadPoolExecutor executor : stripes) {
+      executor.shutdown();
+    }
+  }
+
+  private ThreadPoolExecutor stripeFor(Object key) {
+    return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+  }
+
+  private <T> T await(Future<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for stripe worker", ex);
+    } catch (ExecutionException ex) {
+      throw unwrap(ex);
+    }
+  }
+
+  private RuntimeException unwrap(ExecutionException ex) {
+    Throwable cause = ex.getCause();
+    if (cause instanceof RuntimeException runtime) {
+      return runtime;
+    }
+    if (cause instanceof Error error) {
+      throw error;
+    }
+    return new IllegalStateException(cause);
+  }
+}
@@ -0,0 +1,65 @@
+package com.neuro_bank.module.account.controller;
+
+import com.neuro_bank.common.enums.StatementFormat;
+import com.neuro_bank.common.response.ApiResponse;
+import com.neuro_bank.module.account.dto.response.AccountBalanceResponse;
+import com.neuro_bank.module.account.dto.response.HistoricalBalanceResponse;
+import com.neuro_bank.module.account.service.AccountService;
+import com.neuro_bank.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/accounts")
+@RequiredArgsConstructor
+public class AccountController {
+  private final AccountService accountService;
+
+  @GetMapping("/{accountId}/balance")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<ApiResponse<AccountBalanceResponse>> balance(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @PathVariable UUID accountId) {
+    return ResponseEntity.ok(ApiResponse.success(accountService.getBalance(principal.getId(), accountId)));
+  }
+
+  // balance tai 1 thoi diem trong qua khu: checkpoint cuoi ngay truoc do + entry trong ngay
+  @GetMapping("/{accountId}/balance-at")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<ApiResponse<HistoricalBalanceResponse>> balanceAt(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @PathVariable UUID accountId,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+    return ResponseEntity.ok(ApiResponse.success(accountService.getBalanceAt(principal.getId(), accountId, at)));
+  }
+
+  @GetMapping("/{accountId}/statement")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<StreamingResponseBody> exportStatement(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @PathVariable UUID accountId,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+      @RequestParam(defaultValue = "CSV") StatementFormat format) {
+    StreamingResponseBody body = accountService.exportStatement(principal.getId(), accountId, from, to, format);
+    boolean csv = format == StatementFormat.CSV;
+    return ResponseEntity.ok()
+        .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("statement-" + accountId + (csv ? ".csv" : ".ndjson"))
+            .build().toString())
+        .body(body);
+  }
+}
@@ -0,0 +1,26 @@
+package com.neuro_bank.module.account.controller;
+
+import com.neuro_bank.common.response.ApiResponse;
+import com.neuro_bank.module.account.dto.response.AccountBalanceResponse;
+import com.neuro_bank.module.account.service.AccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/admin/accounts")
+@RequiredArgsConstructor
+public class AdminAccountController {
+  private final AccountService accountService;
+
+  // chia account hot (fee, settlement) thanh N sub-ledger
+  @PostMapping("/{accountId}/shards")
+  public ResponseEntity<ApiResponse<AccountBalanceResponse>> enableSharding(
+      @PathVariable UUID accountId,
+      @RequestParam int shardCount) {
+    return ResponseEntity.ok(ApiResponse.success("Account sharding updated",
+        accountService.enableSharding(accountId, shardCount)));
+  }
+}
@@ -0,0 +1,21 @@
+package com.neuro_bank.module.account.dto.response;
+
+import com.neuro_bank.common.enums.Currency;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+public class AccountBalanceResponse {
+  private UUID accountId;
+  private String accountNumber;
+  private Currency currency;
+  private BigDecimal balance;
+  private BigDecimal availableBalance;
+  private int shardCount;
+}
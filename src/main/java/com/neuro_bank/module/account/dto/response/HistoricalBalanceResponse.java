@@ -0,0 +1,19 @@
+package com.neuro_bank.module.account.dto.response;
+
+import com.neuro_bank.common.enums.Currency;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Builder
+public class HistoricalBalanceResponse {
+  private UUID accountId;
+  private Currency currency;
+  private LocalDateTime at;
+  // balance logic (dong chinh + cac shard) tai thoi diem at
+  private BigDecimal balance;
+}
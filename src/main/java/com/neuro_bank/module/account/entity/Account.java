@@ -1,16 +1,19 @@
 package com.neuro_bank.module.account.entity;
 
 
+import com.neuro_bank.common.converter.MinorUnitsConverter;
 import com.neuro_bank.common.entity.SoftDeletableEntity;
 import com.neuro_bank.common.enums.AccountStatus;
 import com.neuro_bank.common.enums.AccountType;
 import com.neuro_bank.common.enums.Currency;
+import com.neuro_bank.common.util.Money;
 import com.neuro_bank.module.card.entity.Card;
 import com.neuro_bank.module.saving.entity.SavingPlan;
 import com.neuro_bank.module.user.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -45,18 +48,26 @@ public class Account extends SoftDeletableEntity {
 
   Currency currency = Currency.VND;
 
-  // dung BigDecimal cho tien
+  // don vi nho (Money.SCALE), cot DB van numeric(19,4); doc/ghi qua balanceMoney()/setBalance(Money)
   @Column(nullable = false, precision = 19, scale = 4)
+  @Convert(converter = MinorUnitsConverter.class)
   @Builder.Default
-  BigDecimal balance = BigDecimal.ZERO;
+  long balance = 0;
   // balance tru cac pending transaction
   @Column(nullable = false,precision = 19,scale = 4)
+  @Convert(converter = MinorUnitsConverter.class)
   @Builder.Default
-  BigDecimal availableBalance = BigDecimal.ZERO;
+  long availableBalance = 0;
   // interest rate cho saving account
   @Column(precision = 5, scale = 4)
   BigDecimal interestRate;
 
+  // > 0: credit di vao AccountShard thay vi dong nay (account fee/settlement rat hot)
+  @Column(nullable = false)
+  @ColumnDefault("0")
+  @Builder.Default
+  int shardCount = 0;
+
   LocalDateTime frozenAt;
   String frozenReason;
   @Column(nullable = false)
@@ -71,4 +82,27 @@ public class Account extends SoftDeletableEntity {
 
   @OneToMany(mappedBy = "account", fetch = FetchType.LAZY)
   List<SavingPlan> savingPlans = new ArrayList<>();
+
+  public Money balanceMoney() {
+    return new Money(balance, currency);
+  }
+
+  public Money availableMoney() {
+    return new Money(availableBalance, currency);
+  }
+
+  public void setBalance(Money amount) {
+    this.balance = sameCurrency(amount).minorUnits();
+  }
+
+  public void setAvailableBalance(Money amount) {
+    this.availableBalance = sameCurrency(amount).minorUnits();
+  }
+
+  private Money sameCurrency(Money amount) {
+    if (amount.currency() != currency) {
+      throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + amount.currency());
+    }
+    return amount;
+  }
 }
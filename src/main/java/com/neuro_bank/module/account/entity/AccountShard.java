@@ -0,0 +1,33 @@
+package com.neuro_bank.module.account.entity;
+
+import com.neuro_bank.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+// sub-balance cua 1 account hot: balance logic = account.balance + sum(shard.balance)
+@Entity
+@Table(name = "account_shards", indexes = {
+    @Index(name = "idx_account_shard", columnList = "account_id, shard_index", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AccountShard extends BaseEntity {
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "account_id", nullable = false)
+  Account account;
+
+  @Column(nullable = false)
+  int shardIndex;
+
+  @Column(nullable = false, precision = 19, scale = 4)
+  BigDecimal balance = BigDecimal.ZERO;
+}
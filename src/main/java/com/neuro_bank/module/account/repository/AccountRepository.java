@@ -2,16 +2,19 @@ package com.neuro_bank.module.account.repository;
 
 import com.neuro_bank.module.account.entity.Account;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface AccountRepository {
+public interface AccountRepository extends JpaRepository<Account, UUID> {
   @Lock(LockModeType.PESSIMISTIC_WRITE)
   @Query("""
           select a from Account a
@@ -21,5 +24,21 @@ public interface AccountRepository {
       """)
   Optional<Account> findByIdForUpdate(@Param("id") UUID uuid);
 
+  // lock nhieu account 1 lan; order by id trung voi AccountLockOrder nen khong deadlock voi TransferEngine
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("""
+          select a from Account a
+          where a.id in :ids and a.deleted = false
+          order by a.id
+      """)
+  List<Account> findAllByIdInForUpdate(@Param("ids") Collection<UUID> ids);
+
   Optional<Account> findByIdAndDeletedFalse(UUID uuid);
+
+  // ca account da xoa: lich su giao dich van thuoc user
+  @Query("select a.id from Account a where a.user.id = :userId")
+  List<UUID> findIdsByUserId(@Param("userId") UUID userId);
+
+  @Query("select a.id from Account a where a.shardCount > 0 and a.deleted = false")
+  List<UUID> findShardedAccountIds();
 }
@@ -0,0 +1,42 @@
+package com.neuro_bank.module.account.repository;
+
+import com.neuro_bank.module.account.entity.AccountShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AccountShardRepository extends JpaRepository<AccountShard, UUID> {
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("""
+          select s from AccountShard s
+          where s.account.id = :accountId and s.shardIndex = :shardIndex
+      """)
+  Optional<AccountShard> findForUpdate(@Param("accountId") UUID accountId, @Param("shardIndex") int shardIndex);
+
+  // shard luon lock sau account va theo shardIndex tang dan
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("""
+          select s from AccountShard s
+          where s.account.id = :accountId
+          order by s.shardIndex
+      """)
+  List<AccountShard> findAllByAccountIdForUpdate(@Param("accountId") UUID accountId);
+
+  @Query("select coalesce(sum(s.balance), 0) from AccountShard s where s.account.id = :accountId")
+  BigDecimal sumBalanceByAccountId(@Param("accountId") UUID accountId);
+
+  @Query("select max(s.shardIndex) from AccountShard s where s.account.id = :accountId")
+  Optional<Integer> findMaxShardIndex(@Param("accountId") UUID accountId);
+
+  @Query("select distinct s.account.id from AccountShard s where s.balance <> 0")
+  List<UUID> findAccountIdsWithShardBalance();
+}
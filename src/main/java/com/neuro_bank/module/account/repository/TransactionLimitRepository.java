@@ -2,12 +2,37 @@ package com.neuro_bank.module.account.repository;
 
 import com.neuro_bank.module.account.entity.TransactionLimit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface TransactionLimitRepository extends JpaRepository<TransactionLimit, UUID> {
   Optional<TransactionLimit> findByAccountId(UUID accountId);
+
+  Optional<TransactionLimit> findByAccountIdAndAccountUserId(UUID accountId, UUID userId);
+
+  @Query("select l.account.id from TransactionLimit l where l.dailyUsed > 0 or l.monthlyUsed > 0")
+  List<UUID> findAccountIdsWithUsage();
+
+  // ghi lai usage tu ledger (reconciliation), khong qua entity de khong dung @Version
+  @Modifying
+  @Query("""
+          update TransactionLimit l
+          set l.dailyUsed = :dailyUsed, l.dailyResetAt = :dailyResetAt,
+              l.monthlyUsed = :monthlyUsed, l.monthlyResetAt = :monthlyResetAt
+          where l.account.id = :accountId
+      """)
+  int updateUsage(@Param("accountId") UUID accountId,
+                  @Param("dailyUsed") BigDecimal dailyUsed,
+                  @Param("dailyResetAt") LocalDateTime dailyResetAt,
+                  @Param("monthlyUsed") BigDecimal monthlyUsed,
+                  @Param("monthlyResetAt") LocalDateTime monthlyResetAt);
 }
@@ -0,0 +1,20 @@
+package com.neuro_bank.module.account.service;
+
+import com.neuro_bank.common.enums.StatementFormat;
+import com.neuro_bank.module.account.dto.response.AccountBalanceResponse;
+import com.neuro_bank.module.account.dto.response.HistoricalBalanceResponse;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface AccountService {
+  AccountBalanceResponse getBalance(UUID userId, UUID accountId);
+
+  HistoricalBalanceResponse getBalanceAt(UUID userId, UUID accountId, LocalDateTime at);
+
+  AccountBalanceResponse enableSharding(UUID accountId, int shardCount);
+
+  StreamingResponseBody exportStatement(UUID userId, UUID accountId, LocalDateTime from, LocalDateTime to,
+                                        StatementFormat format);
+}
@@ -0,0 +1,81 @@
+package com.neuro_bank.module.account.service;
+
+import com.neuro_bank.common.enums.StatementFormat;
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.module.account.dto.response.AccountBalanceResponse;
+import com.neuro_bank.module.account.dto.response.HistoricalBalanceResponse;
+import com.neuro_bank.module.account.entity.Account;
+import com.neuro_bank.module.account.repository.AccountRepository;
+import com.neuro_bank.module.ledger.service.BalanceCheckpointService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class AccountServiceImpl implements AccountService {
+  private final AccountRepository accountRepository;
+  private final AccountShardService accountShardService;
+  private final AccountStatementExporter accountStatementExporter;
+  private final BalanceCheckpointService balanceCheckpointService;
+
+  @Override
+  @Transactional(readOnly = true)
+  public AccountBalanceResponse getBalance(UUID userId, UUID accountId) {
+    return toBalanceResponse(findOwnedAccount(userId, accountId));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public HistoricalBalanceResponse getBalanceAt(UUID userId, UUID accountId, LocalDateTime at) {
+    Account account = findOwnedAccount(userId, accountId);
+    return HistoricalBalanceResponse.builder()
+        .accountId(account.getId())
+        .currency(account.getCurrency())
+        .at(at)
+        .balance(balanceCheckpointService.balanceAt(accountId, at))
+        .build();
+  }
+
+  // check quyen truoc khi tra body; phan stream chay tren async thread, khong giu transaction cua request
+  @Override
+  @Transactional(readOnly = true)
+  public StreamingResponseBody exportStatement(UUID userId, UUID accountId, LocalDateTime from, LocalDateTime to,
+                                               StatementFormat format) {
+    findOwnedAccount(userId, accountId);
+    if (!from.isBefore(to)) {
+      throw BusinessException.badRequest("'from' must be before 'to'");
+    }
+    return out -> accountStatementExporter.export(accountId, from, to, format, out);
+  }
+
+  @Override
+  @Transactional
+  public AccountBalanceResponse enableSharding(UUID accountId, int shardCount) {
+    return toBalanceResponse(accountShardService.enableSharding(accountId, shardCount));
+  }
+
+  private Account findOwnedAccount(UUID userId, UUID accountId) {
+    Account account = accountRepository.findByIdAndDeletedFalse(accountId)
+        .orElseThrow(() -> BusinessException.notFound("Account"));
+    if (!account.getUser().getId().equals(userId)) {
+      throw BusinessException.forbidden("You do not own this account");
+    }
+    return account;
+  }
+
+  private AccountBalanceResponse toBalanceResponse(Account account) {
+    return AccountBalanceResponse.builder()
+        .accountId(account.getId())
+        .accountNumber(account.getAccountNumber())
+        .currency(account.getCurrency())
+        .balance(accountShardService.totalBalance(account))
+        .availableBalance(accountShardService.totalAvailableBalance(account))
+        .shardCount(account.getShardCount())
+        .build();
+  }
+}
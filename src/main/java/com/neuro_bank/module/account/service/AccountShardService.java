@@ -0,0 +1,84 @@
+package com.neuro_bank.module.account.service;
+
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.module.account.entity.Account;
+import com.neuro_bank.module.account.entity.AccountShard;
+import com.neuro_bank.module.account.repository.AccountRepository;
+import com.neuro_bank.module.account.repository.AccountShardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountShardService {
+  private static final int MAX_SHARDS = 64;
+
+  private final AccountRepository accountRepository;
+  private final AccountShardRepository accountShardRepository;
+
+  @Value("${app.account.shard.refresh-seconds}")
+  private long refreshSeconds;
+
+  private volatile Set<UUID> shardedAccountIds = Set.of();
+  private volatile long loadedAt = 0;
+
+  // cache danh sach account co shard; shardCount chi tang nen cache cu chi lam credit vao dong chinh (van dung)
+  public boolean isSharded(UUID accountId) {
+    if (System.currentTimeMillis() - loadedAt > refreshSeconds * 1000) {
+      shardedAccountIds = Set.copyOf(accountRepository.findShardedAccountIds());
+      loadedAt = System.currentTimeMillis();
+    }
+    return shardedAccountIds.contains(accountId);
+  }
+
+  public int pickShard(Account account) {
+    return ThreadLocalRandom.current().nextInt(account.getShardCount());
+  }
+
+  public BigDecimal totalBalance(Account account) {
+    if (account.getShardCount() == 0) {
+      return account.balanceMoney().toBigDecimal();
+    }
+    return account.balanceMoney().toBigDecimal().add(accountShardRepository.sumBalanceByAccountId(account.getId()));
+  }
+
+  // shard chi nhan credit nen phan tien trong shard luon available
+  public BigDecimal totalAvailableBalance(Account account) {
+    if (account.getShardCount() == 0) {
+      return account.availableMoney().toBigDecimal();
+    }
+    return account.availableMoney().toBigDecimal().add(accountShardRepository.sumBalanceByAccountId(account.getId()));
+  }
+
+  @Transactional
+  public Account enableSharding(UUID accountId, int shardCount) {
+    if (shardCount < 1 || shardCount > MAX_SHARDS) {
+      throw BusinessException.badRequest("shardCount must be between 1 and " + MAX_SHARDS);
+    }
+    Account account = accountRepository.findByIdForUpdate(accountId)
+        .orElseThrow(() -> BusinessException.notFound("Account"));
+    if (shardCount < account.getShardCount()) {
+      throw BusinessException.badRequest("Shard count can only be increased");
+    }
+    int next = accountShardRepository.findMaxShardIndex(accountId).map(max -> max + 1).orElse(0);
+    for (int i = next; i < shardCount; i++) {
+      AccountShard shard = new AccountShard();
+      shard.setAccount(account);
+      shard.setShardIndex(i);
+      accountShardRepository.save(shard);
+    }
+    account.setShardCount(shardCount);
+    loadedAt = 0;
+    log.info("Account {} sharded into {} sub-ledgers", accountId, shardCount);
+    return account;
+  }
+}
@@ -0,0 +1,147 @@
+package com.neuro_bank.module.account.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neuro_bank.common.enums.StatementFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// stream sao ke thang tu JDBC cursor ra response, khong build List -> heap khong tang theo so dong
+@Component
+public class AccountStatementExporter {
+  private static final String STATEMENT_SQL = """
+      select e.created_at, t.reference_no, t.type, e.entry_type, e.amount,
+             e.balance_before, e.balance_after, t.currency, t.description
+      from transaction_entries e
+      join transactions t on t.id = e.transaction_id
+      where e.account_id = ? and e.created_at >= ? and e.created_at < ?
+      order by e.created_at, e.id
+      """;
+  private static final String CSV_HEADER =
+      "created_at,reference_no,type,entry_type,amount,balance_before,balance_after,currency,description\n";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+
+  public AccountStatementExporter(DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper,
+      @Value("${app.account.statement.fetch-size}") int fetchSize) {
+    // Postgres chi dung server-side cursor khi autocommit=false va co fetchSize
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(fetchSize);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    // snapshot nhat quan cho ca file, transaction chi mo trong luc stream
+    this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    this.objectMapper = objectMapper;
+  }
+
+  public void export(UUID accountId, LocalDateTime from, LocalDateTime to, StatementFormat format,
+                     OutputStream out) throws IOException {
+    try {
+      if (format == StatementFormat.NDJSON) {
+        exportNdjson(accountId, from, to, out);
+      } else {
+        exportCsv(accountId, from, to, out);
+      }
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  private void exportCsv(UUID accountId, LocalDateTime from, LocalDateTime to, OutputStream out)
+      throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writer.write(CSV_HEADER);
+    stream(accountId, from, to, rs -> {
+      try {
+        writer.write(rs.getTimestamp(1).toLocalDateTime().toString());
+        writer.write(',');
+        writer.write(rs.getString(2));
+        writer.write(',');
+        writer.write(rs.getString(3));
+        writer.write(',');
+        writer.write(rs.getString(4));
+        writer.write(',');
+        writer.write(rs.getBigDecimal(5).toPlainString());
+        writer.write(',');
+        writer.write(rs.getBigDecimal(6).toPlainString());
+        writer.write(',');
+        writer.write(rs.getBigDecimal(7).toPlainString());
+        writer.write(',');
+        writer.write(rs.getString(8));
+        writer.write(',');
+        writeCsvField(writer, rs.getString(9));
+        writer.write('\n');
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    });
+    writer.flush();
+  }
+
+  private void exportNdjson(UUID accountId, LocalDateTime from, LocalDateTime to, OutputStream out)
+      throws IOException {
+    JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    // mac dinh Jackson chen " " truoc moi root value -> dong 2 tro di bat dau bang dau cach; tu ghi '\n'
+    generator.setRootValueSeparator(null);
+    stream(accountId, from, to, rs -> {
+      try {
+        generator.writeStartObject();
+        generator.writeStringField("createdAt", rs.getTimestamp(1).toLocalDateTime().toString());
+        generator.writeStringField("referenceNo", rs.getString(2));
+        generator.writeStringField("type", rs.getString(3));
+        generator.writeStringField("entryType", rs.getString(4));
+        generator.writeNumberField("amount", rs.getBigDecimal(5));
+        generator.writeNumberField("balanceBefore", rs.getBigDecimal(6));
+        generator.writeNumberField("balanceAfter", rs.getBigDecimal(7));
+        generator.writeStringField("currency", rs.getString(8));
+        generator.writeStringField("description", rs.getString(9));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    });
+    generator.close();
+  }
+
+  private void stream(UUID accountId, LocalDateTime from, LocalDateTime to, RowCallbackHandler handler) {
+    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(STATEMENT_SQL,
+        handler, accountId, Timestamp.valueOf(from), Timestamp.valueOf(to)));
+  }
+
+  private static void writeCsvField(Writer writer, String value) throws IOException {
+    if (value == null) {
+      return;
+    }
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      writer.write(value);
+      return;
+    }
+    writer.write('"');
+    writer.write(value.replace("\"", "\"\""));
+    writer.write('"');
+  }
+}
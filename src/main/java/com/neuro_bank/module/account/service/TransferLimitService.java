@@ -0,0 +1,332 @@
+package com.neuro_bank.module.account.service;
+
+import com.neuro_bank.common.enums.Currency;
+import com.neuro_bank.common.enums.EntryType;
+import com.neuro_bank.common.enums.HoldStatus;
+import com.neuro_bank.common.enums.TransactionStatus;
+import com.neuro_bank.common.enums.TransactionType;
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.common.util.Money;
+import com.neuro_bank.infrastructure.RedisService;
+import com.neuro_bank.module.account.entity.Account;
+import com.neuro_bank.module.account.entity.TransactionLimit;
+import com.neuro_bank.module.account.repository.TransactionLimitRepository;
+import com.neuro_bank.module.transaction.dto.projection.AccountAmountView;
+import com.neuro_bank.module.transaction.repository.AccountHoldRepository;
+import com.neuro_bank.module.transaction.repository.TransactionEntryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// han muc ngay/thang dem trong Redis: key theo ngay/thang tu het han -> khong can job reset.
+// Dong transaction_limits chi duoc ghi lai boi reconcile(), khong nam tren duong chuyen tien.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransferLimitService {
+  private static final RedisScript<Long> RESERVE_SCRIPT =
+      RedisScript.of(new ClassPathResource("redis/transfer_limit_reserve.lua"), Long.class);
+  private static final RedisScript<Long> RELEASE_SCRIPT =
+      RedisScript.of(new ClassPathResource("redis/transfer_limit_release.lua"), Long.class);
+  private static final RedisScript<Long> REPAIR_SCRIPT =
+      RedisScript.of(new ClassPathResource("redis/transfer_limit_repair.lua"), Long.class);
+  private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+  private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+  // so tien luu dang so nguyen (scale 4 nhu cot DB) de INCRBY chinh xac
+  private static final int MINOR_SCALE = Money.SCALE;
+  private static final Duration KEY_GRACE = Duration.ofHours(1);
+  // khoa advisory cua reconcile, dung chung moi node
+  private static final long RECONCILE_LOCK_KEY = 0x4c494d4954L;
+
+  private final RedisService redisService;
+  private final TransactionLimitRepository transactionLimitRepository;
+  private final TransactionEntryRepository transactionEntryRepository;
+  private final AccountHoldRepository accountHoldRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final EntityManager entityManager;
+
+  // counter lech cao hon ledger o lan reconcile truoc (nghi reserve bi ro ri)
+  private final Map<String, String> suspectedLeaks = new ConcurrentHashMap<>();
+
+  @Value("${app.transaction.limit.reconcile-chunk-size}")
+  private int reconcileChunkSize;
+
+  // goi trong transaction DB nhung truoc khi lock account: round-trip Redis khong keo dai row lock.
+  // Check sau do fail -> rollback tu tra lai phan reserve; fail ma khong rollback thi goi release().
+  // Chi doc limit cua account thuoc userId: account nguoi khac -> bo qua, caller tra 403 sau khi lock.
+  // true = da cong vao counter Redis (release() duoc); false = khong co han muc hoac da ghi vao dong DB
+  public boolean reserve(UUID userId, UUID accountId, Money amount) {
+    return reserve(findLimit(userId, accountId), amount);
+  }
+
+  // null = account khong co han muc hoac khong thuoc userId
+  public TransactionLimit findLimit(UUID userId, UUID accountId) {
+    return transactionLimitRepository.findByAccountIdAndAccountUserId(accountId, userId).orElse(null);
+  }
+
+  // nhieu lan reserve tren cung account (item bulk) dung lai limit da doc, khong query lai moi lan
+  public boolean reserve(TransactionLimit limit, Money amount) {
+    if (limit == null) {
+      return false;
+    }
+    UUID accountId = limit.getAccount().getId();
+    Currency currency = amount.currency();
+    if (amount.isGreaterThan(Money.of(limit.getPerTransactionLimit(), currency))) {
+      throw new BusinessException(422, "LIMIT_EXCEEDED", "Amount exceeds per-transaction limit");
+    }
+
+    LocalDate today = LocalDate.now();
+    List<String> keys = List.of(dailyKey(accountId, today), monthlyKey(accountId, today));
+    String minor = String.valueOf(amount.minorUnits());
+    Long result;
+    try {
+      result = redisService.execute(RESERVE_SCRIPT, keys,
+          minor,
+          toMinor(limit.getDailyTransferLimit()),
+          toMinor(limit.getMonthlyTransferLimit()),
+          String.valueOf(dailyTtl(today).toSeconds()),
+          String.valueOf(monthlyTtl(today).toSeconds()),
+          toMinor(seedDaily(limit, today)),
+          toMinor(seedMonthly(limit, today)));
+    } catch (DataAccessException ex) {
+      log.warn("Redis limit counters unavailable, falling back to row usage for account={}: {}",
+          accountId, ex.getMessage());
+      consumeInRow(limit, amount);
+      return false;
+    }
+
+    if (result != null && result == -1) {
+      throw new BusinessException(422, "LIMIT_EXCEEDED", "Daily transfer limit exceeded");
+    }
+    if (result != null && result == -2) {
+      throw new BusinessException(422, "LIMIT_EXCEEDED", "Monthly transfer limit exceeded");
+    }
+    releaseAfter(keys, minor, false);
+    return true;
+  }
+
+  // tra lai phan da reserve nhung khong bi tru (hold release/expire, phan du khi capture 1 phan) sau khi commit,
+  // vao counter cua ngay/thang luc reserve; key ngay cu da het han thi bo qua
+  public void release(Account account, Money amount, LocalDateTime reservedAt) {
+    if (account.getTransactionLimit() != null) {
+      release(account.getId(), amount, reservedAt);
+    }
+  }
+
+  // caller da biet reserve() tra true (vd item bulk fail sau khi reserve)
+  public void release(UUID accountId, Money amount, LocalDateTime reservedAt) {
+    if (amount.signum() <= 0) {
+      return;
+    }
+    LocalDate day = reservedAt.toLocalDate();
+    releaseAfter(List.of(dailyKey(accountId, day), monthlyKey(accountId, day)),
+        String.valueOf(amount.minorUnits()), true);
+  }
+
+  // ghi usage tu ledger ve transaction_limits va sua counter Redis bi lech. Chi 1 node chay (advisory lock
+  // session-level tren 1 connection autocommit), moi chunk account 1 transaction ngan.
+  public void reconcile() {
+    Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+      if (!tryAdvisoryLock(connection, "select pg_try_advisory_lock(?)")) {
+        return false;
+      }
+      try {
+        reconcileChunks();
+      } finally {
+        tryAdvisoryLock(connection, "select pg_advisory_unlock(?)");
+      }
+      return true;
+    });
+    if (!Boolean.TRUE.equals(ran)) {
+      log.debug("Transfer limit reconciliation is running on another node, skipped");
+    }
+  }
+
+  private void reconcileChunks() {
+    LocalDate today = LocalDate.now();
+    LocalDateTime dayStart = today.atStartOfDay();
+    LocalDateTime monthStart = today.withDayOfMonth(1).atStartOfDay();
+    Map<UUID, BigDecimal> daily = sumDebits(dayStart);
+    Map<UUID, BigDecimal> monthly = sumDebits(monthStart);
+
+    Set<UUID> accountIds = new TreeSet<>(monthly.keySet());
+    accountIds.addAll(transactionLimitRepository.findAccountIdsWithUsage());
+
+    Map<String, String> observedLeaks = new HashMap<>();
+    List<UUID> ordered = new ArrayList<>(accountIds);
+    for (int from = 0; from < ordered.size(); from += reconcileChunkSize) {
+      List<UUID> chunk = ordered.subList(from, Math.min(from + reconcileChunkSize, ordered.size()));
+      transactionTemplate.executeWithoutResult(status -> chunk.forEach(accountId ->
+          transactionLimitRepository.updateUsage(accountId,
+              daily.getOrDefault(accountId, BigDecimal.ZERO), today.plusDays(1).atStartOfDay(),
+              monthly.getOrDefault(accountId, BigDecimal.ZERO), monthStart.plusMonths(1))));
+      for (UUID accountId : chunk) {
+        try {
+          repair(dailyKey(accountId, today), daily.getOrDefault(accountId, BigDecimal.ZERO), dailyTtl(today),
+              observedLeaks);
+          repair(monthlyKey(accountId, today), monthly.getOrDefault(accountId, BigDecimal.ZERO),
+              monthlyTtl(today), observedLeaks);
+        } catch (DataAccessException ex) {
+          log.warn("Cannot repair limit counters of account={}: {}", accountId, ex.getMessage());
+        }
+      }
+    }
+    suspectedLeaks.clear();
+    suspectedLeaks.putAll(observedLeaks);
+  }
+
+  private static boolean tryAdvisoryLock(Connection connection, String sql) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      statement.setLong(1, RECONCILE_LOCK_KEY);
+      try (ResultSet rs = statement.executeQuery()) {
+        return rs.next() && rs.getBoolean(1);
+      }
+    }
+  }
+
+  // counter < ledger: thieu -> nang len ngay. counter > ledger: co the la reserve dang chay,
+  // chi ha xuong khi lan reconcile truoc cung thay dung gia tri do (reserve bi ro ri that)
+  private void repair(String key, BigDecimal ledgerUsed, Duration ttl, Map<String, String> observedLeaks) {
+    String expected = redisService.get(key).orElse("");
+    long target = Long.parseLong(toMinor(ledgerUsed));
+    long current = expected.isEmpty() ? 0 : Long.parseLong(expected);
+    if (current == target) {
+      return;
+    }
+    if (current > target && !expected.equals(suspectedLeaks.get(key))) {
+      observedLeaks.put(key, expected);
+      return;
+    }
+    Long repaired = redisService.execute(REPAIR_SCRIPT, List.of(key), expected, String.valueOf(target),
+        String.valueOf(ttl.toSeconds()));
+    if (repaired != null && repaired == 1) {
+      log.info("Repaired limit counter key={} from {} to {}", key, current, target);
+    }
+  }
+
+  // debit TRANSFER da COMPLETED, gom ca item bulk: bulk cung reserve tung item luc post nen counter dem giong.
+  // Cong them hold ACTIVE: da reserve luc authorize nhung chua co entry, bo qua thi reconcile ha counter xuong
+  private Map<UUID, BigDecimal> sumDebits(LocalDateTime from) {
+    Map<UUID, BigDecimal> used = transactionEntryRepository
+        .sumByAccountSince(EntryType.DEBIT, TransactionType.TRANSFER, TransactionStatus.COMPLETED, from)
+        .stream()
+        .collect(Collectors.toMap(AccountAmountView::accountId, AccountAmountView::amount));
+    accountHoldRepository.sumByAccountSince(HoldStatus.ACTIVE, from)
+        .forEach(held -> used.merge(held.accountId(), held.amount(), BigDecimal::add));
+    return used;
+  }
+
+  // afterCommit = true: tra lai khi commit (khong co transaction thi tra ngay); false: tra lai khi rollback
+  private void releaseAfter(List<String> keys, String minor, boolean afterCommit) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      if (afterCommit) {
+        releaseNow(keys, minor);
+      }
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if ((status == STATUS_COMMITTED) == afterCommit) {
+          releaseNow(keys, minor);
+        }
+      }
+    });
+  }
+
+  private void releaseNow(List<String> keys, String minor) {
+    try {
+      redisService.execute(RELEASE_SCRIPT, keys, minor);
+    } catch (DataAccessException ex) {
+      // reconcile se ha counter xuong sau 2 lan quet
+      log.warn("Cannot release limit reservation keys={}: {}", keys, ex.getMessage());
+    }
+  }
+
+  // Redis mat du lieu -> khoi tao tu dong DB neu dong DB cung ky
+  private BigDecimal seedDaily(TransactionLimit limit, LocalDate today) {
+    return today.plusDays(1).atStartOfDay().equals(limit.getDailyResetAt())
+        ? limit.getDailyUsed() : BigDecimal.ZERO;
+  }
+
+  private BigDecimal seedMonthly(TransactionLimit limit, LocalDate today) {
+    return today.withDayOfMonth(1).plusMonths(1).atStartOfDay().equals(limit.getMonthlyResetAt())
+        ? limit.getMonthlyUsed() : BigDecimal.ZERO;
+  }
+
+  // fallback khi Redis loi: logic cu tren dong transaction_limits. Lock (va doc lai) chinh dong limit vi account
+  // chua bi lock; moi transaction chi giu 1 dong limit va lay no truoc lock account nen khong deadlock.
+  // Da lock trong transaction nay (item bulk truoc) thi khong refresh, tranh mat usage chua flush
+  private void consumeInRow(TransactionLimit limit, Money amount) {
+    if (entityManager.getLockMode(limit) != LockModeType.PESSIMISTIC_WRITE) {
+      entityManager.refresh(limit, LockModeType.PESSIMISTIC_WRITE);
+    }
+    LocalDateTime now = LocalDateTime.now();
+    if (limit.getDailyResetAt() == null || !now.isBefore(limit.getDailyResetAt())) {
+      limit.setDailyUsed(BigDecimal.ZERO);
+      limit.setDailyResetAt(LocalDate.now().plusDays(1).atStartOfDay());
+    }
+    if (limit.getMonthlyResetAt() == null || !now.isBefore(limit.getMonthlyResetAt())) {
+      limit.setMonthlyUsed(BigDecimal.ZERO);
+      limit.setMonthlyResetAt(LocalDate.now().withDayOfMonth(1).plusMonths(1).atStartOfDay());
+    }
+    Currency currency = amount.currency();
+    Money dailyUsed = Money.of(limit.getDailyUsed(), currency).plus(amount);
+    Money monthlyUsed = Money.of(limit.getMonthlyUsed(), currency).plus(amount);
+    if (dailyUsed.isGreaterThan(Money.of(limit.getDailyTransferLimit(), currency))) {
+      throw new BusinessException(422, "LIMIT_EXCEEDED", "Daily transfer limit exceeded");
+    }
+    if (monthlyUsed.isGreaterThan(Money.of(limit.getMonthlyTransferLimit(), currency))) {
+      throw new BusinessException(422, "LIMIT_EXCEEDED", "Monthly transfer limit exceeded");
+    }
+    limit.setDailyUsed(dailyUsed.toBigDecimal());
+    limit.setMonthlyUsed(monthlyUsed.toBigDecimal());
+  }
+
+  private static String dailyKey(UUID accountId, LocalDate day) {
+    return "limit:daily:" + accountId + ":" + day.format(DAY);
+  }
+
+  private static String monthlyKey(UUID accountId, LocalDate day) {
+    return "limit:monthly:" + accountId + ":" + day.format(MONTH);
+  }
+
+  private static Duration dailyTtl(LocalDate today) {
+    return Duration.between(LocalDateTime.now(), today.plusDays(1).atStartOfDay()).plus(KEY_GRACE);
+  }
+
+  private static Duration monthlyTtl(LocalDate today) {
+    return Duration.between(LocalDateTime.now(), today.withDayOfMonth(1).plusMonths(1).atStartOfDay())
+        .plus(KEY_GRACE);
+  }
+
+  private static String toMinor(BigDecimal amount) {
+    return amount.setScale(MINOR_SCALE, RoundingMode.UP).unscaledValue().toString();
+  }
+}
@@ -13,6 +13,7 @@ import com.neuro_bank.module.user.dto.request.UpdateProfileRequest;
 import com.neuro_bank.module.user.dto.request.VerifyOtpRequest;
 import com.neuro_bank.module.user.dto.response.UserResponse;
 import com.neuro_bank.module.user.service.UserService;
+import com.neuro_bank.security.UserPrincipal;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
@@ -88,7 +89,7 @@ public class AuthController {
   @PostMapping("/logout")
   @PreAuthorize("isAuthenticated()")
   public ResponseEntity<ApiResponse<Void>> logout(HttpServletRequest request,
-                                                  @AuthenticationPrincipal com.neuro_bank.security.UserPrincipal principal) {
+                                                  @AuthenticationPrincipal UserPrincipal principal) {
     authService.logout(
         cookieUtil.extractFromCookie(request, "refresh_token").orElse(null),
         cookieUtil.extractFromCookie(request, "access_token").orElse(null),
@@ -99,17 +100,28 @@ public class AuthController {
         .body(ApiResponse.success("Logged out successfully", null));
   }
 
+  // thu hoi moi session cua user tren moi thiet bi, ke ca session hien tai
+  @PostMapping("/logout-all")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<ApiResponse<Void>> logoutAll(@AuthenticationPrincipal UserPrincipal principal) {
+    authService.logoutAll(principal.getId());
+    return ResponseEntity.ok()
+        .header(HttpHeaders.SET_COOKIE, cookieUtil.deleteAccessTokenCookie().toString())
+        .header(HttpHeaders.SET_COOKIE, cookieUtil.deleteRefreshTokenCookie().toString())
+        .body(ApiResponse.success("Logged out from all devices", null));
+  }
+
   @GetMapping("/me")
   @PreAuthorize("isAuthenticated()")
   public ResponseEntity<ApiResponse<UserResponse>> me(
-      @AuthenticationPrincipal com.neuro_bank.security.UserPrincipal principal) {
+      @AuthenticationPrincipal UserPrincipal principal) {
     return ResponseEntity.ok(ApiResponse.success(userService.getById(principal.getId())));
   }
 
   @PatchMapping("/me")
   @PreAuthorize("isAuthenticated()")
   public ResponseEntity<ApiResponse<UserResponse>> updateProfile(
-      @AuthenticationPrincipal com.neuro_bank.security.UserPrincipal principal,
+      @AuthenticationPrincipal UserPrincipal principal,
       @Valid @RequestBody UpdateProfileRequest request) {
     return ResponseEntity.ok(ApiResponse.success(userService.updateProfile(principal.getId(), request)));
   }
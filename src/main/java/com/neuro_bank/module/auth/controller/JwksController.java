@@ -0,0 +1,25 @@
+package com.neuro_bank.module.auth.controller;
+
+import com.neuro_bank.security.JwtKeySet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+// JWKS (RFC 7517) cho service khac tu verify access token; dinh dang chuan nen khong boc ApiResponse
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+  private final JwtKeySet jwtKeySet;
+
+  @GetMapping("/.well-known/jwks.json")
+  public ResponseEntity<Map<String, Object>> jwks() {
+    return ResponseEntity.ok()
+        .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+        .body(jwtKeySet.jwks());
+  }
+}
@@ -13,4 +13,6 @@ public interface AuthService {
   RefreshResult refreshAccessToken(String refreshToken, String ipAddress, String deviceFingerprint);
 
   void logout(String refreshToken, String accessToken, UUID userId);
+
+  void logoutAll(UUID userId);
 }
@@ -19,6 +19,9 @@ import com.neuro_bank.module.user.repository.UserDeviceRepository;
 import com.neuro_bank.module.user.repository.UserRepository;
 import com.neuro_bank.module.user.service.OtpService;
 import com.neuro_bank.security.JwtTokenProvider;
+import com.neuro_bank.security.PrincipalCache;
+import com.neuro_bank.security.RevokedTokenFilter;
+import com.neuro_bank.security.TokenEpochService;
 import com.nimbusds.jwt.JWTClaimsSet;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -50,6 +53,9 @@ public class AuthServiceImpl implements AuthService {
   private final RedisService redisService;
   private final RateLimiterService rateLimiterService;
   private final PasswordEncoder passwordEncoder;
+  private final RevokedTokenFilter revokedTokenFilter;
+  private final TokenEpochService tokenEpochService;
+  private final PrincipalCache principalCache;
 
   @Override
   public LoginResult login(LoginRequest request, String ipAddress, String userAgent, String deviceFingerprint) {
@@ -78,6 +84,7 @@ public class AuthServiceImpl implements AuthService {
     if (user.getStatus() == UserStatus.PENDING_VERIFICATION) {
       throw BusinessException.forbidden("Please verify your email first");
     }
+    rehashIfNeeded(user, userCredential, request.getPassword());
 
     // check new device
     boolean isNewDevice = handleDevice(user, deviceFingerprint, userAgent, ipAddress);
@@ -190,11 +197,43 @@ public class AuthServiceImpl implements AuthService {
       String jti = jwtTokenProvider.extractJti(accessToken);
       Duration ttl = jwtTokenProvider.getRemainingTtl(accessToken);
       if (jti != null && !ttl.isZero()) {
-        redisService.blacklistToken(jti, ttl);
+        revokedTokenFilter.revoke(jti, ttl);
       }
+      // access token khac cua cung session (phat qua refresh) cung het hieu luc, va refresh token cua session
+      // do khong dung de lay access token moi duoc nua
+      String sessionId = jwtTokenProvider.extractSessionId(accessToken);
+      if (sessionId != null) {
+        refreshTokenRepository.revokeBySession(userId, sessionId, LocalDateTime.now());
+        tokenEpochService.revokeSession(userId, sessionId);
+      }
+    }
+  }
+
+  // tham so argon2 da doi (tang memory/iterations) -> hash lai bang mat khau vua dung, luu cung transaction login.
+  // Pool hash dang day thi bo qua, lan dang nhap sau lam tiep
+  private void rehashIfNeeded(User user, UserCredential userCredential, String rawPassword) {
+    if (!passwordEncoder.upgradeEncoding(userCredential.getPasswordHash())) {
+      return;
+    }
+    try {
+      userCredential.setPasswordHash(passwordEncoder.encode(rawPassword));
+      userCredentialRepository.save(userCredential);
+      principalCache.invalidate(user.getId());
+    } catch (BusinessException ex) {
+      log.debug("Skip password rehash user={}: {}", user.getId(), ex.getMessage());
     }
   }
 
+  // 1 lan tang epoch thu hoi moi access token dang song cua user, refresh token thu hoi trong DB
+  @Override
+  public void logoutAll(UUID userId) {
+    User user = userRepository.findById(userId)
+        .orElseThrow(() -> BusinessException.notFound("User"));
+    refreshTokenRepository.revokeAllByUser(user, LocalDateTime.now());
+    tokenEpochService.revokeUser(userId);
+    auditLogService.longAsync(user, "LOGOUT_ALL", "USER", userId, true, null, null);
+  }
+
   private LoginResult issueTokens(User user, String deviceFingerprint, String ipAddress, String userAgent) {
     String sessionId = UUID.randomUUID().toString();
     String familyId = UUID.randomUUID().toString();
@@ -0,0 +1,62 @@
+package com.neuro_bank.module.ledger.controller;
+
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.common.response.ApiResponse;
+import com.neuro_bank.module.ledger.dto.response.LedgerReconciliationResponse;
+import com.neuro_bank.module.ledger.service.BalanceCheckpointBackfill;
+import com.neuro_bank.module.ledger.service.LedgerReconciliationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/admin/ledger")
+@RequiredArgsConstructor
+public class AdminLedgerController {
+  private final LedgerReconciliationService reconciliationService;
+  private final BalanceCheckpointBackfill balanceCheckpointBackfill;
+
+  // doi soat balance voi tong entry, chay nen; theo doi qua GET
+  @PostMapping("/reconciliations")
+  public ResponseEntity<ApiResponse<LedgerReconciliationResponse>> start() {
+    try {
+      return ResponseEntity.status(HttpStatus.ACCEPTED)
+          .body(ApiResponse.success("Ledger reconciliation started", reconciliationService.start()));
+    } catch (IllegalStateException ex) {
+      throw BusinessException.conflict(ex.getMessage());
+    }
+  }
+
+  @PostMapping("/reconciliations/{runId}/resume")
+  public ResponseEntity<ApiResponse<LedgerReconciliationResponse>> resume(@PathVariable UUID runId) {
+    try {
+      return ResponseEntity.status(HttpStatus.ACCEPTED)
+          .body(ApiResponse.success("Ledger reconciliation resumed", reconciliationService.resume(runId)));
+    } catch (IllegalStateException ex) {
+      throw BusinessException.conflict(ex.getMessage());
+    }
+  }
+
+  @GetMapping("/reconciliations/{runId}")
+  public ResponseEntity<ApiResponse<LedgerReconciliationResponse>> getRun(
+      @PathVariable UUID runId,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "100") int size) {
+    return ResponseEntity.ok(ApiResponse.success(reconciliationService.getRun(runId, page, size)));
+  }
+
+  // dung checkpoint cho lich su co san, chay nen; theo doi qua log
+  @PostMapping("/checkpoints/backfill")
+  public ResponseEntity<ApiResponse<Void>> backfillCheckpoints() {
+    try {
+      balanceCheckpointBackfill.backfill();
+    } catch (IllegalStateException ex) {
+      throw BusinessException.conflict(ex.getMessage());
+    }
+    return ResponseEntity.status(HttpStatus.ACCEPTED)
+        .body(ApiResponse.success("Balance checkpoint backfill started", null));
+  }
+}
@@ -0,0 +1,30 @@
+package com.neuro_bank.module.ledger.dto.response;
+
+import com.neuro_bank.module.ledger.entity.LedgerDiscrepancy;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Getter
+@Builder
+public class LedgerDiscrepancyResponse {
+  private UUID accountId;
+  private Integer shardIndex;
+  private String type;
+  private BigDecimal expected;
+  private BigDecimal actual;
+  private UUID entryId;
+
+  public static LedgerDiscrepancyResponse from(LedgerDiscrepancy discrepancy) {
+    return LedgerDiscrepancyResponse.builder()
+        .accountId(discrepancy.getAccountId())
+        .shardIndex(discrepancy.getShardIndex())
+        .type(discrepancy.getType())
+        .expected(discrepancy.getExpected())
+        .actual(discrepancy.getActual())
+        .entryId(discrepancy.getEntryId())
+        .build();
+  }
+}
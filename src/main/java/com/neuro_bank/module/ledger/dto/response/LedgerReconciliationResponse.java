@@ -0,0 +1,43 @@
+package com.neuro_bank.module.ledger.dto.response;
+
+import com.neuro_bank.common.enums.ReconciliationStatus;
+import com.neuro_bank.module.ledger.entity.LedgerReconciliationRun;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+public class LedgerReconciliationResponse {
+  private UUID runId;
+  private ReconciliationStatus status;
+  private int rangeCount;
+  private long accountsChecked;
+  private long discrepancyCount;
+  private String lastError;
+  private LocalDateTime createdAt;
+  private LocalDateTime completedAt;
+  private List<LedgerDiscrepancyResponse> discrepancies;
+  private int page;
+  private int size;
+  private boolean hasNext;
+
+  public static LedgerReconciliationResponse from(LedgerReconciliationRun run) {
+    return LedgerReconciliationResponse.builder()
+        .runId(run.getId())
+        .status(run.getStatus())
+        .rangeCount(run.getRangeCount())
+        .accountsChecked(run.getAccountsChecked())
+        .discrepancyCount(run.getDiscrepancyCount())
+        .lastError(run.getLastError())
+        .createdAt(run.getCreatedAt())
+        .completedAt(run.getCompletedAt())
+        .discrepancies(List.of())
+        .build();
+  }
+}
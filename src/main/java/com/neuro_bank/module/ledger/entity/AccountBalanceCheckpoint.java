@@ -0,0 +1,59 @@
+package com.neuro_bank.module.ledger.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Balance cuoi ngay cua 1 chain (dong account chinh hoac 1 shard). Khong extend BaseEntity: chi ghi bang upsert native.
+// PK (account_id, chain, checkpoint_date) cung la index cho lookup "checkpoint gan nhat truoc ngay D"
+@Entity
+@Table(name = "account_balance_checkpoints")
+@IdClass(AccountBalanceCheckpoint.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AccountBalanceCheckpoint {
+  // chain cua dong account chinh; shard dung shardIndex >= 0
+  public static final int MAIN_CHAIN = -1;
+
+  @Id
+  @Column(nullable = false)
+  UUID accountId;
+
+  @Id
+  @Column(nullable = false)
+  int chain;
+
+  @Id
+  @Column(nullable = false)
+  LocalDate checkpointDate;
+
+  // = balanceAfter cua entry cuoi cung trong ngay
+  @Column(nullable = false, precision = 19, scale = 4)
+  BigDecimal closingBalance;
+
+  @Column(nullable = false)
+  LocalDateTime lastEntryAt;
+
+  @Getter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class Key implements Serializable {
+    private UUID accountId;
+    private int chain;
+    private LocalDate checkpointDate;
+  }
+}
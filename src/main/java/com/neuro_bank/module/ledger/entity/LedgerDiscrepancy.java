@@ -0,0 +1,46 @@
+package com.neuro_bank.module.ledger.entity;
+
+import com.neuro_bank.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Entity
+@Table(name = "ledger_discrepancies", indexes = {
+    @Index(name = "idx_discrepancy_run", columnList = "run_id"),
+    @Index(name = "idx_discrepancy_account", columnList = "account_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LedgerDiscrepancy extends BaseEntity {
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "run_id", nullable = false)
+  LedgerReconciliationRun run;
+
+  @Column(name = "account_id", nullable = false)
+  UUID accountId;
+
+  // null = dong account chinh, != null = shard
+  Integer shardIndex;
+
+  @Column(nullable = false, length = 40)
+  String type;  // BALANCE_MISMATCH, LAST_ENTRY_MISMATCH, CHAIN_BREAK, ENTRY_ARITHMETIC
+
+  @Column(precision = 19, scale = 4)
+  BigDecimal expected;
+
+  @Column(precision = 19, scale = 4)
+  BigDecimal actual;
+
+  // entry dau tien gay loi (CHAIN_BREAK, ENTRY_ARITHMETIC)
+  UUID entryId;
+}
@@ -0,0 +1,49 @@
+package com.neuro_bank.module.ledger.entity;
+
+import com.neuro_bank.common.entity.BaseEntity;
+import com.neuro_bank.common.enums.ReconciliationStatus;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.UUID;
+
+// 1 khoang account id cua 1 lan doi soat; checkpointAccountId = account cuoi cung da doi soat xong
+@Entity
+@Table(name = "ledger_reconciliation_ranges", indexes = {
+    @Index(name = "idx_recon_range_run_index", columnList = "run_id, range_index", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LedgerReconciliationRange extends BaseEntity {
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "run_id", nullable = false)
+  LedgerReconciliationRun run;
+
+  @Column(nullable = false)
+  int rangeIndex;
+
+  @Column(nullable = false)
+  UUID lowerBound;
+
+  // null = khong chan tren
+  UUID upperBound;
+
+  UUID checkpointAccountId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  ReconciliationStatus status;
+
+  @Column(nullable = false)
+  long accountsChecked;
+
+  @Column(nullable = false)
+  long discrepancyCount;
+}
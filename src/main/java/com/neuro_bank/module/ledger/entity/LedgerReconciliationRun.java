@@ -0,0 +1,39 @@
+package com.neuro_bank.module.ledger.entity;
+
+import com.neuro_bank.common.entity.BaseEntity;
+import com.neuro_bank.common.enums.ReconciliationStatus;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ledger_reconciliation_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LedgerReconciliationRun extends BaseEntity {
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  ReconciliationStatus status;
+
+  @Column(nullable = false)
+  int rangeCount;
+
+  @Column(nullable = false)
+  long accountsChecked;
+
+  @Column(nullable = false)
+  long discrepancyCount;
+
+  LocalDateTime completedAt;
+
+  @Column(length = 255)
+  String lastError;
+}
@@ -0,0 +1,46 @@
+package com.neuro_bank.module.ledger.repository;
+
+import com.neuro_bank.module.ledger.entity.AccountBalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AccountBalanceCheckpointRepository
+    extends JpaRepository<AccountBalanceCheckpoint, AccountBalanceCheckpoint.Key> {
+
+  // checkpoint gan nhat truoc ngay :date cua tung chain, moi chain 1 lan seek tren PK
+  @Query("""
+          select c from AccountBalanceCheckpoint c
+          where c.accountId = :accountId
+          and c.checkpointDate = (
+              select max(c2.checkpointDate) from AccountBalanceCheckpoint c2
+              where c2.accountId = c.accountId and c2.chain = c.chain and c2.checkpointDate < :date)
+      """)
+  List<AccountBalanceCheckpoint> findLatestBefore(@Param("accountId") UUID accountId,
+                                                  @Param("date") LocalDate date);
+
+  // chain da bi lock (account hoac shard) nen upsert cua cung 1 chain khong chay song song;
+  // dieu kien last_entry_at chan backfill ghi de checkpoint moi hon bang snapshot cu
+  @Modifying
+  @Query(value = """
+          insert into account_balance_checkpoints (account_id, chain, checkpoint_date, closing_balance, last_entry_at)
+          values (:accountId, :chain, :date, :balance, :lastEntryAt)
+          on conflict (account_id, chain, checkpoint_date) do update
+          set closing_balance = excluded.closing_balance, last_entry_at = excluded.last_entry_at
+          where account_balance_checkpoints.last_entry_at <= excluded.last_entry_at
+      """, nativeQuery = true)
+  int upsert(@Param("accountId") UUID accountId,
+             @Param("chain") int chain,
+             @Param("date") LocalDate date,
+             @Param("balance") BigDecimal balance,
+             @Param("lastEntryAt") LocalDateTime lastEntryAt);
+}
@@ -0,0 +1,14 @@
+package com.neuro_bank.module.ledger.repository;
+
+import com.neuro_bank.module.ledger.entity.LedgerDiscrepancy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface LedgerDiscrepancyRepository extends JpaRepository<LedgerDiscrepancy, UUID> {
+  Page<LedgerDiscrepancy> findByRunIdOrderByAccountIdAsc(UUID runId, Pageable pageable);
+}
@@ -0,0 +1,42 @@
+package com.neuro_bank.module.ledger.repository;
+
+import com.neuro_bank.common.enums.ReconciliationStatus;
+import com.neuro_bank.module.ledger.entity.LedgerReconciliationRange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface LedgerReconciliationRangeRepository extends JpaRepository<LedgerReconciliationRange, UUID> {
+  List<LedgerReconciliationRange> findByRunIdAndStatusNotOrderByRangeIndexAsc(UUID runId,
+                                                                             ReconciliationStatus status);
+
+  long countByRunIdAndStatus(UUID runId, ReconciliationStatus status);
+
+  @Query("select coalesce(sum(r.accountsChecked), 0) from LedgerReconciliationRange r where r.run.id = :runId")
+  long sumAccountsChecked(@Param("runId") UUID runId);
+
+  @Query("select coalesce(sum(r.discrepancyCount), 0) from LedgerReconciliationRange r where r.run.id = :runId")
+  long sumDiscrepancies(@Param("runId") UUID runId);
+
+  // checkpoint sau moi chunk, cung transaction voi discrepancy cua chunk do
+  @Modifying
+  @Query("""
+          update LedgerReconciliationRange r
+          set r.checkpointAccountId = :checkpoint,
+              r.accountsChecked = r.accountsChecked + :accounts,
+              r.discrepancyCount = r.discrepancyCount + :discrepancies,
+              r.status = :status
+          where r.id = :id
+      """)
+  int advance(@Param("id") UUID id,
+              @Param("checkpoint") UUID checkpoint,
+              @Param("accounts") long accounts,
+              @Param("discrepancies") long discrepancies,
+              @Param("status") ReconciliationStatus status);
+}
@@ -0,0 +1,11 @@
+package com.neuro_bank.module.ledger.repository;
+
+import com.neuro_bank.module.ledger.entity.LedgerReconciliationRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface LedgerReconciliationRunRepository extends JpaRepository<LedgerReconciliationRun, UUID> {
+}
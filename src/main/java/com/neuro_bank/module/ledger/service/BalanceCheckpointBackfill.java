@@ -0,0 +1,106 @@
+package com.neuro_bank.module.ledger.service;
+
+import com.neuro_bank.common.util.UuidRanges;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Dung checkpoint cho lich su co san: chia account theo khoang UUID cho nhieu worker, moi chunk account la
+// 1 cau insert ... select distinct on (entry cuoi moi ngay) tu commit rieng -> chay lai an toan, ghi de idempotent.
+// Chay song song voi giao dich moi: upsert chi ghi khi last_entry_at moi hon nen khong lui checkpoint.
+@Component
+@Slf4j
+public class BalanceCheckpointBackfill {
+  private static final String ACCOUNTS_FROM_SQL = """
+      select id from accounts
+      where id >= ? and (cast(? as uuid) is null or id < ?)
+      order by id limit ?
+      """;
+  private static final String ACCOUNTS_AFTER_SQL = """
+      select id from accounts
+      where id > ? and (cast(? as uuid) is null or id < ?)
+      order by id limit ?
+      """;
+  private static final String BACKFILL_SQL = """
+      insert into account_balance_checkpoints (account_id, chain, checkpoint_date, closing_balance, last_entry_at)
+      select distinct on (account_id, coalesce(shard_index, -1), cast(created_at as date))
+             account_id, coalesce(shard_index, -1), cast(created_at as date), balance_after, created_at
+      from transaction_entries
+      where account_id between ? and ?
+      order by account_id, coalesce(shard_index, -1), cast(created_at as date), created_at desc, id desc
+      on conflict (account_id, chain, checkpoint_date) do update
+      set closing_balance = excluded.closing_balance, last_entry_at = excluded.last_entry_at
+      where account_balance_checkpoints.last_entry_at <= excluded.last_entry_at
+      """;
+  private final JdbcTemplate jdbcTemplate;
+  private final int parallelism;
+  private final int chunkSize;
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  public BalanceCheckpointBackfill(JdbcTemplate jdbcTemplate,
+      @Value("${app.ledger.checkpoint.backfill-parallelism}") int parallelism,
+      @Value("${app.ledger.checkpoint.backfill-chunk-size}") int chunkSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.parallelism = parallelism;
+    this.chunkSize = chunkSize;
+  }
+
+  public CompletableFuture<Long> backfill() {
+    if (!running.compareAndSet(false, true)) {
+      throw new IllegalStateException("Balance checkpoint backfill is already running");
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    try {
+      AtomicLong written = new AtomicLong();
+      List<CompletableFuture<Void>> tasks = new ArrayList<>();
+      // nhieu range hon worker de worker xong som lay tiep range khac
+      for (UuidRanges.Range range : UuidRanges.split(parallelism * 4)) {
+        tasks.add(CompletableFuture.runAsync(() -> backfillRange(range, written), executor));
+      }
+      log.info("Balance checkpoint backfill started with {} ranges", tasks.size());
+      return CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+          .thenApply(ignored -> written.get())
+          .whenComplete((count, ex) -> {
+            executor.shutdown();
+            running.set(false);
+            if (ex != null) {
+              log.error("Balance checkpoint backfill failed", ex);
+            } else {
+              log.info("Balance checkpoint backfill finished, wrote {} checkpoints", count);
+            }
+          });
+    } catch (RuntimeException ex) {
+      executor.shutdown();
+      running.set(false);
+      throw ex;
+    }
+  }
+
+  private void backfillRange(UuidRanges.Range range, AtomicLong written) {
+    UUID upper = range.upper();
+    UUID after = null;
+    while (true) {
+      List<UUID> accounts = after == null
+          ? jdbcTemplate.queryForList(ACCOUNTS_FROM_SQL, UUID.class, range.lower(), upper, upper, chunkSize)
+          : jdbcTemplate.queryForList(ACCOUNTS_AFTER_SQL, UUID.class, after, upper, upper, chunkSize);
+      if (accounts.isEmpty()) {
+        return;
+      }
+      written.addAndGet(jdbcTemplate.update(BACKFILL_SQL, accounts.get(0), accounts.get(accounts.size() - 1)));
+      if (accounts.size() < chunkSize) {
+        return;
+      }
+      after = accounts.get(accounts.size() - 1);
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.neuro_bank.module.ledger.service;
+
+import com.neuro_bank.common.util.Money;
+import com.neuro_bank.module.ledger.entity.AccountBalanceCheckpoint;
+import com.neuro_bank.module.ledger.repository.AccountBalanceCheckpointRepository;
+import com.neuro_bank.module.transaction.dto.projection.ChainBalanceView;
+import com.neuro_bank.module.transaction.entity.TransactionEntry;
+import com.neuro_bank.module.transaction.repository.TransactionEntryRepository;
+import com.neuro_bank.module.transaction.util.AccountLockOrder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+// Checkpoint = balance cuoi ngay cua tung chain (dong chinh + tung shard).
+// Balance tai thoi diem T = tong tren cac chain cua (entry cuoi truoc T trong ngay cua T, neu khong co thi checkpoint
+// gan nhat truoc ngay do) -> 1 lookup checkpoint + scan entry cua 1 ngay, khong phai quet nguoc ca lich su.
+@Service
+@RequiredArgsConstructor
+public class BalanceCheckpointService {
+  // thu tu lock row checkpoint: account id roi chain, giong thu tu lock account/shard
+  private static final Comparator<AccountBalanceCheckpoint.Key> KEY_ORDER =
+      Comparator.comparing(AccountBalanceCheckpoint.Key::getAccountId, AccountLockOrder.COMPARATOR)
+          .thenComparingInt(AccountBalanceCheckpoint.Key::getChain)
+          .thenComparing(AccountBalanceCheckpoint.Key::getCheckpointDate);
+
+  private final AccountBalanceCheckpointRepository checkpointRepository;
+  private final TransactionEntryRepository transactionEntryRepository;
+
+  // goi trong transaction ghi entry, sau khi entry da persist (createdAt da co); chain da duoc lock boi caller
+  public void record(Collection<TransactionEntry> entries) {
+    Map<AccountBalanceCheckpoint.Key, TransactionEntry> latest = new TreeMap<>(KEY_ORDER);
+    for (TransactionEntry entry : entries) {
+      LocalDateTime postedAt = entry.getCreatedAt() != null ? entry.getCreatedAt() : LocalDateTime.now();
+      int chain = entry.getShardIndex() != null ? entry.getShardIndex() : AccountBalanceCheckpoint.MAIN_CHAIN;
+      // entry sau trong cung transaction ghi de entry truoc
+      latest.put(new AccountBalanceCheckpoint.Key(entry.getAccount().getId(), chain, postedAt.toLocalDate()), entry);
+    }
+    latest.forEach((key, entry) -> checkpointRepository.upsert(key.getAccountId(), key.getChain(),
+        key.getCheckpointDate(), BigDecimal.valueOf(entry.getBalanceAfter(), Money.SCALE),
+        entry.getCreatedAt() != null ? entry.getCreatedAt() : LocalDateTime.now()));
+  }
+
+  @Transactional(readOnly = true)
+  public BigDecimal balanceAt(UUID accountId, LocalDateTime at) {
+    LocalDate day = at.toLocalDate();
+    Map<Integer, BigDecimal> chains = new HashMap<>();
+    for (AccountBalanceCheckpoint checkpoint : checkpointRepository.findLatestBefore(accountId, day)) {
+      chains.put(checkpoint.getChain(), checkpoint.getClosingBalance());
+    }
+    // entry sau ghi de entry truoc -> con lai balanceAfter cuoi cung cua moi chain truoc T
+    for (ChainBalanceView view : transactionEntryRepository.findChainBalances(accountId, day.atStartOfDay(), at)) {
+      int chain = view.shardIndex() != null ? view.shardIndex() : AccountBalanceCheckpoint.MAIN_CHAIN;
+      chains.put(chain, BigDecimal.valueOf(view.balanceAfter(), Money.SCALE));
+    }
+    return chains.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+  }
+}
@@ -0,0 +1,275 @@
+package com.neuro_bank.module.ledger.service;
+
+import com.neuro_bank.common.enums.ReconciliationStatus;
+import com.neuro_bank.module.ledger.entity.LedgerDiscrepancy;
+import com.neuro_bank.module.ledger.entity.LedgerReconciliationRange;
+import com.neuro_bank.module.ledger.entity.LedgerReconciliationRun;
+import com.neuro_bank.module.ledger.repository.LedgerDiscrepancyRepository;
+import com.neuro_bank.module.ledger.repository.LedgerReconciliationRangeRepository;
+import com.neuro_bank.module.ledger.repository.LedgerReconciliationRunRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Doi soat balance voi ledger: moi range chay tren 1 worker cua ForkJoinPool, moi worker giu toi da 1 connection
+// -> parallelism phai <= hikari pool size. Range xu ly theo chunk account (keyset tren account id), sau moi chunk
+// ghi discrepancy + checkpoint trong cung 1 transaction nen resume khong bo sot va khong ghi trung.
+@Component
+@Slf4j
+public class LedgerReconciliationProcessor {
+  private static final String ACCOUNTS_FROM_SQL = """
+      select id, balance from accounts
+      where id >= ? and (cast(? as uuid) is null or id < ?)
+      order by id limit ?
+      """;
+  private static final String ACCOUNTS_AFTER_SQL = """
+      select id, balance from accounts
+      where id > ? and (cast(? as uuid) is null or id < ?)
+      order by id limit ?
+      """;
+  private static final String SHARDS_SQL = """
+      select account_id, shard_index, balance from account_shards
+      where account_id between ? and ?
+      """;
+  // created_at, id: thu tu ghi entry cua 1 account, di theo idx_entry_account_created_at
+  private static final String ENTRIES_SQL = """
+      select account_id, shard_index, id, entry_type, amount, balance_before, balance_after
+      from transaction_entries
+      where account_id between ? and ?
+      order by account_id, created_at, id
+      """;
+  private static final int MAIN_CHAIN = -1;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate readTemplate;
+  private final TransactionTemplate writeTemplate;
+  private final LedgerReconciliationRunRepository runRepository;
+  private final LedgerReconciliationRangeRepository rangeRepository;
+  private final LedgerDiscrepancyRepository discrepancyRepository;
+  private final int parallelism;
+  private final int chunkSize;
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  public LedgerReconciliationProcessor(DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      LedgerReconciliationRunRepository runRepository,
+      LedgerReconciliationRangeRepository rangeRepository,
+      LedgerDiscrepancyRepository discrepancyRepository,
+      @Value("${app.ledger.reconciliation.parallelism}") int parallelism,
+      @Value("${app.ledger.reconciliation.chunk-size}") int chunkSize,
+      @Value("${app.ledger.reconciliation.fetch-size}") int fetchSize) {
+    // fetchSize + autocommit=false -> Postgres stream entry qua server-side cursor
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(fetchSize);
+    this.readTemplate = new TransactionTemplate(transactionManager);
+    this.readTemplate.setReadOnly(true);
+    // balance, shard va entry cua 1 chunk doc tren cung 1 snapshot
+    this.readTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    this.writeTemplate = new TransactionTemplate(transactionManager);
+    this.runRepository = runRepository;
+    this.rangeRepository = rangeRepository;
+    this.discrepancyRepository = discrepancyRepository;
+    this.parallelism = parallelism;
+    this.chunkSize = chunkSize;
+  }
+
+  public boolean isRunning() {
+    return running.get();
+  }
+
+  // chay cac range chua COMPLETED cua run; tra ve future hoan thanh khi run ket thuc
+  public CompletableFuture<Void> process(UUID runId) {
+    if (!running.compareAndSet(false, true)) {
+      throw new IllegalStateException("A ledger reconciliation is already running");
+    }
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      List<LedgerReconciliationRange> ranges = writeTemplate.execute(status -> {
+        LedgerReconciliationRun run = runRepository.findById(runId).orElseThrow();
+        run.setStatus(ReconciliationStatus.RUNNING);
+        run.setLastError(null);
+        run.setCompletedAt(null);
+        return rangeRepository.findByRunIdAndStatusNotOrderByRangeIndexAsc(runId, ReconciliationStatus.COMPLETED);
+      });
+      log.info("Ledger reconciliation run={} started, {} ranges pending", runId, ranges.size());
+      CompletableFuture<?>[] tasks = ranges.stream()
+          .map(range -> CompletableFuture.runAsync(() -> processRange(runId, range), pool))
+          .toArray(CompletableFuture[]::new);
+      return CompletableFuture.allOf(tasks).whenComplete((ignored, ex) -> {
+        pool.shutdown();
+        running.set(false);
+        finish(runId, ex);
+      });
+    } catch (RuntimeException ex) {
+      pool.shutdown();
+      running.set(false);
+      throw ex;
+    }
+  }
+
+  private void processRange(UUID runId, LedgerReconciliationRange range) {
+    UUID checkpoint = range.getCheckpointAccountId();
+    boolean done = false;
+    try {
+      while (!done) {
+        UUID after = checkpoint;
+        ChunkResult result = readTemplate.execute(status -> reconcileChunk(runId, range, after));
+        done = result.accountsChecked() < chunkSize;
+        ReconciliationStatus rangeStatus = done ? ReconciliationStatus.COMPLETED : ReconciliationStatus.RUNNING;
+        UUID next = result.lastAccountId() != null ? result.lastAccountId() : checkpoint;
+        writeTemplate.executeWithoutResult(status -> {
+          discrepancyRepository.saveAll(result.discrepancies());
+          rangeRepository.advance(range.getId(), next, result.accountsChecked(), result.discrepancies().size(),
+              rangeStatus);
+        });
+        checkpoint = next;
+      }
+    } catch (RuntimeException ex) {
+      UUID failedAt = checkpoint;
+      writeTemplate.executeWithoutResult(status ->
+          rangeRepository.advance(range.getId(), failedAt, 0, 0, ReconciliationStatus.FAILED));
+      log.error("Ledger reconciliation run={} range={} failed after account={}", runId, range.getRangeIndex(),
+          failedAt, ex);
+      throw ex;
+    }
+  }
+
+  private ChunkResult reconcileChunk(UUID runId, LedgerReconciliationRange range, UUID checkpoint) {
+    UUID upper = range.getUpperBound();
+    Map<UUID, BigDecimal> balances = new LinkedHashMap<>();
+    jdbcTemplate.query(checkpoint == null ? ACCOUNTS_FROM_SQL : ACCOUNTS_AFTER_SQL,
+        rs -> {
+          balances.put(rs.getObject(1, UUID.class), rs.getBigDecimal(2));
+        },
+        checkpoint == null ? range.getLowerBound() : checkpoint, upper, upper, chunkSize);
+    if (balances.isEmpty()) {
+      return new ChunkResult(0, null, List.of());
+    }
+    UUID first = balances.keySet().iterator().next();
+    UUID last = null;
+    for (UUID id : balances.keySet()) {
+      last = id;
+    }
+
+    Map<UUID, Map<Integer, BigDecimal>> shardBalances = new HashMap<>();
+    jdbcTemplate.query(SHARDS_SQL, rs -> {
+      shardBalances.computeIfAbsent(rs.getObject(1, UUID.class), k -> new HashMap<>())
+          .put(rs.getInt(2), rs.getBigDecimal(3));
+    }, first, last);
+
+    // chi giu trang thai chain (vai BigDecimal / account / shard), khong giu entry
+    LedgerReconciliationRun run = runRepository.getReferenceById(runId);
+    List<LedgerDiscrepancy> discrepancies = new ArrayList<>();
+    Map<UUID, Map<Integer, Chain>> chains = new HashMap<>();
+    jdbcTemplate.query(ENTRIES_SQL, rs -> {
+      UUID accountId = rs.getObject(1, UUID.class);
+      int shard = rs.getObject(2) == null ? MAIN_CHAIN : rs.getInt(2);
+      Chain chain = chains.computeIfAbsent(accountId, k -> new HashMap<>()).computeIfAbsent(shard, k -> new Chain());
+      UUID entryId = rs.getObject(3, UUID.class);
+      BigDecimal amount = rs.getBigDecimal(5);
+      BigDecimal signed = "DEBIT".equals(rs.getString(4)) ? amount.negate() : amount;
+      BigDecimal before = rs.getBigDecimal(6);
+      BigDecimal after = rs.getBigDecimal(7);
+      if (!chain.chainBroken && chain.lastAfter.compareTo(before) != 0) {
+        // chi bao entry dau tien lam dut chain, cac entry sau lech theo
+        chain.chainBroken = true;
+        discrepancies.add(discrepancy(run, accountId, shard, "CHAIN_BREAK", chain.lastAfter, before, entryId));
+      }
+      if (!chain.arithmeticBroken && before.add(signed).compareTo(after) != 0) {
+        chain.arithmeticBroken = true;
+        discrepancies.add(discrepancy(run, accountId, shard, "ENTRY_ARITHMETIC", before.add(signed), after,
+            entryId));
+      }
+      chain.sum = chain.sum.add(signed);
+      chain.lastAfter = after;
+    }, first, last);
+
+    for (Map.Entry<UUID, BigDecimal> account : balances.entrySet()) {
+      UUID accountId = account.getKey();
+      Map<Integer, Chain> accountChains = chains.getOrDefault(accountId, Map.of());
+      Map<Integer, BigDecimal> balanceByChain = new HashMap<>(shardBalances.getOrDefault(accountId, Map.of()));
+      balanceByChain.put(MAIN_CHAIN, account.getValue());
+      for (Map.Entry<Integer, BigDecimal> stored : balanceByChain.entrySet()) {
+        Chain chain = accountChains.getOrDefault(stored.getKey(), Chain.EMPTY);
+        BigDecimal balance = stored.getValue();
+        if (chain.sum.compareTo(balance) != 0) {
+          discrepancies.add(discrepancy(run, accountId, stored.getKey(), "BALANCE_MISMATCH", chain.sum, balance,
+              null));
+        } else if (chain.lastAfter.compareTo(balance) != 0) {
+          discrepancies.add(discrepancy(run, accountId, stored.getKey(), "LAST_ENTRY_MISMATCH", chain.lastAfter,
+              balance, null));
+        }
+      }
+      // entry tren shard khong con ton tai
+      for (Map.Entry<Integer, Chain> chain : accountChains.entrySet()) {
+        if (!balanceByChain.containsKey(chain.getKey()) && chain.getValue().sum.signum() != 0) {
+          discrepancies.add(discrepancy(run, accountId, chain.getKey(), "BALANCE_MISMATCH", chain.getValue().sum,
+              BigDecimal.ZERO, null));
+        }
+      }
+    }
+    return new ChunkResult(balances.size(), last, discrepancies);
+  }
+
+  private void finish(UUID runId, Throwable ex) {
+    writeTemplate.executeWithoutResult(status -> {
+      LedgerReconciliationRun run = runRepository.findById(runId).orElseThrow();
+      long completed = rangeRepository.countByRunIdAndStatus(runId, ReconciliationStatus.COMPLETED);
+      run.setAccountsChecked(rangeRepository.sumAccountsChecked(runId));
+      run.setDiscrepancyCount(rangeRepository.sumDiscrepancies(runId));
+      if (ex == null && completed == run.getRangeCount()) {
+        run.setStatus(ReconciliationStatus.COMPLETED);
+        run.setCompletedAt(LocalDateTime.now());
+      } else {
+        run.setStatus(ReconciliationStatus.FAILED);
+        Throwable cause = ex != null && ex.getCause() != null ? ex.getCause() : ex;
+        String message = cause != null ? cause.toString() : "Some ranges did not complete";
+        run.setLastError(message.length() > 255 ? message.substring(0, 255) : message);
+      }
+    });
+    log.info("Ledger reconciliation run={} finished", runId);
+  }
+
+  private static LedgerDiscrepancy discrepancy(LedgerReconciliationRun run, UUID accountId, int shard, String type,
+                                               BigDecimal expected, BigDecimal actual, UUID entryId) {
+    LedgerDiscrepancy discrepancy = new LedgerDiscrepancy();
+    discrepancy.setRun(run);
+    discrepancy.setAccountId(accountId);
+    discrepancy.setShardIndex(shard == MAIN_CHAIN ? null : shard);
+    discrepancy.setType(type);
+    discrepancy.setExpected(expected);
+    discrepancy.setActual(actual);
+    discrepancy.setEntryId(entryId);
+    return discrepancy;
+  }
+
+  // chain bat dau tu 0: account/shard moi tao chua co entry nao
+  private static final class Chain {
+    static final Chain EMPTY = new Chain();
+
+    BigDecimal sum = BigDecimal.ZERO;
+    BigDecimal lastAfter = BigDecimal.ZERO;
+    boolean chainBroken;
+    boolean arithmeticBroken;
+  }
+
+  private record ChunkResult(int accountsChecked, UUID lastAccountId, List<LedgerDiscrepancy> discrepancies) {
+  }
+}
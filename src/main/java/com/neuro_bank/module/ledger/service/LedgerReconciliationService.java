@@ -0,0 +1,13 @@
+package com.neuro_bank.module.ledger.service;
+
+import com.neuro_bank.module.ledger.dto.response.LedgerReconciliationResponse;
+
+import java.util.UUID;
+
+public interface LedgerReconciliationService {
+  LedgerReconciliationResponse start();
+
+  LedgerReconciliationResponse resume(UUID runId);
+
+  LedgerReconciliationResponse getRun(UUID runId, int page, int size);
+}
@@ -0,0 +1,107 @@
+package com.neuro_bank.module.ledger.service;
+
+import com.neuro_bank.common.enums.ReconciliationStatus;
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.common.util.UuidRanges;
+import com.neuro_bank.module.ledger.dto.response.LedgerDiscrepancyResponse;
+import com.neuro_bank.module.ledger.dto.response.LedgerReconciliationResponse;
+import com.neuro_bank.module.ledger.entity.LedgerDiscrepancy;
+import com.neuro_bank.module.ledger.entity.LedgerReconciliationRange;
+import com.neuro_bank.module.ledger.entity.LedgerReconciliationRun;
+import com.neuro_bank.module.ledger.repository.LedgerDiscrepancyRepository;
+import com.neuro_bank.module.ledger.repository.LedgerReconciliationRangeRepository;
+import com.neuro_bank.module.ledger.repository.LedgerReconciliationRunRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class LedgerReconciliationServiceImpl implements LedgerReconciliationService {
+  private final LedgerReconciliationRunRepository runRepository;
+  private final LedgerReconciliationRangeRepository rangeRepository;
+  private final LedgerDiscrepancyRepository discrepancyRepository;
+  private final LedgerReconciliationProcessor processor;
+
+  @Value("${app.ledger.reconciliation.ranges}")
+  private int rangeCount;
+
+  @Override
+  @Transactional
+  public LedgerReconciliationResponse start() {
+    ensureIdle();
+    LedgerReconciliationRun run = new LedgerReconciliationRun();
+    run.setStatus(ReconciliationStatus.PENDING);
+    run.setRangeCount(rangeCount);
+    runRepository.save(run);
+
+    List<UuidRanges.Range> bounds = UuidRanges.split(rangeCount);
+    List<LedgerReconciliationRange> ranges = new ArrayList<>(bounds.size());
+    for (int i = 0; i < bounds.size(); i++) {
+      LedgerReconciliationRange range = new LedgerReconciliationRange();
+      range.setRun(run);
+      range.setRangeIndex(i);
+      range.setLowerBound(bounds.get(i).lower());
+      range.setUpperBound(bounds.get(i).upper());
+      range.setStatus(ReconciliationStatus.PENDING);
+      ranges.add(range);
+    }
+    rangeRepository.saveAll(ranges);
+    afterCommit(run.getId());
+    return LedgerReconciliationResponse.from(run);
+  }
+
+  // chay tiep tu checkpoint cua cac range chua xong, range da COMPLETED bo qua
+  @Override
+  @Transactional
+  public LedgerReconciliationResponse resume(UUID runId) {
+    LedgerReconciliationRun run = runRepository.findById(runId)
+        .orElseThrow(() -> BusinessException.notFound("Reconciliation run"));
+    if (run.getStatus() == ReconciliationStatus.COMPLETED) {
+      throw BusinessException.conflict("Reconciliation run is already completed");
+    }
+    ensureIdle();
+    afterCommit(runId);
+    return LedgerReconciliationResponse.from(run);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public LedgerReconciliationResponse getRun(UUID runId, int page, int size) {
+    LedgerReconciliationRun run = runRepository.findById(runId)
+        .orElseThrow(() -> BusinessException.notFound("Reconciliation run"));
+    Page<LedgerDiscrepancy> discrepancies = discrepancyRepository.findByRunIdOrderByAccountIdAsc(runId,
+        PageRequest.of(page, Math.min(size, 1000)));
+    LedgerReconciliationResponse response = LedgerReconciliationResponse.from(run);
+    response.setDiscrepancies(discrepancies.map(LedgerDiscrepancyResponse::from).getContent());
+    response.setPage(discrepancies.getNumber());
+    response.setSize(discrepancies.getSize());
+    response.setHasNext(discrepancies.hasNext());
+    return response;
+  }
+
+  private void ensureIdle() {
+    if (processor.isRunning()) {
+      throw BusinessException.conflict("A ledger reconciliation is already running");
+    }
+  }
+
+  // processor doc run/range bang transaction rieng -> chi chay sau khi commit
+  private void afterCommit(UUID runId) {
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        processor.process(runId);
+      }
+    });
+  }
+}
@@ -0,0 +1,39 @@
+package com.neuro_bank.module.transaction.controller;
+
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.common.response.ApiResponse;
+import com.neuro_bank.module.transaction.service.FraudHistoryStore;
+import com.neuro_bank.module.transaction.service.FraudRuleEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin/fraud")
+@RequiredArgsConstructor
+public class AdminFraudController {
+  private final FraudRuleEngine fraudRuleEngine;
+  private final FraudHistoryStore fraudHistoryStore;
+
+  // doc lai file rule va compile lai, rule cu giu nguyen neu file loi
+  @PostMapping("/rules/reload")
+  public ResponseEntity<ApiResponse<Map<String, Integer>>> reloadRules() {
+    return ResponseEntity.ok(ApiResponse.success("Fraud rules reloaded", Map.of("rules", fraudRuleEngine.reload())));
+  }
+
+  // nap lai feature store tu ledger, chay nen; theo doi qua log
+  @PostMapping("/features/rebuild")
+  public ResponseEntity<ApiResponse<Void>> rebuildFeatures() {
+    try {
+      fraudHistoryStore.rebuild();
+    } catch (IllegalStateException ex) {
+      throw BusinessException.conflict(ex.getMessage());
+    }
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("Fraud feature rebuild started", null));
+  }
+}
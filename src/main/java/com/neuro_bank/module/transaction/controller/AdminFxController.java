@@ -0,0 +1,24 @@
+package com.neuro_bank.module.transaction.controller;
+
+import com.neuro_bank.common.response.ApiResponse;
+import com.neuro_bank.module.transaction.service.FxRateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin/fx")
+@RequiredArgsConstructor
+public class AdminFxController {
+  private final FxRateService fxRateService;
+
+  // doc lai file ty gia ngay tren node nay, khong doi lan refresh; file loi thi giu bang cu
+  @PostMapping("/rates/reload")
+  public ResponseEntity<ApiResponse<Map<String, Integer>>> reloadRates() {
+    return ResponseEntity.ok(ApiResponse.success("FX rates reloaded", Map.of("pairs", fxRateService.reload())));
+  }
+}
@@ -0,0 +1,61 @@
+package com.neuro_bank.module.transaction.controller;
+
+import com.neuro_bank.common.response.ApiResponse;
+import com.neuro_bank.module.transaction.dto.request.CaptureHoldRequest;
+import com.neuro_bank.module.transaction.dto.request.CreateHoldRequest;
+import com.neuro_bank.module.transaction.dto.response.HoldResponse;
+import com.neuro_bank.module.transaction.service.HoldService;
+import com.neuro_bank.security.UserPrincipal;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/holds")
+@RequiredArgsConstructor
+public class HoldController {
+  private final HoldService holdService;
+
+  // authorize: giu tien tren availableBalance, chua ghi ledger
+  @PostMapping
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<ApiResponse<HoldResponse>> create(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+      @Valid @RequestBody CreateHoldRequest request) {
+    return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Funds held",
+        holdService.createHold(principal.getId(), request, idempotencyKey)));
+  }
+
+  @PostMapping("/{holdId}/capture")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<ApiResponse<HoldResponse>> capture(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @PathVariable UUID holdId,
+      @Valid @RequestBody(required = false) CaptureHoldRequest request) {
+    return ResponseEntity.ok(ApiResponse.success("Hold captured", holdService.capture(principal.getId(), holdId,
+        request != null ? request : new CaptureHoldRequest())));
+  }
+
+  @PostMapping("/{holdId}/release")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<ApiResponse<HoldResponse>> release(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @PathVariable UUID holdId) {
+    return ResponseEntity.ok(ApiResponse.success("Hold released", holdService.release(principal.getId(), holdId)));
+  }
+
+  @GetMapping("/{holdId}")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<ApiResponse<HoldResponse>> get(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @PathVariable UUID holdId) {
+    return ResponseEntity.ok(ApiResponse.success(holdService.getHold(principal.getId(), holdId)));
+  }
+}
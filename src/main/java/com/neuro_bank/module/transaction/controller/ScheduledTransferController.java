@@ -0,0 +1,51 @@
+package com.neuro_bank.module.transaction.controller;
+
+import com.neuro_bank.common.response.ApiResponse;
+import com.neuro_bank.module.transaction.dto.request.CreateScheduledTransferRequest;
+import com.neuro_bank.module.transaction.dto.response.ScheduledTransferResponse;
+import com.neuro_bank.module.transaction.service.ScheduledTransferService;
+import com.neuro_bank.security.UserPrincipal;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/scheduled-transfers")
+@RequiredArgsConstructor
+public class ScheduledTransferController {
+  private final ScheduledTransferService scheduledTransferService;
+
+  @PostMapping
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<ApiResponse<ScheduledTransferResponse>> create(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @Valid @RequestBody CreateScheduledTransferRequest request) {
+    return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Transfer scheduled",
+        scheduledTransferService.create(principal.getId(), request)));
+  }
+
+  @GetMapping
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<ApiResponse<List<ScheduledTransferResponse>>> list(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "20") int size) {
+    return ResponseEntity.ok(ApiResponse.success(scheduledTransferService.listMine(principal.getId(), page, size)));
+  }
+
+  @DeleteMapping("/{scheduledTransferId}")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<ApiResponse<ScheduledTransferResponse>> cancel(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @PathVariable UUID scheduledTransferId) {
+    return ResponseEntity.ok(ApiResponse.success("Scheduled transfer cancelled",
+        scheduledTransferService.cancel(principal.getId(), scheduledTransferId)));
+  }
+}
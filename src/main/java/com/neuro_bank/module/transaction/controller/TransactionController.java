@@ -0,0 +1,116 @@
+package com.neuro_bank.module.transaction.controller;
+
+import com.neuro_bank.common.enums.TransactionStatus;
+import com.neuro_bank.common.enums.TransactionType;
+import com.neuro_bank.common.response.ApiResponse;
+import com.neuro_bank.module.transaction.dto.request.BulkTransferRequest;
+import com.neuro_bank.module.transaction.dto.request.CreateTransferRequest;
+import com.neuro_bank.module.transaction.dto.request.QueryTransactionRequest;
+import com.neuro_bank.module.transaction.dto.response.BulkTransferJobResponse;
+import com.neuro_bank.module.transaction.dto.response.PagedTransactionResponse;
+import com.neuro_bank.module.transaction.dto.response.TransactionDetailResponse;
+import com.neuro_bank.module.transaction.dto.response.TransactionResponse;
+import com.neuro_bank.module.transaction.service.BulkTransferService;
+import com.neuro_bank.module.transaction.service.TransactionService;
+import com.neuro_bank.security.UserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/transactions")
+@RequiredArgsConstructor
+public class TransactionController {
+  private final TransactionService transactionService;
+  private final BulkTransferService bulkTransferService;
+
+  @PostMapping("/transfer")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<ApiResponse<TransactionResponse>> transfer(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+      @Valid @RequestBody CreateTransferRequest request,
+      HttpServletRequest httpServletRequest) {
+    TransactionResponse response = transactionService.createTransfer(principal.getId(), request, idempotencyKey,
+        getClientIp(httpServletRequest));
+    return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Transfer completed", response));
+  }
+
+  @GetMapping
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<ApiResponse<PagedTransactionResponse>> search(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @RequestParam(required = false) TransactionStatus status,
+      @RequestParam(required = false) TransactionType type,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "20") int size) {
+    QueryTransactionRequest request = QueryTransactionRequest.builder()
+        .status(status).type(type).fromDate(fromDate).toDate(toDate).page(page).size(size)
+        .build();
+    return ResponseEntity.ok(ApiResponse.success(transactionService.searchMyTransactions(principal.getId(), request)));
+  }
+
+  // keyset pagination: latency khong doi theo do sau trang, dung cho infinite scroll
+  @GetMapping("/scroll")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<ApiResponse<PagedTransactionResponse>> scroll(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @RequestParam(required = false) TransactionStatus status,
+      @RequestParam(required = false) TransactionType type,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size) {
+    QueryTransactionRequest request = QueryTransactionRequest.builder()
+        .status(status).type(type).fromDate(fromDate).toDate(toDate).cursor(cursor).size(size)
+        .build();
+    return ResponseEntity.ok(ApiResponse.success(transactionService.scrollMyTransactions(principal.getId(), request)));
+  }
+
+  @GetMapping("/{referenceNo}")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<ApiResponse<TransactionDetailResponse>> detail(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @PathVariable String referenceNo) {
+    return ResponseEntity.ok(ApiResponse.success(transactionService.getMyTransaction(principal.getId(), referenceNo)));
+  }
+
+  @PostMapping("/bulk")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<ApiResponse<BulkTransferJobResponse>> bulkTransfer(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+      @Valid @RequestBody BulkTransferRequest request) {
+    BulkTransferJobResponse response = bulkTransferService.createBulkTransfer(principal.getId(), request,
+        idempotencyKey);
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("Bulk transfer accepted", response));
+  }
+
+  @GetMapping("/bulk/{jobId}")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<ApiResponse<BulkTransferJobResponse>> getBulkTransfer(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @PathVariable UUID jobId,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "100") int size) {
+    return ResponseEntity.ok(ApiResponse.success(bulkTransferService.getJob(principal.getId(), jobId, page, size)));
+  }
+
+  private String getClientIp(HttpServletRequest request) {
+    String forwarded = request.getHeader("X-Forwarded-For");
+    if (forwarded != null && !forwarded.isBlank())
+      return forwarded.split(",")[0].trim();
+    return request.getRemoteAddr();
+  }
+}
@@ -0,0 +1,7 @@
+package com.neuro_bank.module.transaction.dto.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record AccountAmountView(UUID accountId, BigDecimal amount) {
+}
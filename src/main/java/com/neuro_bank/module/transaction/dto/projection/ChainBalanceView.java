@@ -0,0 +1,5 @@
+package com.neuro_bank.module.transaction.dto.projection;
+
+// shardIndex null = dong account chinh; balanceAfter la don vi nho (Money.SCALE)
+public record ChainBalanceView(Integer shardIndex, Long balanceAfter) {
+}
@@ -0,0 +1,7 @@
+package com.neuro_bank.module.transaction.dto.projection;
+
+import java.util.UUID;
+
+// doc id account cua hold ma khong nap entity, de hold chi vao persistence context qua query lock
+public record HoldAccountsView(UUID accountId, UUID toAccountId, UUID ownerId) {
+}
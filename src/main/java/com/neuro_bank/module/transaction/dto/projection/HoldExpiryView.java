@@ -0,0 +1,7 @@
+package com.neuro_bank.module.transaction.dto.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record HoldExpiryView(UUID id, LocalDateTime expiresAt) {
+}
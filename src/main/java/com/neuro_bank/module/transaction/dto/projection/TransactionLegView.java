@@ -0,0 +1,13 @@
+package com.neuro_bank.module.transaction.dto.projection;
+
+import com.neuro_bank.common.enums.EntryType;
+
+import java.util.UUID;
+
+// account from/to cua transaction, lay bang 1 query cho ca trang
+public record TransactionLegView(
+    UUID transactionId,
+    EntryType entryType,
+    UUID accountId,
+    String accountNumber) {
+}
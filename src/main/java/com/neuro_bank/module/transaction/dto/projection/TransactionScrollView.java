@@ -0,0 +1,30 @@
+package com.neuro_bank.module.transaction.dto.projection;
+
+import com.neuro_bank.common.enums.Currency;
+import com.neuro_bank.common.enums.TransactionStatus;
+import com.neuro_bank.common.enums.TransactionType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// 1 dong cua scroll: khoa keyset la entry cua user (entryCreatedAt, entryId), con lai la transaction
+public record TransactionScrollView(
+    LocalDateTime entryCreatedAt,
+    UUID entryId,
+    UUID id,
+    String referenceNo,
+    TransactionType type,
+    TransactionStatus status,
+    // don vi nho (Money.SCALE), cot da qua MinorUnitsConverter
+    Long amount,
+    Long fee,
+    Currency currency,
+    String description,
+    LocalDateTime completedAt,
+    LocalDateTime createdAt) {
+
+  public TransactionSummaryView summary() {
+    return new TransactionSummaryView(id, referenceNo, type, status, amount, fee, currency, description,
+        completedAt, createdAt);
+  }
+}
@@ -0,0 +1,23 @@
+package com.neuro_bank.module.transaction.dto.projection;
+
+import com.neuro_bank.common.enums.Currency;
+import com.neuro_bank.common.enums.TransactionStatus;
+import com.neuro_bank.common.enums.TransactionType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// 1 dong transactions cho list/search, doc thang tu query - khong hydrate entity
+public record TransactionSummaryView(
+    UUID id,
+    String referenceNo,
+    TransactionType type,
+    TransactionStatus status,
+    // don vi nho (Money.SCALE), cot da qua MinorUnitsConverter
+    Long amount,
+    Long fee,
+    Currency currency,
+    String description,
+    LocalDateTime completedAt,
+    LocalDateTime createdAt) {
+}
@@ -0,0 +1,24 @@
+package com.neuro_bank.module.transaction.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransferRequest {
+  // tat ca item phai cung fromAccountId
+  @NotEmpty(message = "items is required")
+  @Size(max = 100000, message = "max 100000 items per bulk transfer")
+  private List<@Valid CreateTransferRequest> items;
+}
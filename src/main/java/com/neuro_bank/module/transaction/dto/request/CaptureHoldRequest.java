@@ -0,0 +1,23 @@
+package com.neuro_bank.module.transaction.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaptureHoldRequest {
+  // null = capture toan bo; nho hon so tien giu -> phan con lai duoc tra lai availableBalance
+  @DecimalMin(value = "0.01", message = "amount must be greater than 0")
+  @Digits(integer = 14, fraction = 4, message = "amount supports at most 14 integer and 4 decimal digits")
+  private BigDecimal amount;
+}
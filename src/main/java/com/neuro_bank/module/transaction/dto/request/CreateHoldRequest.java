@@ -0,0 +1,40 @@
+package com.neuro_bank.module.transaction.dto.request;
+
+import com.neuro_bank.common.enums.Currency;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateHoldRequest {
+  @NotNull(message = "fromAccountId is required")
+  private UUID fromAccountId;
+  // account nhan tien khi capture (merchant)
+  @NotNull(message = "toAccountId is required")
+  private UUID toAccountId;
+  @NotNull(message = "amount is required")
+  @DecimalMin(value = "0.01", message = "amount must be greater than 0")
+  @Digits(integer = 14, fraction = 4, message = "amount supports at most 14 integer and 4 decimal digits")
+  private BigDecimal amount;
+  @NotNull(message = "currency is required")
+  private Currency currency;
+  @Size(max = 255, message = "description max length is 255")
+  private String description;
+  // null = app.transaction.hold.default-ttl-minutes
+  @Min(value = 1, message = "ttlSeconds must be greater than 0")
+  private Long ttlSeconds;
+}
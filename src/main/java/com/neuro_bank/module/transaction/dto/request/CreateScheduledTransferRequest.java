@@ -0,0 +1,46 @@
+package com.neuro_bank.module.transaction.dto.request;
+
+import com.neuro_bank.common.enums.Currency;
+import com.neuro_bank.common.enums.ScheduleFrequency;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateScheduledTransferRequest {
+  @NotNull(message = "fromAccountId is required")
+  private UUID fromAccountId;
+  @NotNull(message = "toAccountId is required")
+  private UUID toAccountId;
+  @NotNull(message = "amount is required")
+  @DecimalMin(value = "0.01", message = "amount must be greater than 0")
+  @Digits(integer = 14, fraction = 4, message = "amount supports at most 14 integer and 4 decimal digits")
+  private BigDecimal amount;
+  @NotNull(message = "currency is required")
+  private Currency currency;
+  @Size(max = 255, message = "description max length is 255")
+  private String description;
+  @NotNull(message = "frequency is required")
+  private ScheduleFrequency frequency;
+  // lam tron xuong theo phut
+  @NotNull(message = "firstRunAt is required")
+  @Future(message = "firstRunAt must be in the future")
+  private LocalDateTime firstRunAt;
+  // null = chay toi khi huy
+  private LocalDateTime endAt;
+}
@@ -1,20 +1,25 @@
 package com.neuro_bank.module.transaction.dto.request;
 
 
+import com.neuro_bank.common.enums.Currency;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
-import java.util.Currency;
 import java.util.UUID;
 
 @Getter
 @Setter
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class CreateTransferRequest {
   @NotNull(message = "fromAccountId is required")
   private UUID fromAccountId;
@@ -22,6 +27,7 @@ public class CreateTransferRequest {
   private UUID toAccountId;
   @NotNull(message = "amount is required")
   @DecimalMin(value = "0.01", message = "amount must be greater than 0")
+  @Digits(integer = 14, fraction = 4, message = "amount supports at most 14 integer and 4 decimal digits")
   private BigDecimal amount;
   @NotNull(message = "currency is required")
   private Currency currency;
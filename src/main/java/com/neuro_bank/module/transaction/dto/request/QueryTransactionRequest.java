@@ -21,4 +21,6 @@ public class QueryTransactionRequest {
   private int page = 0;
   @Builder.Default
   private int size = 20;
+  // opaque cursor tu nextCursor cua trang truoc (keyset pagination)
+  private String cursor;
 }
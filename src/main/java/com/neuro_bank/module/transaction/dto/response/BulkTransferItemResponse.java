@@ -0,0 +1,33 @@
+package com.neuro_bank.module.transaction.dto.response;
+
+import com.neuro_bank.common.enums.BulkTransferItemStatus;
+import com.neuro_bank.module.transaction.entity.BulkTransferItem;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+public class BulkTransferItemResponse {
+  private int index;
+  private UUID toAccountId;
+  private BigDecimal amount;
+  private BulkTransferItemStatus status;
+  private String referenceNo;
+  private String errorMessage;
+
+  public static BulkTransferItemResponse from(BulkTransferItem item) {
+    return BulkTransferItemResponse.builder()
+        .index(item.getItemIndex())
+        .toAccountId(item.getToAccountId())
+        .amount(item.getAmount())
+        .status(item.getStatus())
+        .referenceNo(item.getReferenceNo())
+        .errorMessage(item.getErrorMessage())
+        .build();
+  }
+}
@@ -0,0 +1,46 @@
+package com.neuro_bank.module.transaction.dto.response;
+
+import com.neuro_bank.common.enums.BulkTransferStatus;
+import com.neuro_bank.common.enums.Currency;
+import com.neuro_bank.module.transaction.entity.BulkTransferJob;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+public class BulkTransferJobResponse {
+  private UUID jobId;
+  private UUID sourceAccountId;
+  private Currency currency;
+  private BulkTransferStatus status;
+  private int totalItems;
+  private int succeededItems;
+  private int failedItems;
+  private LocalDateTime createdAt;
+  private LocalDateTime completedAt;
+  private List<BulkTransferItemResponse> items;
+  private int page;
+  private int size;
+  private boolean hasNext;
+
+  public static BulkTransferJobResponse from(BulkTransferJob job) {
+    return BulkTransferJobResponse.builder()
+        .jobId(job.getId())
+        .sourceAccountId(job.getSourceAccount().getId())
+        .currency(job.getCurrency())
+        .status(job.getStatus())
+        .totalItems(job.getTotalItems())
+        .succeededItems(job.getSucceededItems())
+        .failedItems(job.getFailedItems())
+        .createdAt(job.getCreatedAt())
+        .completedAt(job.getCompletedAt())
+        .items(List.of())
+        .build();
+  }
+}
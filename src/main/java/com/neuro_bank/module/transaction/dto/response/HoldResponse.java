@@ -0,0 +1,43 @@
+package com.neuro_bank.module.transaction.dto.response;
+
+import com.neuro_bank.common.enums.Currency;
+import com.neuro_bank.common.enums.HoldStatus;
+import com.neuro_bank.module.transaction.entity.AccountHold;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Builder
+public class HoldResponse {
+  private UUID holdId;
+  private String referenceNo;
+  private UUID accountId;
+  private UUID toAccountId;
+  private BigDecimal amount;
+  private BigDecimal capturedAmount;
+  private Currency currency;
+  private HoldStatus status;
+  private LocalDateTime expiresAt;
+  private LocalDateTime createdAt;
+  private LocalDateTime closedAt;
+
+  public static HoldResponse from(AccountHold hold) {
+    return HoldResponse.builder()
+        .holdId(hold.getId())
+        .referenceNo(hold.getTransaction().getReferenceNo())
+        .accountId(hold.getAccount().getId())
+        .toAccountId(hold.getToAccount().getId())
+        .amount(hold.getAmount())
+        .capturedAmount(hold.getCapturedAmount())
+        .currency(hold.getTransaction().getCurrency())
+        .status(hold.getStatus())
+        .expiresAt(hold.getExpiresAt())
+        .createdAt(hold.getCreatedAt())
+        .closedAt(hold.getClosedAt())
+        .build();
+  }
+}
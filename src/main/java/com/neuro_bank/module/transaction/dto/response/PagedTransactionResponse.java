@@ -14,4 +14,6 @@ public class PagedTransactionResponse {
   private int page;
   private int size;
   private boolean hasNext;
+  // chi co o keyset pagination; null = het du lieu
+  private String nextCursor;
 }
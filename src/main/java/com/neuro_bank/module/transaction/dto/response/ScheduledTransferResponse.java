@@ -0,0 +1,50 @@
+package com.neuro_bank.module.transaction.dto.response;
+
+import com.neuro_bank.common.enums.Currency;
+import com.neuro_bank.common.enums.ScheduleFrequency;
+import com.neuro_bank.common.enums.ScheduledTransferStatus;
+import com.neuro_bank.module.transaction.entity.ScheduledTransfer;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Builder
+public class ScheduledTransferResponse {
+  private UUID id;
+  private UUID fromAccountId;
+  private UUID toAccountId;
+  private BigDecimal amount;
+  private Currency currency;
+  private String description;
+  private ScheduleFrequency frequency;
+  private ScheduledTransferStatus status;
+  private LocalDateTime firstRunAt;
+  private LocalDateTime nextRunAt;
+  private LocalDateTime endAt;
+  private LocalDateTime lastRunAt;
+  private int executedCount;
+  private String lastError;
+
+  public static ScheduledTransferResponse from(ScheduledTransfer instruction) {
+    return ScheduledTransferResponse.builder()
+        .id(instruction.getId())
+        .fromAccountId(instruction.getFromAccount().getId())
+        .toAccountId(instruction.getToAccount().getId())
+        .amount(instruction.getAmount())
+        .currency(instruction.getCurrency())
+        .description(instruction.getDescription())
+        .frequency(instruction.getFrequency())
+        .status(instruction.getStatus())
+        .firstRunAt(instruction.getFirstRunAt())
+        .nextRunAt(instruction.getNextRunAt())
+        .endAt(instruction.getEndAt())
+        .lastRunAt(instruction.getLastRunAt())
+        .executedCount(instruction.getExecutedCount())
+        .lastError(instruction.getLastError())
+        .build();
+  }
+}
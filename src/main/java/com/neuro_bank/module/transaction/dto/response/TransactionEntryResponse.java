@@ -1,6 +1,7 @@
 package com.neuro_bank.module.transaction.dto.response;
 
 import com.neuro_bank.common.enums.EntryType;
+import com.neuro_bank.common.util.Money;
 import com.neuro_bank.module.transaction.entity.TransactionEntry;
 import lombok.Builder;
 import lombok.Getter;
@@ -25,9 +26,9 @@ public class TransactionEntryResponse {
         .accountId(entry.getAccount().getId())
         .accountNumber(entry.getAccount().getAccountNumber())
         .entryType(entry.getEntryType())
-        .amount(entry.getAmount())
-        .balanceBefore(entry.getBalanceBefore())
-        .balanceAfter(entry.getBalanceAfter())
+        .amount(BigDecimal.valueOf(entry.getAmount(), Money.SCALE))
+        .balanceBefore(BigDecimal.valueOf(entry.getBalanceBefore(), Money.SCALE))
+        .balanceAfter(BigDecimal.valueOf(entry.getBalanceAfter(), Money.SCALE))
         .build();
   }
 }
@@ -4,19 +4,27 @@ import com.neuro_bank.common.enums.Currency;
 import com.neuro_bank.common.enums.EntryType;
 import com.neuro_bank.common.enums.TransactionStatus;
 import com.neuro_bank.common.enums.TransactionType;
+import com.neuro_bank.common.util.Money;
+import com.neuro_bank.module.transaction.dto.projection.TransactionLegView;
+import com.neuro_bank.module.transaction.dto.projection.TransactionSummaryView;
 import com.neuro_bank.module.transaction.entity.Transaction;
 import com.neuro_bank.module.transaction.entity.TransactionEntry;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Getter
 @Setter
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class TransactionResponse {
   private UUID id;
   private String referenceNo;
@@ -43,8 +51,8 @@ public class TransactionResponse {
         .referenceNo(transaction.getReferenceNo())
         .type(transaction.getType())
         .status(transaction.getStatus())
-        .amount(transaction.getAmount())
-        .fee(transaction.getFee())
+        .amount(transaction.amountMoney().toBigDecimal())
+        .fee(transaction.feeMoney().toBigDecimal())
         .totalAmount(transaction.getTotalAmount())
         .currency(transaction.getCurrency())
         .description(transaction.getDescription())
@@ -57,6 +65,39 @@ public class TransactionResponse {
         .build();
   }
 
+  public static TransactionResponse from(TransactionSummaryView view, List<TransactionLegView> legs) {
+    TransactionLegView debit = findFirstLeg(legs, EntryType.DEBIT);
+    TransactionLegView credit = findFirstLeg(legs, EntryType.CREDIT);
+    Money amount = new Money(view.amount(), view.currency());
+    // fee null: dong cu truoc khi cot luon duoc ghi
+    Money fee = view.fee() == null ? Money.zero(view.currency()) : new Money(view.fee(), view.currency());
+
+    return TransactionResponse.builder()
+        .id(view.id())
+        .referenceNo(view.referenceNo())
+        .type(view.type())
+        .status(view.status())
+        .amount(amount.toBigDecimal())
+        .fee(fee.toBigDecimal())
+        .totalAmount(amount.plus(fee).toBigDecimal())
+        .currency(view.currency())
+        .description(view.description())
+        .fromAccountId(debit != null ? debit.accountId() : null)
+        .fromAccountNumber(debit != null ? debit.accountNumber() : null)
+        .toAccountId(credit != null ? credit.accountId() : null)
+        .toAccountNumber(credit != null ? credit.accountNumber() : null)
+        .completedAt(view.completedAt())
+        .createdAt(view.createdAt())
+        .build();
+  }
+
+  private static TransactionLegView findFirstLeg(List<TransactionLegView> legs, EntryType entryType) {
+    return legs.stream()
+        .filter(leg -> leg.entryType() == entryType)
+        .findFirst()
+        .orElse(null);
+  }
+
   private static TransactionEntry findFirstEntry(Transaction transaction, EntryType entryType) {
     if (transaction.getEntries() == null || transaction.getEntries().isEmpty()) {
       return null;
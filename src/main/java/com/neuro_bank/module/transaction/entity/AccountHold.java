@@ -0,0 +1,60 @@
+package com.neuro_bank.module.transaction.entity;
+
+import com.neuro_bank.common.entity.BaseEntity;
+import com.neuro_bank.common.enums.HoldStatus;
+import com.neuro_bank.module.account.entity.Account;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Tien bi giu (authorize) tren account: availableBalance da tru, balance chua doi cho toi khi capture.
+// idx_hold_status_expires la index het han ben vung: khoi dong lai nap lai timing wheel tu day.
+@Entity
+@Table(name = "account_holds", indexes = {
+    @Index(name = "idx_hold_status_expires", columnList = "status, expires_at"),
+    @Index(name = "idx_hold_account", columnList = "account_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AccountHold extends BaseEntity {
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "account_id", nullable = false)
+  Account account;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "to_account_id", nullable = false)
+  Account toAccount;
+
+  // transaction RESERVED tao cung hold, capture -> COMPLETED, release/het han -> CANCELLED
+  @OneToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "transaction_id", nullable = false, unique = true)
+  Transaction transaction;
+
+  @Column(nullable = false, precision = 19, scale = 4)
+  BigDecimal amount;
+
+  @Column(precision = 19, scale = 4)
+  BigDecimal capturedAmount;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  HoldStatus status;
+
+  @Column(nullable = false)
+  LocalDateTime expiresAt;
+
+  LocalDateTime closedAt;
+
+  // hash body cua request tao hold, so khi replay theo Idempotency-Key
+  @Column(length = 64)
+  String requestHash;
+}
@@ -0,0 +1,53 @@
+package com.neuro_bank.module.transaction.entity;
+
+import com.neuro_bank.common.entity.BaseEntity;
+import com.neuro_bank.common.enums.BulkTransferItemStatus;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Entity
+@Table(name = "bulk_transfer_items", indexes = {
+    @Index(name = "idx_bulk_item_job_index", columnList = "job_id, item_index", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BulkTransferItem extends BaseEntity {
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "job_id", nullable = false)
+  BulkTransferJob job;
+
+  @Column(nullable = false)
+  int itemIndex;
+
+  // chi luu id de khong phai load account khi tao job
+  @Column(nullable = false)
+  UUID toAccountId;
+
+  @Column(nullable = false, precision = 19, scale = 4)
+  BigDecimal amount;
+
+  @Column(length = 255)
+  String description;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  BulkTransferItemStatus status = BulkTransferItemStatus.PENDING;
+
+  UUID transactionId;
+
+  @Column(length = 30)
+  String referenceNo;
+
+  @Column(length = 255)
+  String errorMessage;
+}
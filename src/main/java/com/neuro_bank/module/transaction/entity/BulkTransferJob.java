@@ -0,0 +1,61 @@
+package com.neuro_bank.module.transaction.entity;
+
+import com.neuro_bank.common.entity.BaseEntity;
+import com.neuro_bank.common.enums.BulkTransferStatus;
+import com.neuro_bank.common.enums.Currency;
+import com.neuro_bank.module.account.entity.Account;
+import com.neuro_bank.module.user.entity.User;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "bulk_transfer_jobs", indexes = {
+    @Index(name = "idx_bulk_job_user", columnList = "user_id"),
+    @Index(name = "idx_bulk_job_status_updated", columnList = "status, updated_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BulkTransferJob extends BaseEntity {
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_id", nullable = false)
+  User user;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "source_account_id", nullable = false)
+  Account sourceAccount;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 10)
+  Currency currency;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 30)
+  BulkTransferStatus status = BulkTransferStatus.PENDING;
+
+  @Column(nullable = false)
+  int totalItems;
+
+  @Column(nullable = false)
+  int succeededItems = 0;
+
+  @Column(nullable = false)
+  int failedItems = 0;
+
+  @Column(unique = true, length = 64)
+  String idempotencyKey;
+
+  // hash account nguon + danh sach item; replay theo idempotencyKey so lai de chan dung lai key voi bulk khac
+  @Column(length = 64)
+  String requestHash;
+
+  LocalDateTime completedAt;
+}
@@ -19,7 +19,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "outbox_events", indexes = {
-    @Index(name = "idx_outbox_processed", columnList = "processed, created_at")
+    @Index(name = "idx_outbox_processed", columnList = "processed, created_at"),
+    @Index(name = "idx_outbox_pending", columnList = "processed, next_attempt_at")
 })
 @Getter
 @Setter
@@ -48,4 +49,7 @@ public class OutboxEvent extends BaseEntity {
   int retryCount = 0;
 
   String lastError;
+
+  // thoi diem som nhat duoc claim lai (backoff sau moi lan loi)
+  LocalDateTime nextAttemptAt;
 }
@@ -0,0 +1,91 @@
+package com.neuro_bank.module.transaction.entity;
+
+import com.neuro_bank.common.entity.BaseEntity;
+import com.neuro_bank.common.enums.Currency;
+import com.neuro_bank.common.enums.ScheduleFrequency;
+import com.neuro_bank.common.enums.ScheduledTransferStatus;
+import com.neuro_bank.module.account.entity.Account;
+import com.neuro_bank.module.user.entity.User;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Lenh chuyen tien hen gio / dinh ky. nextBucket = phut (epoch minute) cua lan chay ke tiep:
+// worker claim theo bucket qua idx_sched_due, khong quet ca bang.
+@Entity
+@Table(name = "scheduled_transfers", indexes = {
+    @Index(name = "idx_sched_due", columnList = "status, next_bucket"),
+    @Index(name = "idx_sched_user", columnList = "user_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ScheduledTransfer extends BaseEntity {
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_id", nullable = false)
+  User user;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "from_account_id", nullable = false)
+  Account fromAccount;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "to_account_id", nullable = false)
+  Account toAccount;
+
+  @Column(nullable = false, precision = 19, scale = 4)
+  BigDecimal amount;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 10)
+  Currency currency;
+
+  @Column(length = 255)
+  String description;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 10)
+  ScheduleFrequency frequency;
+
+  // lan chay thu occurrence = firstRunAt + occurrence chu ky (MONTHLY giu ngay goc, thang ngan thi lui ve cuoi thang)
+  @Column(nullable = false)
+  LocalDateTime firstRunAt;
+
+  LocalDateTime endAt;
+
+  // so thu tu lan chay ke tiep, cung voi id tao idempotency key
+  @Column(nullable = false)
+  int occurrence = 0;
+
+  @Column(nullable = false)
+  LocalDateTime nextRunAt;
+
+  @Column(nullable = false)
+  long nextBucket;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  ScheduledTransferStatus status = ScheduledTransferStatus.ACTIVE;
+
+  // lease cua worker da claim; het han ma chua xong thi worker khac claim lai
+  LocalDateTime claimedUntil;
+
+  @Column(nullable = false)
+  int executedCount = 0;
+
+  @Column(nullable = false)
+  int consecutiveFailures = 0;
+
+  @Column(length = 255)
+  String lastError;
+
+  LocalDateTime lastRunAt;
+}
@@ -1,9 +1,11 @@
 package com.neuro_bank.module.transaction.entity;
 
+import com.neuro_bank.common.converter.MinorUnitsConverter;
 import com.neuro_bank.common.entity.BaseEntity;
 import com.neuro_bank.common.enums.Currency;
 import com.neuro_bank.common.enums.TransactionStatus;
 import com.neuro_bank.common.enums.TransactionType;
+import com.neuro_bank.common.util.Money;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
@@ -22,7 +24,8 @@ import java.util.Map;
 @Table(name = "transactions", indexes = {
     @Index(name = "idx_txn_reference", columnList = "reference_no", unique = true),
     @Index(name = "idx_txn_status", columnList = "status"),
-    @Index(name = "idx_txn_created_at", columnList = "created_at")
+    @Index(name = "idx_txn_created_at", columnList = "created_at"),
+    @Index(name = "idx_txn_created_at_id", columnList = "created_at, id")
 })
 @Getter
 @Setter
@@ -42,11 +45,16 @@ public class Transaction extends BaseEntity {
   @Column(nullable = false, length = 20)
   TransactionStatus status = TransactionStatus.PENDING;
 
+  // don vi nho (Money.SCALE) nhu Account.balance; doc/ghi qua amountMoney()/setAmount(Money)
   @Column(nullable = false, precision = 19, scale = 4)
-  BigDecimal amount;
+  @Convert(converter = MinorUnitsConverter.class)
+  long amount;
 
+  // nullable: dong cu co the chua ghi fee
   @Column(precision = 19, scale = 4)
-  BigDecimal fee = BigDecimal.ZERO;
+  @Convert(converter = MinorUnitsConverter.class)
+  @Builder.Default
+  Long fee = 0L;
 
   @Enumerated(EnumType.STRING)
   @Column(nullable = false, length = 10)
@@ -59,6 +67,10 @@ public class Transaction extends BaseEntity {
   @Column(unique = true, length = 64)
   String idempotencyKey;
 
+  // hash body cua request dung idempotencyKey; replay tu DB so lai de chan dung lai key voi request khac
+  @Column(length = 64)
+  String requestHash;
+
   LocalDateTime completedAt;
   LocalDateTime reversedAt;
 
@@ -72,14 +84,38 @@ public class Transaction extends BaseEntity {
   @JdbcTypeCode(SqlTypes.JSON)
   Map<String, Object> metadata = new HashMap<>();
 
-  // Double-entry entries
-  @OneToMany(mappedBy = "transaction", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+  // Double-entry entries; chi fetch khi can (findWithEntriesByReferenceNo, findByIdempotencyKey)
+  @OneToMany(mappedBy = "transaction", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
   List<TransactionEntry> entries = new ArrayList<>();
 
   @OneToOne(mappedBy = "transaction", cascade = CascadeType.ALL)
   FraudAlert fraudAlert;
   // Helper
   public BigDecimal getTotalAmount() {
-    return amount.add(fee);
+    return amountMoney().plus(feeMoney()).toBigDecimal();
+  }
+
+  public Money amountMoney() {
+    return new Money(amount, currency);
+  }
+
+  public Money feeMoney() {
+    return fee == null ? Money.zero(currency) : new Money(fee, currency);
+  }
+
+  // set currency truoc
+  public void setAmount(Money value) {
+    this.amount = sameCurrency(value).minorUnits();
+  }
+
+  public void setFee(Money value) {
+    this.fee = sameCurrency(value).minorUnits();
+  }
+
+  private Money sameCurrency(Money value) {
+    if (value.currency() != currency) {
+      throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + value.currency());
+    }
+    return value;
   }
 }
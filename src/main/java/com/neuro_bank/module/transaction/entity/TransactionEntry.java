@@ -1,5 +1,6 @@
 package com.neuro_bank.module.transaction.entity;
 
+import com.neuro_bank.common.converter.MinorUnitsConverter;
 import com.neuro_bank.common.entity.BaseEntity;
 import com.neuro_bank.common.enums.EntryType;
 import com.neuro_bank.module.account.entity.Account;
@@ -10,12 +11,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
 
-import java.math.BigDecimal;
-
 @Entity
 @Table(name = "transaction_entries", indexes = {
     @Index(name = "idx_entry_account", columnList = "account_id"),
-    @Index(name = "idx_entry_transaction", columnList = "transaction_id")
+    @Index(name = "idx_entry_transaction", columnList = "transaction_id"),
+    @Index(name = "idx_entry_account_created_at", columnList = "account_id, created_at")
 })
 @Getter
 @Setter
@@ -35,13 +35,20 @@ public class TransactionEntry extends BaseEntity {
   @Column(nullable = false, length = 10)
   EntryType entryType;  // DEBIT hoặc CREDIT
 
+  // don vi nho (Money.SCALE), tien te = tien te cua account; ghi qua LedgerEntries
   @Column(nullable = false, precision = 19, scale = 4)
-  BigDecimal amount;
+  @Convert(converter = MinorUnitsConverter.class)
+  long amount;
 
   // Balance tại thời điểm entry này — quan trọng cho audit
   @Column(nullable = false, precision = 19, scale = 4)
-  BigDecimal balanceBefore;
+  @Convert(converter = MinorUnitsConverter.class)
+  long balanceBefore;
 
   @Column(nullable = false, precision = 19, scale = 4)
-  BigDecimal balanceAfter;
+  @Convert(converter = MinorUnitsConverter.class)
+  long balanceAfter;
+
+  // null = dong account chinh, != null = sub-ledger (AccountShard) cua account hot
+  Integer shardIndex;
 }
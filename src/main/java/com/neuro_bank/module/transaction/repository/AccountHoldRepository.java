@@ -0,0 +1,88 @@
+package com.neuro_bank.module.transaction.repository;
+
+import com.neuro_bank.common.enums.HoldStatus;
+import com.neuro_bank.module.transaction.dto.projection.AccountAmountView;
+import com.neuro_bank.module.transaction.dto.projection.HoldAccountsView;
+import com.neuro_bank.module.transaction.dto.projection.HoldExpiryView;
+import com.neuro_bank.module.transaction.entity.AccountHold;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AccountHoldRepository extends JpaRepository<AccountHold, UUID> {
+  // hold luon lock sau account cua no
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select h from AccountHold h where h.id = :id")
+  Optional<AccountHold> findByIdForUpdate(@Param("id") UUID id);
+
+  @Query("""
+          select new com.neuro_bank.module.transaction.dto.projection.HoldAccountsView(
+              h.account.id, h.toAccount.id, h.account.user.id)
+          from AccountHold h
+          where h.id = :id
+      """)
+  Optional<HoldAccountsView> findAccountsById(@Param("id") UUID id);
+
+  @Query("""
+          select h from AccountHold h
+          join fetch h.account
+          join fetch h.transaction
+          where h.id = :id
+      """)
+  Optional<AccountHold> findWithAccountById(@Param("id") UUID id);
+
+  @Query("""
+          select h from AccountHold h
+          join fetch h.account
+          join fetch h.transaction t
+          where t.idempotencyKey = :idempotencyKey
+      """)
+  Optional<AccountHold> findByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
+  // hold dang giu theo account, tinh vao han muc ngay/thang (TransferLimitService.reconcile)
+  @Query("""
+          select new com.neuro_bank.module.transaction.dto.projection.AccountAmountView(h.account.id, sum(h.amount))
+          from AccountHold h
+          where h.status = :status
+          and h.createdAt >= :from
+          group by h.account.id
+      """)
+  List<AccountAmountView> sumByAccountSince(@Param("status") HoldStatus status,
+                                            @Param("from") LocalDateTime from);
+
+  // range scan tren idx_hold_status_expires, keyset theo (expiresAt, id)
+  @Query("""
+          select new com.neuro_bank.module.transaction.dto.projection.HoldExpiryView(h.id, h.expiresAt)
+          from AccountHold h
+          where h.status = :status
+          and h.expiresAt < :until
+          order by h.expiresAt, h.id
+      """)
+  List<HoldExpiryView> findExpiring(@Param("status") HoldStatus status,
+                                    @Param("until") LocalDateTime until,
+                                    Limit limit);
+
+  @Query("""
+          select new com.neuro_bank.module.transaction.dto.projection.HoldExpiryView(h.id, h.expiresAt)
+          from AccountHold h
+          where h.status = :status
+          and h.expiresAt < :until
+          and (h.expiresAt > :afterExpiresAt or (h.expiresAt = :afterExpiresAt and h.id > :afterId))
+          order by h.expiresAt, h.id
+      """)
+  List<HoldExpiryView> findExpiringAfter(@Param("status") HoldStatus status,
+                                         @Param("until") LocalDateTime until,
+                                         @Param("afterExpiresAt") LocalDateTime afterExpiresAt,
+                                         @Param("afterId") UUID afterId,
+                                         Limit limit);
+}
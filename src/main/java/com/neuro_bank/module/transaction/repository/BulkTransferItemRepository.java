@@ -0,0 +1,20 @@
+package com.neuro_bank.module.transaction.repository;
+
+import com.neuro_bank.common.enums.BulkTransferItemStatus;
+import com.neuro_bank.module.transaction.entity.BulkTransferItem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BulkTransferItemRepository extends JpaRepository<BulkTransferItem, UUID> {
+  List<BulkTransferItem> findByJobIdAndItemIndexBetweenOrderByItemIndexAsc(UUID jobId, int fromIndex, int toIndex);
+
+  Page<BulkTransferItem> findByJobIdOrderByItemIndexAsc(UUID jobId, Pageable pageable);
+
+  long countByJobIdAndStatus(UUID jobId, BulkTransferItemStatus status);
+}
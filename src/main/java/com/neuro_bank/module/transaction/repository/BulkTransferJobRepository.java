@@ -0,0 +1,48 @@
+package com.neuro_bank.module.transaction.repository;
+
+import com.neuro_bank.common.enums.BulkTransferStatus;
+import com.neuro_bank.module.transaction.entity.BulkTransferJob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface BulkTransferJobRepository extends JpaRepository<BulkTransferJob, UUID> {
+  Optional<BulkTransferJob> findByIdempotencyKey(String idempotencyKey);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select j from BulkTransferJob j where j.id = :id")
+  Optional<BulkTransferJob> findByIdForUpdate(@Param("id") UUID id);
+
+  // idx_bulk_job_status_updated
+  @Query("""
+          select j.id from BulkTransferJob j
+          where j.status in :statuses and j.updatedAt < :staleBefore
+          order by j.updatedAt
+      """)
+  List<UUID> findStaleIds(@Param("statuses") Collection<BulkTransferStatus> statuses,
+                          @Param("staleBefore") LocalDateTime staleBefore,
+                          Limit limit);
+
+  // claim job bi bo do: chi 1 node update duoc (dieu kien updatedAt cu)
+  @Modifying
+  @Query("""
+          update BulkTransferJob j set j.updatedAt = :now
+          where j.id = :id and j.status in :statuses and j.updatedAt < :staleBefore
+      """)
+  int touchIfStale(@Param("id") UUID id,
+                   @Param("statuses") Collection<BulkTransferStatus> statuses,
+                   @Param("staleBefore") LocalDateTime staleBefore,
+                   @Param("now") LocalDateTime now);
+}
@@ -8,5 +8,5 @@ import java.util.UUID;
 
 @Repository
 public interface FraudAlertRepository extends JpaRepository<FraudAlert, UUID> {
-  
+  boolean existsByTransactionId(UUID transactionId);
 }
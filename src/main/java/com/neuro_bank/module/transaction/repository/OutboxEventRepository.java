@@ -2,9 +2,13 @@ package com.neuro_bank.module.transaction.repository;
 
 import com.neuro_bank.module.transaction.entity.OutboxEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -12,4 +16,25 @@ public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID>
   List<OutboxEvent> findTop100ByProcessedFalseOrderByCreatedAtAsc();
 
   long countByProcessedFalse();
+
+  // nhieu worker/nhieu node claim song song: dong dang bi worker khac lock se bi bo qua.
+  // liveFrom cho phep Postgres prune cac partition cu (da xu ly het)
+  @Query(value = """
+          select * from outbox_events
+          where processed = false
+          and created_at >= :liveFrom
+          and next_attempt_at <= :now
+          and retry_count < :maxAttempts
+          order by next_attempt_at
+          limit :batchSize
+          for update skip locked
+      """, nativeQuery = true)
+  List<OutboxEvent> claimBatch(@Param("liveFrom") LocalDateTime liveFrom,
+                               @Param("now") LocalDateTime now,
+                               @Param("maxAttempts") int maxAttempts,
+                               @Param("batchSize") int batchSize);
+
+  // bo qua event da het luot retry (dead letter) de khong giu watermark/lag mai mai
+  @Query("select min(e.createdAt) from OutboxEvent e where e.processed = false and e.retryCount < :maxAttempts")
+  Optional<LocalDateTime> findOldestPendingCreatedAt(@Param("maxAttempts") int maxAttempts);
 }
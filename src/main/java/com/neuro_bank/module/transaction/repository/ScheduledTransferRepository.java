@@ -0,0 +1,39 @@
+package com.neuro_bank.module.transaction.repository;
+
+import com.neuro_bank.module.transaction.entity.ScheduledTransfer;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ScheduledTransferRepository extends JpaRepository<ScheduledTransfer, UUID> {
+  // bucket cu nhat truoc; nhieu node claim song song, dong dang bi node khac claim bi bo qua
+  @Query(value = """
+          select * from scheduled_transfers
+          where status = 'ACTIVE'
+          and next_bucket <= :bucket
+          and (claimed_until is null or claimed_until < :now)
+          order by next_bucket
+          limit :batchSize
+          for update skip locked
+      """, nativeQuery = true)
+  List<ScheduledTransfer> claimDue(@Param("bucket") long bucket,
+                                   @Param("now") LocalDateTime now,
+                                   @Param("batchSize") int batchSize);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select s from ScheduledTransfer s where s.id = :id")
+  Optional<ScheduledTransfer> findByIdForUpdate(@Param("id") UUID id);
+
+  Page<ScheduledTransfer> findByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
+}
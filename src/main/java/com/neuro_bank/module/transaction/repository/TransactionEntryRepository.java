@@ -1,12 +1,70 @@
 package com.neuro_bank.module.transaction.repository;
 
+import com.neuro_bank.common.enums.EntryType;
+import com.neuro_bank.common.enums.TransactionStatus;
+import com.neuro_bank.common.enums.TransactionType;
+import com.neuro_bank.module.transaction.dto.projection.AccountAmountView;
+import com.neuro_bank.module.transaction.dto.projection.ChainBalanceView;
+import com.neuro_bank.module.transaction.dto.projection.TransactionLegView;
 import com.neuro_bank.module.transaction.entity.TransactionEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface TransactionEntryRepository extends JpaRepository<TransactionEntry, UUID> {
   boolean existsByTransactionIdAndAccountUserId(UUID transactionId, UUID userId);
+
+  @Query("""
+          select new com.neuro_bank.module.transaction.dto.projection.TransactionLegView(
+              e.transaction.id, e.entryType, a.id, a.accountNumber)
+          from TransactionEntry e
+          join e.account a
+          where e.transaction.id in :transactionIds
+          order by e.createdAt
+      """)
+  List<TransactionLegView> findLegsByTransactionIds(@Param("transactionIds") Collection<UUID> transactionIds);
+
+  // e.amount la long (MinorUnitsConverter) -> cong tren cot numeric bang SQL, ket qua van la BigDecimal
+  @Query(value = """
+          select e.account_id, sum(e.amount)
+          from transaction_entries e
+          join transactions t on t.id = e.transaction_id
+          where e.entry_type = :entryType
+          and t.type = :type
+          and t.status = :status
+          and t.created_at >= :from
+          group by e.account_id
+      """, nativeQuery = true)
+  List<Object[]> sumRowsByAccountSince(@Param("entryType") String entryType,
+                                       @Param("type") String type,
+                                       @Param("status") String status,
+                                       @Param("from") LocalDateTime from);
+
+  default List<AccountAmountView> sumByAccountSince(EntryType entryType, TransactionType type,
+                                                    TransactionStatus status, LocalDateTime from) {
+    return sumRowsByAccountSince(entryType.name(), type.name(), status.name(), from).stream()
+        .map(row -> new AccountAmountView((UUID) row[0], (BigDecimal) row[1]))
+        .toList();
+  }
+
+  // entry trong [from, to) cua 1 account theo thu tu ghi, dung idx_entry_account_created_at
+  @Query("""
+          select new com.neuro_bank.module.transaction.dto.projection.ChainBalanceView(e.shardIndex, e.balanceAfter)
+          from TransactionEntry e
+          where e.account.id = :accountId
+          and e.createdAt >= :from
+          and e.createdAt < :to
+          order by e.createdAt, e.id
+      """)
+  List<ChainBalanceView> findChainBalances(@Param("accountId") UUID accountId,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
 }
@@ -2,7 +2,10 @@ package com.neuro_bank.module.transaction.repository;
 
 import com.neuro_bank.common.enums.TransactionStatus;
 import com.neuro_bank.common.enums.TransactionType;
+import com.neuro_bank.module.transaction.dto.projection.TransactionScrollView;
+import com.neuro_bank.module.transaction.dto.projection.TransactionSummaryView;
 import com.neuro_bank.module.transaction.entity.Transaction;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -12,6 +15,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,27 +24,92 @@ import java.util.UUID;
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
   Optional<Transaction> findByReferenceNo(String referenceNo);
 
+  @EntityGraph(attributePaths = {"entries", "entries.account"})
   Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
 
   @EntityGraph(attributePaths = {"entries", "entries.account", "parentTransaction"})
   @Query("SELECT t FROM Transaction t WHERE t.referenceNo=:referenceNo")
   Optional<Transaction> findWithEntriesByReferenceNo(@Param("referenceNo") String referenceNo);
 
+  @Query(value = """
+          select new com.neuro_bank.module.transaction.dto.projection.TransactionSummaryView(
+              t.id, t.referenceNo, t.type, t.status, t.amount, t.fee, t.currency, t.description,
+              t.completedAt, t.createdAt)
+          from Transaction t
+          where exists (
+              select 1 from TransactionEntry e
+              where e.transaction = t and e.account.user.id = :userId)
+          and (:status is null or t.status = :status)
+          and (:type is null or t.type = :type)
+          and (:fromDate is null or t.createdAt >= :fromDate)
+          and (:toDate is null or t.createdAt <= :toDate)
+      """, countQuery = """
+          select count(t)
+          from Transaction t
+          where exists (
+              select 1 from TransactionEntry e
+              where e.transaction = t and e.account.user.id = :userId)
+          and (:status is null or t.status = :status)
+          and (:type is null or t.type = :type)
+          and (:fromDate is null or t.createdAt >= :fromDate)
+          and (:toDate is null or t.createdAt <= :toDate)
+      """)
+  Page<TransactionSummaryView> searchMyTransactions(@Param("userId") UUID userId,
+                                                    @Param("status") TransactionStatus status,
+                                                    @Param("type") TransactionType type,
+                                                    @Param("fromDate") LocalDateTime fromDate,
+                                                    @Param("toDate") LocalDateTime toDate,
+                                                    Pageable pageable);
+
+  // keyset tren transaction_entries theo account cua user (idx_entry_account_created_at) roi join transactions;
+  // khong count, khong offset. Chuyen giua 2 account cua cung user co 2 entry -> chi giu entry id nho nhat.
+  // entry khong bao gio tao truoc transaction nen fromDate cung chan duoc range tren entry
+  @Query("""
+          select new com.neuro_bank.module.transaction.dto.projection.TransactionScrollView(
+              e.createdAt, e.id, t.id, t.referenceNo, t.type, t.status, t.amount, t.fee, t.currency,
+              t.description, t.completedAt, t.createdAt)
+          from TransactionEntry e
+          join e.transaction t
+          where e.account.id in :accountIds
+          and not exists (
+              select 1 from TransactionEntry o
+              where o.transaction = t and o.account.id in :accountIds and o.id < e.id)
+          and (:status is null or t.status = :status)
+          and (:type is null or t.type = :type)
+          and (:fromDate is null or (e.createdAt >= :fromDate and t.createdAt >= :fromDate))
+          and (:toDate is null or t.createdAt <= :toDate)
+          order by e.createdAt desc, e.id desc
+      """)
+  List<TransactionScrollView> scrollMyTransactions(@Param("accountIds") Collection<UUID> accountIds,
+                                                   @Param("status") TransactionStatus status,
+                                                   @Param("type") TransactionType type,
+                                                   @Param("fromDate") LocalDateTime fromDate,
+                                                   @Param("toDate") LocalDateTime toDate,
+                                                   Limit limit);
+
   @Query("""
-          select distinct t
-          from Transaction  t
-          join t.entries e
-          join e.account a
-          where a.user.id =:userId
-          and (:status is null or t.status =:status)
-          and (:type is null or t.type =:type)
-          and (:fromDate is null or t.createdAt >=:fromDate)
+          select new com.neuro_bank.module.transaction.dto.projection.TransactionScrollView(
+              e.createdAt, e.id, t.id, t.referenceNo, t.type, t.status, t.amount, t.fee, t.currency,
+              t.description, t.completedAt, t.createdAt)
+          from TransactionEntry e
+          join e.transaction t
+          where e.account.id in :accountIds
+          and (e.createdAt < :cursorCreatedAt or (e.createdAt = :cursorCreatedAt and e.id < :cursorId))
+          and not exists (
+              select 1 from TransactionEntry o
+              where o.transaction = t and o.account.id in :accountIds and o.id < e.id)
+          and (:status is null or t.status = :status)
+          and (:type is null or t.type = :type)
+          and (:fromDate is null or (e.createdAt >= :fromDate and t.createdAt >= :fromDate))
           and (:toDate is null or t.createdAt <= :toDate)
+          order by e.createdAt desc, e.id desc
       """)
-  Page<Transaction> searchMyTransactions(@Param("userId") UUID userId,
-                                         @Param("status") TransactionStatus status,
-                                         @Param("type") TransactionType type,
-                                         @Param("fromDate") LocalDateTime fromDate,
-                                         @Param("toDate") LocalDateTime toDate,
-                                         Pageable pageable);
+  List<TransactionScrollView> scrollMyTransactionsAfter(@Param("accountIds") Collection<UUID> accountIds,
+                                                        @Param("status") TransactionStatus status,
+                                                        @Param("type") TransactionType type,
+                                                        @Param("fromDate") LocalDateTime fromDate,
+                                                        @Param("toDate") LocalDateTime toDate,
+                                                        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                        @Param("cursorId") UUID cursorId,
+                                                        Limit limit);
 }
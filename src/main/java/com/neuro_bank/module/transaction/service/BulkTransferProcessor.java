@@ -0,0 +1,308 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.common.enums.AccountStatus;
+import com.neuro_bank.common.enums.BulkTransferItemStatus;
+import com.neuro_bank.common.enums.BulkTransferStatus;
+import com.neuro_bank.common.enums.Currency;
+import com.neuro_bank.common.enums.EntryType;
+import com.neuro_bank.common.enums.TransactionStatus;
+import com.neuro_bank.common.enums.TransactionType;
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.common.util.Money;
+import com.neuro_bank.module.account.entity.Account;
+import com.neuro_bank.module.account.entity.TransactionLimit;
+import com.neuro_bank.module.account.repository.AccountRepository;
+import com.neuro_bank.module.account.service.TransferLimitService;
+import com.neuro_bank.module.ledger.service.BalanceCheckpointService;
+import com.neuro_bank.module.transaction.entity.BulkTransferItem;
+import com.neuro_bank.module.transaction.entity.BulkTransferJob;
+import com.neuro_bank.module.transaction.entity.OutboxEvent;
+import com.neuro_bank.module.transaction.entity.Transaction;
+import com.neuro_bank.module.transaction.entity.TransactionEntry;
+import com.neuro_bank.module.transaction.repository.BulkTransferItemRepository;
+import com.neuro_bank.module.transaction.repository.BulkTransferJobRepository;
+import com.neuro_bank.module.transaction.repository.TransactionRepository;
+import com.neuro_bank.module.transaction.util.LedgerEntries;
+import com.neuro_bank.module.transaction.util.TransactionEvents;
+import com.neuro_bank.module.transaction.util.TransactionReferenceGenerator;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BulkTransferProcessor {
+  private static final List<BulkTransferStatus> UNFINISHED =
+      List.of(BulkTransferStatus.PENDING, BulkTransferStatus.PROCESSING);
+  private static final int RECOVERY_BATCH = 100;
+
+  private final BulkTransferJobRepository jobRepository;
+  private final BulkTransferItemRepository itemRepository;
+  private final AccountRepository accountRepository;
+  private final TransactionRepository transactionRepository;
+  private final OutboxEventWriter outboxEventWriter;
+  private final TransactionReferenceGenerator referenceGenerator;
+  private final TransactionTemplate transactionTemplate;
+  private final EntityManager entityManager;
+  private final BalanceCheckpointService balanceCheckpointService;
+  private final TransferLimitService transferLimitService;
+  private final FraudRuleEngine fraudRuleEngine;
+
+  @Value("${app.transaction.bulk.chunk-size}")
+  private int chunkSize;
+  @Value("${app.transaction.bulk.stale-after-seconds}")
+  private long staleAfterSeconds;
+  @Value("${app.transaction.bulk.max-age-hours}")
+  private long maxAgeHours;
+
+  // chay lai duoc (sweeper resume job bi bo do): item da COMPLETED/FAILED duoc bo qua
+  @Async("bulkTransferExecutor")
+  public void process(UUID jobId) {
+    JobRun run = transactionTemplate.execute(status -> start(jobId));
+    if (run == null) {
+      return;
+    }
+
+    // moi chunk 1 transaction DB: lock job + source + cac account nhan, debit source 1 lan, batch insert
+    for (int from = 0; from < run.totalItems(); from += chunkSize) {
+      int to = Math.min(from + chunkSize, run.totalItems()) - 1;
+      int chunkFrom = from;
+      try {
+        Map<UUID, FraudHistory> histories = fraudHistories(run.userId(), jobId, chunkFrom, to);
+        transactionTemplate.executeWithoutResult(status -> processChunk(jobId, run, chunkFrom, to, histories));
+      } catch (RuntimeException ex) {
+        log.error("Bulk transfer chunk failed job={} items={}..{}", jobId, chunkFrom, to, ex);
+        transactionTemplate.executeWithoutResult(status -> failPending(jobId, chunkFrom, to, "Chunk processing failed"));
+      }
+    }
+    transactionTemplate.executeWithoutResult(status -> complete(jobId));
+  }
+
+  // job bi bo do (PENDING vi @Async tu choi, PROCESSING vi node chet) khong co heartbeat qua stale-after -> claim
+  // bang update co dieu kien (chi 1 node thang). Job qua max-age thi danh FAILED phan con lai thay vi chay tiep.
+  public List<UUID> claimStale() {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime staleBefore = now.minusSeconds(staleAfterSeconds);
+    List<UUID> resumable = new ArrayList<>();
+    for (UUID jobId : jobRepository.findStaleIds(UNFINISHED, staleBefore, Limit.of(RECOVERY_BATCH))) {
+      Boolean claimed = transactionTemplate.execute(status ->
+          jobRepository.touchIfStale(jobId, UNFINISHED, staleBefore, now) == 1);
+      if (!Boolean.TRUE.equals(claimed)) {
+        continue;
+      }
+      BulkTransferJob job = jobRepository.findById(jobId).orElse(null);
+      if (job != null && job.getCreatedAt().isBefore(now.minusHours(maxAgeHours))) {
+        log.warn("Abandoning bulk transfer job={} created at {}", jobId, job.getCreatedAt());
+        transactionTemplate.executeWithoutResult(status -> {
+          failPending(jobId, 0, job.getTotalItems() - 1, "Bulk transfer job was abandoned");
+          complete(jobId);
+        });
+        continue;
+      }
+      resumable.add(jobId);
+    }
+    return resumable;
+  }
+
+  private JobRun start(UUID jobId) {
+    BulkTransferJob job = jobRepository.findById(jobId).orElseThrow();
+    if (job.getStatus() != BulkTransferStatus.PENDING && job.getStatus() != BulkTransferStatus.PROCESSING) {
+      return null;
+    }
+    job.setStatus(BulkTransferStatus.PROCESSING);
+    return new JobRun(job.getUser().getId(), job.getSourceAccount().getId(), job.getSourceAccount().getCurrency(),
+        job.getTotalItems());
+  }
+
+  // lich su fraud doc tu Redis truoc transaction cua chunk, khong giu lock account trong luc cho Redis
+  private Map<UUID, FraudHistory> fraudHistories(UUID userId, UUID jobId, int from, int to) {
+    Map<UUID, FraudHistory> histories = new HashMap<>();
+    for (BulkTransferItem item : itemRepository.findByJobIdAndItemIndexBetweenOrderByItemIndexAsc(jobId, from, to)) {
+      if (item.getStatus() == BulkTransferItemStatus.PENDING) {
+        histories.put(item.getId(), fraudRuleEngine.history(userId, item.getAmount()));
+      }
+    }
+    return histories;
+  }
+
+  private void processChunk(UUID jobId, JobRun run, int from, int to, Map<UUID, FraudHistory> histories) {
+    // lock job truoc: 2 runner cung 1 job (sweeper claim nham job dang chay cham) di tuan tu va runner sau
+    // doc lai trang thai item sau khi lock -> khong post 2 lan. Cap nhat updatedAt lam heartbeat cho sweeper.
+    BulkTransferJob job = jobRepository.findByIdForUpdate(jobId).orElseThrow();
+    job.setUpdatedAt(LocalDateTime.now());
+    UUID sourceAccountId = run.sourceAccountId();
+    List<BulkTransferItem> items = itemRepository.findByJobIdAndItemIndexBetweenOrderByItemIndexAsc(jobId, from, to)
+        .stream()
+        .filter(item -> item.getStatus() == BulkTransferItemStatus.PENDING)
+        .toList();
+    if (items.isEmpty()) {
+      return;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    // han muc reserve cho ca chunk truoc khi lock account: round-trip Redis khong keo dai lock source/account nhan
+    Map<UUID, String> limitErrors = new HashMap<>();
+    Set<UUID> reserved = reserveLimits(run, items, limitErrors);
+    Set<UUID> accountIds = new HashSet<>();
+    accountIds.add(sourceAccountId);
+    items.forEach(item -> accountIds.add(item.getToAccountId()));
+    Map<UUID, Account> accounts = accountRepository.findAllByIdInForUpdate(accountIds).stream()
+        .collect(Collectors.toMap(Account::getId, Function.identity()));
+
+    Account source = accounts.get(sourceAccountId);
+    if (source == null || source.getStatus() != AccountStatus.ACTIVE) {
+      items.forEach(item -> failReserved(item, "Source account is not active", run, reserved, now));
+      return;
+    }
+    // so du chay theo tung item tinh tren long, entry cung giu long (BigDecimal chi tao luc flush)
+    Money balance = source.balanceMoney();
+    Money availableBalance = source.availableMoney();
+    List<OutboxEvent> events = new ArrayList<>(items.size());
+    List<TransactionEntry> entries = new ArrayList<>(items.size() * 2);
+
+    for (BulkTransferItem item : items) {
+      Account destination = accounts.get(item.getToAccountId());
+      Money amount = Money.of(item.getAmount(), source.getCurrency());
+      String error = limitErrors.getOrDefault(item.getId(), validate(source, destination));
+      if (error == null && availableBalance.isLessThan(amount)) {
+        error = "Insufficient available balance";
+      }
+      if (error != null) {
+        failReserved(item, error, run, reserved, now);
+        continue;
+      }
+      // moi item qua fraud rule va han muc ngay/thang nhu transfer le. Velocity chi ghi nhan sau commit nen
+      // item trong cung chunk khong thay nhau; item bi tu choi boi han muc van tinh vao velocity (chat hon)
+      FraudDecision fraudDecision = fraudRuleEngine.evaluate(run.userId(), sourceAccountId, destination.getId(),
+          item.getAmount(), histories.getOrDefault(item.getId(), FraudHistory.EMPTY));
+      if (fraudDecision.blocked()) {
+        failReserved(item, "Transfer was blocked by risk checks", run, reserved, now);
+        continue;
+      }
+
+      Transaction transaction = new Transaction();
+      transaction.setReferenceNo(referenceGenerator.nextReference());
+      transaction.setType(TransactionType.TRANSFER);
+      transaction.setCurrency(source.getCurrency());
+      transaction.setAmount(amount);
+      transaction.setFee(Money.zero(source.getCurrency()));
+      transaction.setDescription(item.getDescription());
+      transaction.setStatus(TransactionStatus.COMPLETED);
+      transaction.setCompletedAt(now);
+      transaction.getMetadata().put("bulkJobId", jobId.toString());
+      transaction.getMetadata().put("bulkItemIndex", item.getItemIndex());
+
+      // source chi update 1 lan cuoi chunk, entry van ghi balance chay theo tung item
+      Money balanceAfter = balance.minus(amount);
+      transaction.getEntries().add(LedgerEntries.entry(transaction, source, EntryType.DEBIT, amount, balance,
+          balanceAfter));
+      balance = balanceAfter;
+      availableBalance = availableBalance.minus(amount);
+      transaction.getEntries().add(LedgerEntries.post(transaction, destination, EntryType.CREDIT, amount));
+
+      transactionRepository.save(transaction);
+      entries.addAll(transaction.getEntries());
+      events.add(TransactionEvents.completed(transaction, source, destination));
+      if (fraudDecision.alerted()) {
+        events.add(TransactionEvents.fraudDetected(transaction, run.userId(), fraudDecision));
+      }
+
+      item.setStatus(BulkTransferItemStatus.COMPLETED);
+      item.setTransactionId(transaction.getId());
+      item.setReferenceNo(transaction.getReferenceNo());
+    }
+    source.setBalance(balance);
+    source.setAvailableBalance(availableBalance);
+    outboxEventWriter.saveAll(events);
+    // 1 upsert / account / ngay cho ca chunk thay vi 1 / item
+    balanceCheckpointService.record(entries);
+
+    // hibernate gom insert/update thanh batch (jdbc.batch_size + order_inserts/order_updates)
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  // reserve tung item theo thu tu; rollback chunk -> reserve tu tra lai, item fail ma chunk van commit thi
+  // failReserved tra lai sau commit. Phan cua item fail giu toi commit nen item sau trong cung chunk co the
+  // bi tu choi vi han muc (chat hon, giong velocity)
+  private Set<UUID> reserveLimits(JobRun run, List<BulkTransferItem> items, Map<UUID, String> limitErrors) {
+    Set<UUID> reserved = new HashSet<>();
+    TransactionLimit limit = transferLimitService.findLimit(run.userId(), run.sourceAccountId());
+    for (BulkTransferItem item : items) {
+      try {
+        if (transferLimitService.reserve(limit, Money.of(item.getAmount(), run.currency()))) {
+          reserved.add(item.getId());
+        }
+      } catch (BusinessException ex) {
+        limitErrors.put(item.getId(), ex.getMessage());
+      }
+    }
+    return reserved;
+  }
+
+  private void failReserved(BulkTransferItem item, String error, JobRun run, Set<UUID> reserved,
+                            LocalDateTime reservedAt) {
+    fail(item, error);
+    if (reserved.contains(item.getId())) {
+      transferLimitService.release(run.sourceAccountId(), Money.of(item.getAmount(), run.currency()), reservedAt);
+    }
+  }
+
+  private String validate(Account source, Account destination) {
+    if (destination == null) {
+      return "Destination account not found";
+    }
+    if (destination.getId().equals(source.getId())) {
+      return "Cannot transfer to the same account";
+    }
+    if (destination.getStatus() != AccountStatus.ACTIVE) {
+      return "Destination account is not active";
+    }
+    if (destination.getCurrency() != source.getCurrency()) {
+      return "Currency mismatch";
+    }
+    return null;
+  }
+
+  private void failPending(UUID jobId, int from, int to, String error) {
+    itemRepository.findByJobIdAndItemIndexBetweenOrderByItemIndexAsc(jobId, from, to).stream()
+        .filter(item -> item.getStatus() == BulkTransferItemStatus.PENDING)
+        .forEach(item -> fail(item, error));
+  }
+
+  private void complete(UUID jobId) {
+    BulkTransferJob job = jobRepository.findById(jobId).orElseThrow();
+    int succeeded = (int) itemRepository.countByJobIdAndStatus(jobId, BulkTransferItemStatus.COMPLETED);
+    int failed = (int) itemRepository.countByJobIdAndStatus(jobId, BulkTransferItemStatus.FAILED);
+    job.setSucceededItems(succeeded);
+    job.setFailedItems(failed);
+    job.setCompletedAt(LocalDateTime.now());
+    if (failed == 0) {
+      job.setStatus(BulkTransferStatus.COMPLETED);
+    } else if (succeeded == 0) {
+      job.setStatus(BulkTransferStatus.FAILED);
+    } else {
+      job.setStatus(BulkTransferStatus.PARTIALLY_COMPLETED);
+    }
+    log.info("Bulk transfer job={} finished status={} succeeded={} failed={}", jobId, job.getStatus(), succeeded,
+        failed);
+  }
+
+  private void fail(BulkTransferItem item, String error) {
+    item.setStatus(BulkTransferItemStatus.FAILED);
+    item.setErrorMessage(error);
+  }
+
+  private record JobRun(UUID userId, UUID sourceAccountId, Currency currency, int totalItems) {
+  }
+}
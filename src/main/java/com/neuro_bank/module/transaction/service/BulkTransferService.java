@@ -0,0 +1,12 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.module.transaction.dto.request.BulkTransferRequest;
+import com.neuro_bank.module.transaction.dto.response.BulkTransferJobResponse;
+
+import java.util.UUID;
+
+public interface BulkTransferService {
+  BulkTransferJobResponse createBulkTransfer(UUID userId, BulkTransferRequest request, String idempotencyKey);
+
+  BulkTransferJobResponse getJob(UUID userId, UUID jobId, int page, int size);
+}
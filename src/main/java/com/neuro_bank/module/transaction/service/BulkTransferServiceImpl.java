@@ -0,0 +1,160 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.infrastructure.IdempotencyService;
+import com.neuro_bank.infrastructure.RateLimiterService;
+import com.neuro_bank.module.account.entity.Account;
+import com.neuro_bank.module.account.repository.AccountRepository;
+import com.neuro_bank.module.transaction.dto.request.BulkTransferRequest;
+import com.neuro_bank.module.transaction.dto.request.CreateTransferRequest;
+import com.neuro_bank.module.transaction.dto.response.BulkTransferItemResponse;
+import com.neuro_bank.module.transaction.dto.response.BulkTransferJobResponse;
+import com.neuro_bank.module.transaction.entity.BulkTransferItem;
+import com.neuro_bank.module.transaction.entity.BulkTransferJob;
+import com.neuro_bank.module.transaction.repository.BulkTransferItemRepository;
+import com.neuro_bank.module.transaction.repository.BulkTransferJobRepository;
+import com.neuro_bank.module.transaction.util.TransactionHashService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkTransferServiceImpl implements BulkTransferService {
+  private static final String BULK_ENDPOINT = "POST:/api/v1/transactions/bulk";
+
+  private final BulkTransferJobRepository jobRepository;
+  private final BulkTransferItemRepository itemRepository;
+  private final AccountRepository accountRepository;
+  private final BulkTransferProcessor bulkTransferProcessor;
+  private final TransactionHashService transactionHashService;
+  private final RateLimiterService rateLimiterService;
+  private final EntityManager entityManager;
+
+  @Value("${app.transaction.bulk.chunk-size}")
+  private int chunkSize;
+
+  @Override
+  @Transactional
+  public BulkTransferJobResponse createBulkTransfer(UUID userId, BulkTransferRequest request, String idempotencyKey) {
+    String hashedKey = idempotencyKey == null ? null
+        : transactionHashService.hashIdempotencyKey(userId, BULK_ENDPOINT, idempotencyKey);
+    String requestHash = hashedKey == null ? null : transactionHashService.hashBulkTransferRequest(request);
+    if (hashedKey != null) {
+      Optional<BulkTransferJob> existing = jobRepository.findByIdempotencyKey(hashedKey);
+      if (existing.isPresent()) {
+        // key da dung voi bulk khac -> 422 nhu transfer le
+        IdempotencyService.verifyRequestHash(existing.get().getRequestHash(), requestHash);
+        return BulkTransferJobResponse.from(existing.get());
+      }
+    }
+    rateLimiterService.checkTransactionCreateRateLimitByUser(userId);
+
+    List<CreateTransferRequest> items = request.getItems();
+    UUID sourceAccountId = items.get(0).getFromAccountId();
+    if (items.stream().anyMatch(item -> !sourceAccountId.equals(item.getFromAccountId()))) {
+      throw BusinessException.badRequest("All items must have the same fromAccountId");
+    }
+    Account source = accountRepository.findByIdAndDeletedFalse(sourceAccountId)
+        .orElseThrow(() -> BusinessException.notFound("Account"));
+    if (!source.getUser().getId().equals(userId)) {
+      throw BusinessException.forbidden("You do not own the source account");
+    }
+    if (items.stream().anyMatch(item -> item.getCurrency() != source.getCurrency())) {
+      throw BusinessException.badRequest("All items must use the source account currency");
+    }
+
+    BulkTransferJob job = new BulkTransferJob();
+    job.setUser(source.getUser());
+    job.setSourceAccount(source);
+    job.setCurrency(source.getCurrency());
+    job.setTotalItems(items.size());
+    job.setIdempotencyKey(hashedKey);
+    job.setRequestHash(requestHash);
+    jobRepository.save(job);
+    BulkTransferJobResponse response = BulkTransferJobResponse.from(job);
+
+    // insert theo batch, flush + clear moi chunk de persistence context khong phinh to
+    List<BulkTransferItem> batch = new ArrayList<>(chunkSize);
+    for (int i = 0; i < items.size(); i++) {
+      CreateTransferRequest item = items.get(i);
+      BulkTransferItem entity = new BulkTransferItem();
+      entity.setJob(job);
+      entity.setItemIndex(i);
+      entity.setToAccountId(item.getToAccountId());
+      entity.setAmount(item.getAmount());
+      entity.setDescription(item.getDescription());
+      batch.add(entity);
+      if (batch.size() == chunkSize) {
+        flushBatch(batch);
+      }
+    }
+    flushBatch(batch);
+
+    UUID jobId = job.getId();
+    runAfterCommit(() -> {
+      try {
+        bulkTransferProcessor.process(jobId);
+      } catch (TaskRejectedException ex) {
+        // job da commit o PENDING, BulkTransferRecoveryScheduler chay lai sau stale-after
+        log.warn("Bulk transfer executor is full, job={} left for recovery: {}", jobId, ex.getMessage());
+      }
+    });
+    return response;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public BulkTransferJobResponse getJob(UUID userId, UUID jobId, int page, int size) {
+    BulkTransferJob job = jobRepository.findById(jobId)
+        .orElseThrow(() -> BusinessException.notFound("Bulk transfer job"));
+    if (!job.getUser().getId().equals(userId)) {
+      throw BusinessException.forbidden("You do not own this bulk transfer job");
+    }
+    Page<BulkTransferItem> items = itemRepository.findByJobIdOrderByItemIndexAsc(jobId,
+        PageRequest.of(page, Math.min(size, 1000)));
+    BulkTransferJobResponse response = BulkTransferJobResponse.from(job);
+    response.setItems(items.map(BulkTransferItemResponse::from).getContent());
+    response.setPage(items.getNumber());
+    response.setSize(items.getSize());
+    response.setHasNext(items.hasNext());
+    return response;
+  }
+
+  private void flushBatch(List<BulkTransferItem> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    itemRepository.saveAll(batch);
+    entityManager.flush();
+    entityManager.clear();
+    batch.clear();
+  }
+
+  private void runAfterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+      return;
+    }
+    action.run();
+  }
+}
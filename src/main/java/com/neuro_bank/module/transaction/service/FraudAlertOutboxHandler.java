@@ -0,0 +1,48 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.module.transaction.entity.FraudAlert;
+import com.neuro_bank.module.transaction.entity.OutboxEvent;
+import com.neuro_bank.module.transaction.repository.FraudAlertRepository;
+import com.neuro_bank.module.transaction.repository.TransactionRepository;
+import com.neuro_bank.module.transaction.util.TransactionEvents;
+import com.neuro_bank.module.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+// ghi FraudAlert ngoai duong chuyen tien; chay trong transaction claim cua OutboxDispatcher
+@Component
+@RequiredArgsConstructor
+public class FraudAlertOutboxHandler implements OutboxEventHandler {
+  private static final int MAX_RULE_LENGTH = 100;
+
+  private final FraudAlertRepository fraudAlertRepository;
+  private final TransactionRepository transactionRepository;
+  private final UserRepository userRepository;
+
+  @Override
+  public boolean supports(String eventType) {
+    return TransactionEvents.FRAUD_DETECTED.equals(eventType);
+  }
+
+  @Override
+  public void handle(OutboxEvent event) {
+    UUID transactionId = event.getAggregateId();
+    if (fraudAlertRepository.existsByTransactionId(transactionId)) {
+      return;
+    }
+    @SuppressWarnings("unchecked")
+    List<String> rules = (List<String>) event.getPayload().get("rules");
+    String ruleTriggered = String.join(",", rules);
+
+    FraudAlert alert = new FraudAlert();
+    alert.setTransaction(transactionRepository.getReferenceById(transactionId));
+    alert.setUser(userRepository.getReferenceById(UUID.fromString((String) event.getPayload().get("userId"))));
+    alert.setRuleTriggered(ruleTriggered.length() <= MAX_RULE_LENGTH
+        ? ruleTriggered : ruleTriggered.substring(0, MAX_RULE_LENGTH));
+    alert.setSeverity((String) event.getPayload().get("severity"));
+    fraudAlertRepository.save(alert);
+  }
+}
@@ -0,0 +1,11 @@
+package com.neuro_bank.module.transaction.service;
+
+import java.util.List;
+
+public record FraudDecision(List<String> rules, String severity, boolean blocked) {
+  public static final FraudDecision CLEAN = new FraudDecision(List.of(), null, false);
+
+  public boolean alerted() {
+    return !rules.isEmpty();
+  }
+}
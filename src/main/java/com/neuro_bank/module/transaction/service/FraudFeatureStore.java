@@ -0,0 +1,141 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neuro_bank.module.transaction.util.SlidingWindow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// aggregate velocity trong memory theo user va account; user/account khong hoat dong tu bi evict
+@Component
+public class FraudFeatureStore {
+  private static final long BUCKET_MILLIS = 60_000;
+  private static final int COUNTERPARTY_CAPACITY = 256;
+  private static final int RECENT_TRANSFERS = 20;
+  // EWMA cho mean/variance cua so tien -> khong can luu lich su
+  private static final double ALPHA = 0.05;
+
+  private final int windowMinutes;
+  private final Cache<UUID, SlidingWindow> userWindows;
+  private final Cache<UUID, AccountActivity> accounts;
+
+  public FraudFeatureStore(@Value("${app.transaction.fraud.velocity-window-minutes}") int windowMinutes,
+      @Value("${app.transaction.fraud.feature-cache-size}") long cacheSize) {
+    this.windowMinutes = windowMinutes;
+    this.userWindows = Caffeine.newBuilder()
+        .maximumSize(cacheSize)
+        .expireAfterAccess(Duration.ofMinutes(windowMinutes))
+        .build();
+    this.accounts = Caffeine.newBuilder()
+        .maximumSize(cacheSize)
+        .expireAfterAccess(Duration.ofDays(1))
+        .build();
+  }
+
+  public FraudFeatures features(UUID userId, UUID fromAccountId, UUID toAccountId, double amount,
+                                FraudHistory history) {
+    long now = System.currentTimeMillis();
+    SlidingWindow userWindow = userWindow(userId);
+    AccountActivity account = account(fromAccountId);
+    FraudFeatures.FraudFeaturesBuilder builder = FraudFeatures.builder()
+        .amount(amount)
+        .hourOfDay(LocalTime.now().getHour())
+        .userCount(userWindow.count(now))
+        .userSum(userWindow.sum(now))
+        .accountCount(account.window.count(now))
+        .accountSum(account.window.sum(now))
+        .historyCount(history.count())
+        .historySum(history.sum())
+        .distinctRecipients(history.distinctRecipients())
+        .amountPercentile(history.amountPercentile())
+        .historySamples(history.samples());
+    synchronized (account) {
+      builder.newCounterparty(!account.counterparties.containsKey(toAccountId))
+          .newCounterpartyRatio(account.newCounterpartyRatio())
+          .amountSamples(account.samples)
+          .amountZScore(account.zScore(amount));
+    }
+    return builder.build();
+  }
+
+  public void record(UUID userId, UUID fromAccountId, UUID toAccountId, double amount) {
+    long now = System.currentTimeMillis();
+    userWindow(userId).add(now, amount);
+    AccountActivity account = account(fromAccountId);
+    account.window.add(now, amount);
+    synchronized (account) {
+      account.record(toAccountId, amount);
+    }
+  }
+
+  private SlidingWindow userWindow(UUID userId) {
+    return userWindows.get(userId, id -> new SlidingWindow(windowMinutes, BUCKET_MILLIS));
+  }
+
+  private AccountActivity account(UUID accountId) {
+    return accounts.get(accountId, id -> new AccountActivity(windowMinutes));
+  }
+
+  private static final class AccountActivity {
+    final SlidingWindow window;
+    // LRU nguoi nhan gan day
+    final Map<UUID, Boolean> counterparties = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+        return size() > COUNTERPARTY_CAPACITY;
+      }
+    };
+    final boolean[] recentNew = new boolean[RECENT_TRANSFERS];
+    int recentCount;
+    int recentIndex;
+    long samples;
+    double mean;
+    double variance;
+
+    AccountActivity(int windowMinutes) {
+      this.window = new SlidingWindow(windowMinutes, BUCKET_MILLIS);
+    }
+
+    double newCounterpartyRatio() {
+      if (recentCount == 0) {
+        return 0;
+      }
+      int news = 0;
+      for (int i = 0; i < recentCount; i++) {
+        if (recentNew[i]) {
+          news++;
+        }
+      }
+      return (double) news / recentCount;
+    }
+
+    double zScore(double amount) {
+      if (samples < 2 || variance <= 0) {
+        return 0;
+      }
+      return (amount - mean) / Math.sqrt(variance);
+    }
+
+    void record(UUID toAccountId, double amount) {
+      boolean isNew = counterparties.put(toAccountId, Boolean.TRUE) == null;
+      recentNew[recentIndex] = isNew;
+      recentIndex = (recentIndex + 1) % RECENT_TRANSFERS;
+      recentCount = Math.min(recentCount + 1, RECENT_TRANSFERS);
+
+      if (samples == 0) {
+        mean = amount;
+      } else {
+        double delta = amount - mean;
+        mean += ALPHA * delta;
+        variance = (1 - ALPHA) * (variance + ALPHA * delta * delta);
+      }
+      samples++;
+    }
+  }
+}
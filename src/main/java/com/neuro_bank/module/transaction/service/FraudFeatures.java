@@ -0,0 +1,29 @@
+package com.neuro_bank.module.transaction.service;
+
+import lombok.Builder;
+import lombok.Getter;
+
+// root object cua rule SpEL; getter public de SpEL compile duoc sang bytecode
+@Getter
+@Builder
+public class FraudFeatures {
+  private final double amount;
+  private final int hourOfDay;
+  // cac giao dich truoc do trong cua so velocity (khong tinh giao dich dang xet)
+  private final long userCount;
+  private final double userSum;
+  private final long accountCount;
+  private final double accountSum;
+  private final boolean newCounterparty;
+  // ti le giao dich gan day cua account gui toi nguoi nhan moi
+  private final double newCounterpartyRatio;
+  private final long amountSamples;
+  private final double amountZScore;
+  // lich su nhieu ngay tu Redis (FraudHistoryStore)
+  private final long historyCount;
+  private final double historySum;
+  private final long distinctRecipients;
+  // vi tri so tien trong phan phoi lich su cua user (0..1)
+  private final double amountPercentile;
+  private final long historySamples;
+}
@@ -0,0 +1,6 @@
+package com.neuro_bank.module.transaction.service;
+
+// feature nhieu ngay cua user doc tu Redis (FraudHistoryStore)
+public record FraudHistory(long count, double sum, long distinctRecipients, double amountPercentile, long samples) {
+  public static final FraudHistory EMPTY = new FraudHistory(0, 0, 0, 0, 0);
+}
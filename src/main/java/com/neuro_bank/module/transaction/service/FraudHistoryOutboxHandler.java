@@ -0,0 +1,35 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.module.transaction.entity.OutboxEvent;
+import com.neuro_bank.module.transaction.util.TransactionEvents;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+// cap nhat feature store tu giao dich da commit; script dedupe theo transaction id
+@Component
+@RequiredArgsConstructor
+public class FraudHistoryOutboxHandler implements OutboxEventHandler {
+  private final FraudHistoryStore fraudHistoryStore;
+
+  @Override
+  public boolean supports(String eventType) {
+    return TransactionEvents.TRANSACTION_COMPLETED.equals(eventType);
+  }
+
+  @Override
+  public void handle(OutboxEvent event) {
+    Map<String, Object> payload = event.getPayload();
+    if (!"TRANSFER".equals(payload.get("type")) || payload.get("fromUserId") == null) {
+      return;
+    }
+    fraudHistoryStore.record(event.getAggregateId(),
+        UUID.fromString((String) payload.get("fromUserId")),
+        UUID.fromString((String) payload.get("toAccountId")),
+        new BigDecimal((String) payload.get("amount")).doubleValue(),
+        event.getCreatedAt());
+  }
+}
@@ -0,0 +1,213 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.infrastructure.RedisService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// feature nhieu ngay theo user trong Redis, cap nhat dan tu giao dich da post:
+//   - HyperLogLog nguoi nhan theo ngay -> distinct recipients N ngay = PFCOUNT tren N key
+//   - hash count/sum theo ngay
+//   - histogram so tien theo bucket log (co dinh ~100 field) -> percentile so voi lich su
+// Key cua 1 user chung hash tag {userId} de chay duoc tren Redis Cluster.
+@Component
+@Slf4j
+public class FraudHistoryStore {
+  private static final RedisScript<Long> RECORD_SCRIPT =
+      RedisScript.of(new ClassPathResource("redis/fraud_feature_record.lua"), Long.class);
+  @SuppressWarnings("rawtypes")
+  private static final RedisScript<List> LOOKUP_SCRIPT =
+      RedisScript.of(new ClassPathResource("redis/fraud_feature_lookup.lua"), List.class);
+  private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+  private static final double BUCKET_BASE = Math.log(1.25);
+  private static final int MAX_BUCKET = 127;
+  private static final Duration AMOUNTS_TTL = Duration.ofDays(180);
+  private static final int REBUILD_BATCH = 500;
+
+  private final RedisService redisService;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate readOnlyTransaction;
+  private final int historyDays;
+  private final int rebuildParallelism;
+  private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+  public FraudHistoryStore(RedisService redisService,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.transaction.fraud.features.history-days}") int historyDays,
+      @Value("${app.transaction.fraud.features.rebuild-parallelism}") int rebuildParallelism) {
+    this.redisService = redisService;
+    this.jdbcTemplate = jdbcTemplate;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.historyDays = historyDays;
+    this.rebuildParallelism = rebuildParallelism;
+  }
+
+  // 1 round trip Redis; Redis loi thi coi nhu chua co lich su, khong chan giao dich
+  public FraudHistory lookup(UUID userId, double amount) {
+    LocalDate today = LocalDate.now();
+    List<String> keys = new ArrayList<>(2 * historyDays + 1);
+    keys.add(amountsKey(userId));
+    for (int i = 0; i < historyDays; i++) {
+      keys.add(dailyKey(userId, today.minusDays(i)));
+    }
+    for (int i = 0; i < historyDays; i++) {
+      keys.add(recipientsKey(userId, today.minusDays(i)));
+    }
+    try {
+      List<?> result = redisService.execute(LOOKUP_SCRIPT, keys, String.valueOf(historyDays),
+          String.valueOf(bucket(amount)));
+      long samples = toLong(result.get(5));
+      double percentile = samples == 0 ? 0
+          : (toLong(result.get(3)) + toLong(result.get(4)) / 2.0) / samples;
+      return new FraudHistory(toLong(result.get(0)), Double.parseDouble(String.valueOf(result.get(1))),
+          toLong(result.get(2)), percentile, samples);
+    } catch (DataAccessException ex) {
+      log.warn("Fraud history unavailable for user={}: {}", userId, ex.getMessage());
+      return FraudHistory.EMPTY;
+    }
+  }
+
+  public void record(UUID transactionId, UUID userId, UUID recipientAccountId, double amount,
+                     LocalDateTime postedAt) {
+    redisService.execute(RECORD_SCRIPT, recordKeys(transactionId, userId, postedAt.toLocalDate()),
+        recordArgs(recipientAccountId, amount, postedAt.toLocalDate()));
+  }
+
+  // xoa toan bo feature roi nap lai historyDays ngay tu ledger, chia user theo hash cho nhieu worker.
+  // Giao dich moi trong luc rebuild van duoc ghi, key seen dedupe nen khong dem 2 lan.
+  public CompletableFuture<Long> rebuild() {
+    if (!rebuilding.compareAndSet(false, true)) {
+      throw new IllegalStateException("Fraud feature rebuild is already running");
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(rebuildParallelism);
+    try {
+      long deleted = redisService.deleteByPattern("fraud:*");
+      log.info("Fraud feature rebuild started, cleared {} keys", deleted);
+      LocalDateTime from = LocalDate.now().minusDays(historyDays - 1L).atStartOfDay();
+      AtomicLong replayed = new AtomicLong();
+      List<CompletableFuture<Void>> slices = new ArrayList<>(rebuildParallelism);
+      for (int slice = 0; slice < rebuildParallelism; slice++) {
+        int current = slice;
+        slices.add(CompletableFuture.runAsync(() -> replaySlice(from, current, replayed), executor));
+      }
+      return CompletableFuture.allOf(slices.toArray(CompletableFuture[]::new))
+          .thenApply(ignored -> replayed.get())
+          .whenComplete((count, ex) -> {
+            executor.shutdown();
+            rebuilding.set(false);
+            if (ex != null) {
+              log.error("Fraud feature rebuild failed", ex);
+            } else {
+              log.info("Fraud feature rebuild finished, replayed {} transfers", count);
+            }
+          });
+    } catch (RuntimeException ex) {
+      executor.shutdown();
+      rebuilding.set(false);
+      throw ex;
+    }
+  }
+
+  private void replaySlice(LocalDateTime from, int slice, AtomicLong replayed) {
+    List<List<String>> keys = new ArrayList<>(REBUILD_BATCH);
+    List<Object[]> args = new ArrayList<>(REBUILD_BATCH);
+    readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+      PreparedStatement ps = connection.prepareStatement("""
+          select t.id, a.user_id, c.account_id, t.amount, t.created_at
+          from transactions t
+          join transaction_entries d on d.transaction_id = t.id and d.entry_type = 'DEBIT'
+          join accounts a on a.id = d.account_id
+          join transaction_entries c on c.transaction_id = t.id and c.entry_type = 'CREDIT'
+          where t.type = 'TRANSFER' and t.status = 'COMPLETED' and t.created_at >= ?
+          and mod(hashtext(a.user_id::text) & 2147483647, ?) = ?
+          """);
+      ps.setTimestamp(1, Timestamp.valueOf(from));
+      ps.setInt(2, rebuildParallelism);
+      ps.setInt(3, slice);
+      ps.setFetchSize(REBUILD_BATCH);
+      return ps;
+    }, rs -> {
+      LocalDate day = rs.getTimestamp(5).toLocalDateTime().toLocalDate();
+      keys.add(recordKeys(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class), day));
+      args.add(recordArgs(rs.getObject(3, UUID.class), rs.getBigDecimal(4).doubleValue(), day));
+      if (keys.size() == REBUILD_BATCH) {
+        flush(keys, args, replayed);
+      }
+    }));
+    flush(keys, args, replayed);
+  }
+
+  private void flush(List<List<String>> keys, List<Object[]> args, AtomicLong replayed) {
+    if (keys.isEmpty()) {
+      return;
+    }
+    redisService.executePipelined(RECORD_SCRIPT, keys, args);
+    replayed.addAndGet(keys.size());
+    keys.clear();
+    args.clear();
+  }
+
+  private List<String> recordKeys(UUID transactionId, UUID userId, LocalDate day) {
+    return List.of("fraud:{" + userId + "}:seen:" + transactionId, recipientsKey(userId, day), dailyKey(userId, day),
+        amountsKey(userId));
+  }
+
+  private Object[] recordArgs(UUID recipientAccountId, double amount, LocalDate day) {
+    // key ngay song du historyDays ke tu ngay cua giao dich
+    long dailyTtl = Math.max(Duration.between(LocalDateTime.now(),
+        day.plusDays(historyDays + 1L).atStartOfDay()).toSeconds(), 1);
+    return new Object[]{
+        recipientAccountId.toString(),
+        String.valueOf(amount),
+        String.valueOf(bucket(amount)),
+        String.valueOf(Duration.ofDays(historyDays + 1L).toSeconds()),
+        String.valueOf(dailyTtl),
+        String.valueOf(AMOUNTS_TTL.toSeconds())};
+  }
+
+  private static int bucket(double amount) {
+    if (amount <= 1) {
+      return 0;
+    }
+    return (int) Math.min(Math.floor(Math.log(amount) / BUCKET_BASE), MAX_BUCKET);
+  }
+
+  private static String amountsKey(UUID userId) {
+    return "fraud:{" + userId + "}:amounts";
+  }
+
+  private static String dailyKey(UUID userId, LocalDate day) {
+    return "fraud:{" + userId + "}:daily:" + day.format(DAY);
+  }
+
+  private static String recipientsKey(UUID userId, LocalDate day) {
+    return "fraud:{" + userId + "}:recipients:" + day.format(DAY);
+  }
+
+  private static long toLong(Object value) {
+    return value instanceof Number number ? number.longValue() : Long.parseLong(String.valueOf(value));
+  }
+}
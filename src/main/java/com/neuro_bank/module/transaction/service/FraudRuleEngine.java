@@ -0,0 +1,180 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.common.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.expression.EvaluationException;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// rule khai bao trong file YAML (name, severity, action ALERT|BLOCK, when = bieu thuc SpEL tren FraudFeatures).
+// Feature: velocity trong memory (FraudFeatureStore) + lich su nhieu ngay trong Redis (FraudHistoryStore).
+// Parse 1 lan khi start/reload, SpEL tu compile sang bytecode sau vai lan chay (MIXED: rule nao khong compile
+// duoc thi van chay interpreted). Danh gia dong bo trong TransferEngine; lich su Redis doc truoc khi lock.
+@Component
+@Slf4j
+public class FraudRuleEngine {
+  private static final List<String> SEVERITIES = List.of("LOW", "MEDIUM", "HIGH", "CRITICAL");
+
+  private final FraudFeatureStore featureStore;
+  private final FraudHistoryStore historyStore;
+  private final ResourceLoader resourceLoader;
+  private final String rulesLocation;
+  private final Map<String, Object> variables;
+  private final SpelExpressionParser parser = new SpelExpressionParser(
+      new SpelParserConfiguration(SpelCompilerMode.MIXED, getClass().getClassLoader()));
+  private final AtomicReference<RuleSet> ruleSet = new AtomicReference<>();
+  private final Timer evaluationTimer;
+  private final Counter blockedCounter;
+
+  public FraudRuleEngine(FraudFeatureStore featureStore,
+      FraudHistoryStore historyStore,
+      ResourceLoader resourceLoader,
+      MeterRegistry meterRegistry,
+      @Value("${app.transaction.fraud.rules-location}") String rulesLocation,
+      @Value("${app.transaction.fraud.high-amount-thresold}") BigDecimal highAmountThreshold,
+      @Value("${app.transaction.fraud.velocity-txn-count-threshold}") long velocityCountThreshold,
+      @Value("${app.transaction.fraud.velocity-block-amount-threshold}") BigDecimal velocityBlockAmountThreshold) {
+    this.featureStore = featureStore;
+    this.historyStore = historyStore;
+    this.resourceLoader = resourceLoader;
+    this.rulesLocation = rulesLocation;
+    // nguong cu trong config duoc dua vao rule duoi dang bien #ten
+    this.variables = Map.of(
+        "highAmountThreshold", highAmountThreshold.doubleValue(),
+        "velocityCountThreshold", velocityCountThreshold,
+        "velocityBlockAmountThreshold", velocityBlockAmountThreshold.doubleValue());
+    this.evaluationTimer = Timer.builder("fraud.evaluation")
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry);
+    this.blockedCounter = meterRegistry.counter("fraud.blocked");
+    this.ruleSet.set(load());
+  }
+
+  public int reload() {
+    RuleSet loaded;
+    try {
+      loaded = load();
+    } catch (RuntimeException ex) {
+      throw BusinessException.badRequest("Invalid fraud rules: " + ex.getMessage());
+    }
+    ruleSet.set(loaded);
+    log.info("Reloaded {} fraud rules from {}", loaded.rules().size(), rulesLocation);
+    return loaded.rules().size();
+  }
+
+  // lich su nhieu ngay can round trip Redis -> goi truoc khi mo transaction / lock account
+  public FraudHistory history(UUID userId, BigDecimal amount) {
+    return historyStore.lookup(userId, amount.doubleValue());
+  }
+
+  // danh gia giao dich sap post (chi doc memory); aggregate chi duoc cap nhat khi transaction DB commit
+  public FraudDecision evaluate(UUID userId, UUID fromAccountId, UUID toAccountId, BigDecimal amount,
+                                FraudHistory history) {
+    long start = System.nanoTime();
+    double value = amount.doubleValue();
+    FraudFeatures features = featureStore.features(userId, fromAccountId, toAccountId, value, history);
+    RuleSet current = ruleSet.get();
+
+    List<String> triggered = null;
+    int severity = -1;
+    boolean blocked = false;
+    for (CompiledRule rule : current.rules()) {
+      if (!matches(rule, current.context(), features)) {
+        continue;
+      }
+      if (triggered == null) {
+        triggered = new ArrayList<>(2);
+      }
+      triggered.add(rule.name());
+      severity = Math.max(severity, rule.severity());
+      blocked |= rule.block();
+    }
+    evaluationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+    if (blocked) {
+      blockedCounter.increment();
+    } else {
+      recordOnCommit(userId, fromAccountId, toAccountId, value);
+    }
+    return triggered == null ? FraudDecision.CLEAN
+        : new FraudDecision(List.copyOf(triggered), SEVERITIES.get(severity), blocked);
+  }
+
+  private boolean matches(CompiledRule rule, StandardEvaluationContext context, FraudFeatures features) {
+    try {
+      return Boolean.TRUE.equals(rule.expression().getValue(context, features, Boolean.class));
+    } catch (EvaluationException ex) {
+      // rule loi khong duoc chan giao dich
+      log.warn("Fraud rule {} failed: {}", rule.name(), ex.getMessage());
+      return false;
+    }
+  }
+
+  private void recordOnCommit(UUID userId, UUID fromAccountId, UUID toAccountId, double amount) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      featureStore.record(userId, fromAccountId, toAccountId, amount);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        featureStore.record(userId, fromAccountId, toAccountId, amount);
+      }
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  private RuleSet load() {
+    Resource resource = resourceLoader.getResource(rulesLocation);
+    List<Map<String, Object>> definitions;
+    try (InputStream in = resource.getInputStream()) {
+      definitions = new Yaml().load(in);
+    } catch (IOException ex) {
+      throw new IllegalStateException("Cannot read fraud rules from " + rulesLocation, ex);
+    }
+
+    StandardEvaluationContext context = new StandardEvaluationContext();
+    context.setVariables(variables);
+    List<CompiledRule> rules = new ArrayList<>();
+    for (Map<String, Object> definition : definitions == null ? List.<Map<String, Object>>of() : definitions) {
+      String name = String.valueOf(definition.get("name"));
+      String severity = String.valueOf(definition.getOrDefault("severity", "MEDIUM")).toUpperCase();
+      if (!SEVERITIES.contains(severity)) {
+        throw new IllegalArgumentException("Unknown severity " + severity + " in rule " + name);
+      }
+      String action = String.valueOf(definition.getOrDefault("action", "ALERT")).toUpperCase();
+      Expression expression = parser.parseExpression(String.valueOf(definition.get("when")));
+      rules.add(new CompiledRule(name, SEVERITIES.indexOf(severity), "BLOCK".equals(action), expression));
+    }
+    return new RuleSet(List.copyOf(rules), context);
+  }
+
+  private record CompiledRule(String name, int severity, boolean block, Expression expression) {
+  }
+
+  private record RuleSet(List<CompiledRule> rules, StandardEvaluationContext context) {
+  }
+}
@@ -0,0 +1,10 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.common.util.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// rate = so don vi target cho 1 don vi source, ratesAsOf = luc nap bang ty gia da dung
+public record FxConversion(Money source, Money target, BigDecimal rate, LocalDateTime ratesAsOf) {
+}
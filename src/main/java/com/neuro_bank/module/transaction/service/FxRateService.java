@@ -0,0 +1,128 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.common.enums.Currency;
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.common.util.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Bang ty gia la snapshot bat bien (mang [from][to] theo ordinal cua Currency), refresh dung bang moi roi
+// thay ca bang qua AtomicReference -> chuyen tien chi doc 1 tham chieu + 1 phep nhan, khong lock.
+// File loi thi giu bang cu.
+@Component
+@Lazy(false)
+@Slf4j
+public class FxRateService {
+  // ty gia suy nguoc (1/rate) giu du chu so, lam tron khi doi ra Money
+  private static final MathContext INVERSE_PRECISION = new MathContext(16, RoundingMode.HALF_EVEN);
+
+  private final ResourceLoader resourceLoader;
+  private final String ratesLocation;
+  private final AtomicReference<RateTable> rateTable = new AtomicReference<>();
+  private final Counter conversionCounter;
+
+  public FxRateService(ResourceLoader resourceLoader,
+      MeterRegistry meterRegistry,
+      @Value("${app.transaction.fx.rates-location}") String ratesLocation) {
+    this.resourceLoader = resourceLoader;
+    this.ratesLocation = ratesLocation;
+    this.conversionCounter = meterRegistry.counter("fx.conversions");
+    this.rateTable.set(load());
+  }
+
+  public int reload() {
+    RateTable loaded;
+    try {
+      loaded = load();
+    } catch (RuntimeException ex) {
+      throw BusinessException.badRequest("Invalid FX rates: " + ex.getMessage());
+    }
+    rateTable.set(loaded);
+    log.info("Reloaded {} FX rates from {}", loaded.pairs(), ratesLocation);
+    return loaded.pairs();
+  }
+
+  @Scheduled(initialDelayString = "${app.transaction.fx.refresh-interval-ms}",
+      fixedDelayString = "${app.transaction.fx.refresh-interval-ms}")
+  public void refresh() {
+    try {
+      rateTable.set(load());
+    } catch (RuntimeException ex) {
+      log.warn("FX rate refresh failed, keeping rates loaded at {}: {}", rateTable.get().loadedAt(),
+          ex.getMessage());
+    }
+  }
+
+  public FxConversion convert(Money amount, Currency target) {
+    RateTable table = rateTable.get();
+    BigDecimal rate = table.rates()[amount.currency().ordinal()][target.ordinal()];
+    if (rate == null) {
+      throw new BusinessException(422, "FX_RATE_UNAVAILABLE",
+          "No exchange rate for " + amount.currency() + "/" + target);
+    }
+    conversionCounter.increment();
+    Money converted = Money.of(amount.toBigDecimal().multiply(rate).setScale(Money.SCALE, RoundingMode.HALF_EVEN),
+        target);
+    return new FxConversion(amount, converted, rate, table.loadedAt());
+  }
+
+  @SuppressWarnings("unchecked")
+  private RateTable load() {
+    Resource resource = resourceLoader.getResource(ratesLocation);
+    List<Map<String, Object>> definitions;
+    try (InputStream in = resource.getInputStream()) {
+      definitions = new Yaml().load(in);
+    } catch (IOException ex) {
+      throw new IllegalStateException("Cannot read FX rates from " + ratesLocation, ex);
+    }
+
+    int size = Currency.values().length;
+    BigDecimal[][] rates = new BigDecimal[size][size];
+    boolean[][] declared = new boolean[size][size];
+    int pairs = 0;
+    for (Map<String, Object> definition : definitions == null ? List.<Map<String, Object>>of() : definitions) {
+      String[] pair = String.valueOf(definition.get("pair")).split("/");
+      if (pair.length != 2) {
+        throw new IllegalArgumentException("Invalid FX pair " + definition.get("pair"));
+      }
+      Currency base = Currency.valueOf(pair[0].trim().toUpperCase());
+      Currency quote = Currency.valueOf(pair[1].trim().toUpperCase());
+      BigDecimal rate = new BigDecimal(String.valueOf(definition.get("rate")));
+      if (base == quote || rate.signum() <= 0) {
+        throw new IllegalArgumentException("Invalid FX rate for " + base + "/" + quote);
+      }
+      rates[base.ordinal()][quote.ordinal()] = rate;
+      declared[base.ordinal()][quote.ordinal()] = true;
+      // cap nguoc khai bao rieng thi uu tien
+      if (!declared[quote.ordinal()][base.ordinal()]) {
+        rates[quote.ordinal()][base.ordinal()] = BigDecimal.ONE.divide(rate, INVERSE_PRECISION);
+      }
+      pairs++;
+    }
+    for (int i = 0; i < size; i++) {
+      rates[i][i] = BigDecimal.ONE;
+    }
+    return new RateTable(rates, pairs, LocalDateTime.now());
+  }
+
+  private record RateTable(BigDecimal[][] rates, int pairs, LocalDateTime loadedAt) {
+  }
+}
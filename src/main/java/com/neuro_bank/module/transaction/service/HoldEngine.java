@@ -0,0 +1,244 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.common.enums.AccountStatus;
+import com.neuro_bank.common.enums.EntryType;
+import com.neuro_bank.common.enums.HoldStatus;
+import com.neuro_bank.common.enums.TransactionStatus;
+import com.neuro_bank.common.enums.TransactionType;
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.common.util.Money;
+import com.neuro_bank.module.account.entity.Account;
+import com.neuro_bank.module.account.repository.AccountRepository;
+import com.neuro_bank.module.account.service.AccountShardService;
+import com.neuro_bank.module.account.service.TransferLimitService;
+import com.neuro_bank.module.ledger.service.BalanceCheckpointService;
+import com.neuro_bank.module.transaction.dto.projection.HoldAccountsView;
+import com.neuro_bank.module.transaction.dto.request.CreateHoldRequest;
+import com.neuro_bank.module.transaction.entity.AccountHold;
+import com.neuro_bank.module.transaction.entity.Transaction;
+import com.neuro_bank.module.transaction.entity.TransactionEntry;
+import com.neuro_bank.module.transaction.repository.AccountHoldRepository;
+import com.neuro_bank.module.transaction.repository.TransactionEntryRepository;
+import com.neuro_bank.module.transaction.repository.TransactionRepository;
+import com.neuro_bank.module.transaction.util.LedgerEntries;
+import com.neuro_bank.module.transaction.util.TransactionEvents;
+import com.neuro_bank.module.transaction.util.TransactionReferenceGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Authorize/capture 2 pha: tao hold chi tru availableBalance, capture moi ghi entry vao ledger.
+// Thu tu lock giong TransferEngine: account (theo id) -> shard -> hold.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HoldEngine {
+  private final AccountRepository accountRepository;
+  private final AccountHoldRepository accountHoldRepository;
+  private final TransactionRepository transactionRepository;
+  private final TransactionEntryRepository transactionEntryRepository;
+  private final OutboxEventWriter outboxEventWriter;
+  private final TransactionReferenceGenerator referenceGenerator;
+  private final AccountShardService accountShardService;
+  private final ShardedLedgerService shardedLedgerService;
+  private final TransferLimitService transferLimitService;
+  private final FraudRuleEngine fraudRuleEngine;
+  private final BalanceCheckpointService balanceCheckpointService;
+  private final TransactionTemplate transactionTemplate;
+
+  // nhu TransferEngine: lich su fraud doc tu Redis truoc khi mo transaction va lock account
+  public AccountHold create(UUID userId, CreateHoldRequest request, LocalDateTime expiresAt, String idempotencyKey,
+                            String requestHash) {
+    if (request.getFromAccountId().equals(request.getToAccountId())) {
+      throw BusinessException.badRequest("Cannot hold funds for the same account");
+    }
+    FraudHistory fraudHistory = fraudRuleEngine.history(userId, request.getAmount());
+    return transactionTemplate.execute(status -> authorize(userId, request, expiresAt, idempotencyKey, requestHash,
+        fraudHistory));
+  }
+
+  private AccountHold authorize(UUID userId, CreateHoldRequest request, LocalDateTime expiresAt,
+                                String idempotencyKey, String requestHash, FraudHistory fraudHistory) {
+    Money amount = Money.of(request.getAmount(), request.getCurrency());
+    // han muc tinh luc authorize nhu the; reserve truoc khi lock account, check fail -> rollback tu tra lai
+    transferLimitService.reserve(userId, request.getFromAccountId(), amount);
+    Account from = accountRepository.findByIdForUpdate(request.getFromAccountId())
+        .orElseThrow(() -> BusinessException.notFound("Account"));
+    // account nhan chi can ton tai luc authorize, lock khi capture
+    Account to = accountRepository.findByIdAndDeletedFalse(request.getToAccountId())
+        .orElseThrow(() -> BusinessException.notFound("Account"));
+    if (!from.getUser().getId().equals(userId)) {
+      throw BusinessException.forbidden("You do not own the source account");
+    }
+    validateAccount(from, "Source");
+    validateAccount(to, "Destination");
+    if (from.getCurrency() != request.getCurrency() || to.getCurrency() != request.getCurrency()) {
+      throw BusinessException.badRequest("Currency mismatch");
+    }
+
+    if (from.getShardCount() > 0 && from.availableMoney().isLessThan(amount)) {
+      shardedLedgerService.fold(from);
+    }
+    Money available = from.availableMoney();
+    if (available.isLessThan(amount)) {
+      throw new BusinessException(422, "INSUFFICIENT_FUNDS", "Insufficient available balance");
+    }
+    FraudDecision fraudDecision = fraudRuleEngine.evaluate(userId, from.getId(), to.getId(), amount.toBigDecimal(),
+        fraudHistory);
+    if (fraudDecision.blocked()) {
+      log.warn("Hold blocked by fraud rules={} user={} from={}", fraudDecision.rules(), userId, from.getId());
+      throw new BusinessException(422, "FRAUD_SUSPECTED", "Authorization was blocked by risk checks");
+    }
+    from.setAvailableBalance(available.minus(amount));
+
+    Transaction transaction = new Transaction();
+    transaction.setReferenceNo(referenceGenerator.nextReference());
+    transaction.setType(TransactionType.TRANSFER);
+    transaction.setCurrency(request.getCurrency());
+    transaction.setAmount(amount);
+    transaction.setFee(Money.zero(request.getCurrency()));
+    transaction.setDescription(request.getDescription());
+    transaction.setIdempotencyKey(idempotencyKey);
+    transaction.setStatus(TransactionStatus.RESERVED);
+    transactionRepository.save(transaction);
+
+    AccountHold hold = new AccountHold();
+    hold.setAccount(from);
+    hold.setToAccount(to);
+    hold.setTransaction(transaction);
+    hold.setAmount(amount.toBigDecimal());
+    hold.setStatus(HoldStatus.ACTIVE);
+    hold.setExpiresAt(expiresAt);
+    hold.setRequestHash(requestHash);
+    accountHoldRepository.save(hold);
+    if (fraudDecision.alerted()) {
+      outboxEventWriter.saveAll(List.of(TransactionEvents.fraudDetected(transaction, userId, fraudDecision)));
+    }
+    return hold;
+  }
+
+  // amount null = capture toan bo; phan con lai tra ve availableBalance
+  @Transactional
+  public AccountHold capture(UUID userId, UUID holdId, BigDecimal amount) {
+    HoldAccountsView accounts = findOwnedHold(userId, holdId);
+    boolean creditToShard = accountShardService.isSharded(accounts.toAccountId());
+    Map<UUID, Account> locked = accountRepository.findAllByIdInForUpdate(creditToShard
+            ? List.of(accounts.accountId())
+            : List.of(accounts.accountId(), accounts.toAccountId())).stream()
+        .collect(Collectors.toMap(Account::getId, Function.identity()));
+    Account from = locked.get(accounts.accountId());
+    Account to = creditToShard
+        ? accountRepository.findByIdAndDeletedFalse(accounts.toAccountId()).orElse(null)
+        : locked.get(accounts.toAccountId());
+    if (from == null || to == null) {
+      throw BusinessException.notFound("Account");
+    }
+    validateAccount(to, "Destination");
+    AccountHold hold = lockActiveHold(holdId);
+    if (!hold.getExpiresAt().isAfter(LocalDateTime.now())) {
+      throw BusinessException.conflict("Hold has expired");
+    }
+    Money held = Money.of(hold.getAmount(), from.getCurrency());
+    Money captured = amount != null ? Money.of(amount, from.getCurrency()) : held;
+    if (captured.isGreaterThan(held)) {
+      throw BusinessException.badRequest("Capture amount exceeds held amount");
+    }
+
+    // tra lai toan bo phan giu roi post so tien capture nhu 1 transfer thuong
+    from.setAvailableBalance(from.availableMoney().plus(held));
+    Transaction transaction = hold.getTransaction();
+    List<TransactionEntry> entries = new ArrayList<>(2);
+    entries.add(LedgerEntries.post(transaction, from, EntryType.DEBIT, captured));
+    entries.add(creditToShard
+        ? shardedLedgerService.creditShard(transaction, to, captured)
+        : LedgerEntries.post(transaction, to, EntryType.CREDIT, captured));
+    transactionEntryRepository.saveAll(entries);
+    transaction.getEntries().addAll(entries);
+    transaction.getMetadata().put("heldAmount", hold.getAmount().toPlainString());
+    transaction.setAmount(captured);
+    transaction.setStatus(TransactionStatus.COMPLETED);
+    transaction.setCompletedAt(LocalDateTime.now());
+    balanceCheckpointService.record(entries);
+
+    // han muc da reserve ca so tien giu -> tra lai phan khong capture
+    transferLimitService.release(from, held.minus(captured), hold.getCreatedAt());
+    hold.setCapturedAmount(captured.toBigDecimal());
+    hold.setStatus(HoldStatus.CAPTURED);
+    hold.setClosedAt(LocalDateTime.now());
+    outboxEventWriter.saveAll(List.of(TransactionEvents.completed(transaction, from, to)));
+    return hold;
+  }
+
+  @Transactional
+  public AccountHold release(UUID userId, UUID holdId) {
+    HoldAccountsView accounts = findOwnedHold(userId, holdId);
+    Account from = lockAccount(accounts.accountId());
+    return close(from, lockActiveHold(holdId), HoldStatus.RELEASED);
+  }
+
+  // goi tu timing wheel; false = hold da duoc capture/release (co the o node khac)
+  @Transactional
+  public boolean expire(UUID holdId) {
+    HoldAccountsView accounts = accountHoldRepository.findAccountsById(holdId).orElse(null);
+    if (accounts == null) {
+      return false;
+    }
+    Account from = lockAccount(accounts.accountId());
+    AccountHold hold = accountHoldRepository.findByIdForUpdate(holdId).orElse(null);
+    if (hold == null || hold.getStatus() != HoldStatus.ACTIVE || hold.getExpiresAt().isAfter(LocalDateTime.now())) {
+      return false;
+    }
+    close(from, hold, HoldStatus.EXPIRED);
+    return true;
+  }
+
+  private AccountHold close(Account from, AccountHold hold, HoldStatus status) {
+    Money held = Money.of(hold.getAmount(), from.getCurrency());
+    from.setAvailableBalance(from.availableMoney().plus(held));
+    transferLimitService.release(from, held, hold.getCreatedAt());
+    hold.getTransaction().setStatus(TransactionStatus.CANCELLED);
+    hold.setStatus(status);
+    hold.setClosedAt(LocalDateTime.now());
+    return hold;
+  }
+
+  private HoldAccountsView findOwnedHold(UUID userId, UUID holdId) {
+    HoldAccountsView accounts = accountHoldRepository.findAccountsById(holdId)
+        .orElseThrow(() -> BusinessException.notFound("Hold"));
+    if (!accounts.ownerId().equals(userId)) {
+      throw BusinessException.notFound("Hold");
+    }
+    return accounts;
+  }
+
+  private Account lockAccount(UUID accountId) {
+    return accountRepository.findByIdForUpdate(accountId)
+        .orElseThrow(() -> BusinessException.notFound("Account"));
+  }
+
+  private AccountHold lockActiveHold(UUID holdId) {
+    AccountHold hold = accountHoldRepository.findByIdForUpdate(holdId)
+        .orElseThrow(() -> BusinessException.notFound("Hold"));
+    if (hold.getStatus() != HoldStatus.ACTIVE) {
+      throw BusinessException.conflict("Hold is already " + hold.getStatus().name().toLowerCase());
+    }
+    return hold;
+  }
+
+  private void validateAccount(Account account, String label) {
+    if (account.getStatus() != AccountStatus.ACTIVE) {
+      throw BusinessException.badRequest(label + " account is not active");
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.common.enums.HoldStatus;
+import com.neuro_bank.infrastructure.HierarchicalTimingWheel;
+import com.neuro_bank.module.transaction.dto.projection.HoldExpiryView;
+import com.neuro_bank.module.transaction.repository.AccountHoldRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Het han hold bang timing wheel trong memory thay vi quet bang moi phut. Wheel chi giu hold het han trong
+// horizon: loader dinh ky doc idx_hold_status_expires (range scan) cho cua so tiep theo, khoi dong lai cung
+// nap lai tu day. Nhieu node cung nap -> cung 1 hold co the duoc expire 2 lan, lan sau thay khong con ACTIVE.
+@Component
+@Lazy(false)
+@Slf4j
+public class HoldExpiryScheduler {
+  private final AccountHoldRepository accountHoldRepository;
+  private final HoldEngine holdEngine;
+  private final HierarchicalTimingWheel<UUID> wheel;
+  // hold da nam trong wheel, tranh loader nap trung
+  private final Set<UUID> scheduled = ConcurrentHashMap.newKeySet();
+  private final long tickMs;
+  private final Duration horizon;
+  private final int loadBatchSize;
+  private final int workers;
+  private final Counter expiredCounter;
+  private final Counter failedCounter;
+  private volatile LocalDateTime loadedUntil = LocalDateTime.MIN;
+  private ScheduledExecutorService ticker;
+  private ExecutorService executor;
+
+  public HoldExpiryScheduler(AccountHoldRepository accountHoldRepository,
+      HoldEngine holdEngine,
+      MeterRegistry meterRegistry,
+      @Value("${app.transaction.hold.tick-ms}") long tickMs,
+      @Value("${app.transaction.hold.wheel-size}") int wheelSize,
+      @Value("${app.transaction.hold.wheel-levels}") int wheelLevels,
+      @Value("${app.transaction.hold.horizon-minutes}") long horizonMinutes,
+      @Value("${app.transaction.hold.load-batch-size}") int loadBatchSize,
+      @Value("${app.transaction.hold.expiry-workers}") int workers) {
+    this.accountHoldRepository = accountHoldRepository;
+    this.holdEngine = holdEngine;
+    this.wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, wheelLevels, System.currentTimeMillis());
+    this.tickMs = tickMs;
+    this.horizon = Duration.ofMinutes(horizonMinutes);
+    this.loadBatchSize = loadBatchSize;
+    this.workers = workers;
+    this.expiredCounter = meterRegistry.counter("holds.expired");
+    this.failedCounter = meterRegistry.counter("holds.expiry.failed");
+    Gauge.builder("holds.wheel.size", wheel, HierarchicalTimingWheel::size)
+        .description("Holds waiting for expiry in the in-memory timing wheel")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("hold-expiry-"));
+    ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("hold-wheel-"));
+    ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    ticker.shutdownNow();
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  // goi sau khi hold commit; hold ngoai horizon de loader nap sau
+  public void track(UUID holdId, LocalDateTime expiresAt) {
+    if (expiresAt.isBefore(loadedUntil)) {
+      schedule(holdId, expiresAt);
+    }
+  }
+
+  // chay luc khoi dong (nap ca hold da qua han luc node tat) va moi load-interval-ms
+  @Scheduled(fixedDelayString = "${app.transaction.hold.load-interval-ms}")
+  public void loadHorizon() {
+    LocalDateTime until = LocalDateTime.now().plus(horizon);
+    // dat truoc khi doc: hold tao trong luc nap se tu track, trung thi set chan
+    loadedUntil = until;
+    int loaded = 0;
+    List<HoldExpiryView> batch = accountHoldRepository.findExpiring(HoldStatus.ACTIVE, until,
+        Limit.of(loadBatchSize));
+    while (!batch.isEmpty()) {
+      for (HoldExpiryView view : batch) {
+        if (schedule(view.id(), view.expiresAt())) {
+          loaded++;
+        }
+      }
+      if (batch.size() < loadBatchSize) {
+        break;
+      }
+      HoldExpiryView last = batch.get(batch.size() - 1);
+      batch = accountHoldRepository.findExpiringAfter(HoldStatus.ACTIVE, until, last.expiresAt(), last.id(),
+          Limit.of(loadBatchSize));
+    }
+    if (loaded > 0) {
+      log.info("Loaded {} holds expiring before {} into timing wheel", loaded, until);
+    }
+  }
+
+  private boolean schedule(UUID holdId, LocalDateTime expiresAt) {
+    if (!scheduled.add(holdId)) {
+      return false;
+    }
+    wheel.schedule(holdId, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    return true;
+  }
+
+  private void tick() {
+    try {
+      for (UUID holdId : wheel.advance(System.currentTimeMillis())) {
+        executor.execute(() -> expire(holdId));
+      }
+    } catch (RuntimeException ex) {
+      // exception lam scheduleAtFixedRate dung han -> nuot va log
+      log.error("Hold timing wheel tick failed", ex);
+    }
+  }
+
+  private void expire(UUID holdId) {
+    try {
+      if (holdEngine.expire(holdId)) {
+        expiredCounter.increment();
+      }
+    } catch (RuntimeException ex) {
+      // hold van ACTIVE trong DB -> loader lan sau nap lai
+      failedCounter.increment();
+      log.warn("Failed to expire hold={}: {}", holdId, ex.getMessage());
+    } finally {
+      scheduled.remove(holdId);
+    }
+  }
+}
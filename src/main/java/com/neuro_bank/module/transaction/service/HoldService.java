@@ -0,0 +1,17 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.module.transaction.dto.request.CaptureHoldRequest;
+import com.neuro_bank.module.transaction.dto.request.CreateHoldRequest;
+import com.neuro_bank.module.transaction.dto.response.HoldResponse;
+
+import java.util.UUID;
+
+public interface HoldService {
+  HoldResponse createHold(UUID userId, CreateHoldRequest request, String idempotencyKey);
+
+  HoldResponse capture(UUID userId, UUID holdId, CaptureHoldRequest request);
+
+  HoldResponse release(UUID userId, UUID holdId);
+
+  HoldResponse getHold(UUID userId, UUID holdId);
+}
@@ -0,0 +1,102 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.infrastructure.IdempotencyService;
+import com.neuro_bank.module.transaction.dto.request.CaptureHoldRequest;
+import com.neuro_bank.module.transaction.dto.request.CreateHoldRequest;
+import com.neuro_bank.module.transaction.dto.response.HoldResponse;
+import com.neuro_bank.module.transaction.entity.AccountHold;
+import com.neuro_bank.module.transaction.repository.AccountHoldRepository;
+import com.neuro_bank.module.transaction.util.TransactionHashService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class HoldServiceImpl implements HoldService {
+  private static final String HOLD_ENDPOINT = "POST:/api/v1/holds";
+
+  private final HoldEngine holdEngine;
+  private final HoldExpiryScheduler holdExpiryScheduler;
+  private final AccountHoldRepository accountHoldRepository;
+  private final TransactionHashService transactionHashService;
+  private final Duration defaultTtl;
+  private final Duration maxTtl;
+
+  public HoldServiceImpl(HoldEngine holdEngine,
+      HoldExpiryScheduler holdExpiryScheduler,
+      AccountHoldRepository accountHoldRepository,
+      TransactionHashService transactionHashService,
+      @Value("${app.transaction.hold.default-ttl-minutes}") long defaultTtlMinutes,
+      @Value("${app.transaction.hold.max-ttl-days}") long maxTtlDays) {
+    this.holdEngine = holdEngine;
+    this.holdExpiryScheduler = holdExpiryScheduler;
+    this.accountHoldRepository = accountHoldRepository;
+    this.transactionHashService = transactionHashService;
+    this.defaultTtl = Duration.ofMinutes(defaultTtlMinutes);
+    this.maxTtl = Duration.ofDays(maxTtlDays);
+  }
+
+  // HoldEngine commit xong moi dua vao timing wheel
+  @Override
+  public HoldResponse createHold(UUID userId, CreateHoldRequest request, String idempotencyKey) {
+    Duration ttl = request.getTtlSeconds() != null ? Duration.ofSeconds(request.getTtlSeconds()) : defaultTtl;
+    if (ttl.compareTo(maxTtl) > 0) {
+      throw BusinessException.badRequest("ttlSeconds exceeds the maximum hold duration");
+    }
+    String hashedKey = idempotencyKey == null ? null
+        : transactionHashService.hashIdempotencyKey(userId, HOLD_ENDPOINT, idempotencyKey);
+    String requestHash = hashedKey == null ? null : transactionHashService.hashHoldRequest(request);
+    Optional<HoldResponse> existing = findByIdempotencyKey(hashedKey, requestHash);
+    if (existing.isPresent()) {
+      return existing.get();
+    }
+    try {
+      AccountHold hold = holdEngine.create(userId, request, LocalDateTime.now().plus(ttl), hashedKey, requestHash);
+      holdExpiryScheduler.track(hold.getId(), hold.getExpiresAt());
+      return HoldResponse.from(hold);
+    } catch (DataIntegrityViolationException ex) {
+      // 2 request trung key chay song song -> tra ve hold cua request dau tien
+      return findByIdempotencyKey(hashedKey, requestHash).orElseThrow(() -> ex);
+    }
+  }
+
+  @Override
+  public HoldResponse capture(UUID userId, UUID holdId, CaptureHoldRequest request) {
+    return HoldResponse.from(holdEngine.capture(userId, holdId, request.getAmount()));
+  }
+
+  @Override
+  public HoldResponse release(UUID userId, UUID holdId) {
+    return HoldResponse.from(holdEngine.release(userId, holdId));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public HoldResponse getHold(UUID userId, UUID holdId) {
+    AccountHold hold = accountHoldRepository.findWithAccountById(holdId)
+        .orElseThrow(() -> BusinessException.notFound("Hold"));
+    if (!hold.getAccount().getUser().getId().equals(userId)) {
+      throw BusinessException.notFound("Hold");
+    }
+    return HoldResponse.from(hold);
+  }
+
+  // key da dung voi request khac -> 422 nhu TransactionServiceImpl
+  private Optional<HoldResponse> findByIdempotencyKey(String hashedKey, String requestHash) {
+    if (hashedKey == null) {
+      return Optional.empty();
+    }
+    return accountHoldRepository.findByIdempotencyKey(hashedKey)
+        .map(hold -> {
+          IdempotencyService.verifyRequestHash(hold.getRequestHash(), requestHash);
+          return HoldResponse.from(hold);
+        });
+  }
+}
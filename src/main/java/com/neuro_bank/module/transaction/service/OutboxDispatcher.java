@@ -0,0 +1,209 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.module.transaction.entity.OutboxEvent;
+import com.neuro_bank.module.transaction.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// N worker moi node, claim batch bang FOR UPDATE SKIP LOCKED -> scale ngang khong giao trung.
+// Transaction claim giu lock cua batch va ghi processed/retryCount; moi handler chay trong transaction rieng
+// (REQUIRES_NEW) -> loi DB cua handler luc flush/commit chi rollback event do, khong keo ca batch va mat
+// retryCount. Moi worker dung toi 2 connection (claim + handler).
+@Component
+@Lazy(false)
+@Slf4j
+public class OutboxDispatcher {
+  private static final int MAX_ERROR_LENGTH = 255;
+  // bu lech dong ho giua cac node khi tinh watermark
+  private static final Duration LIVE_FROM_MARGIN = Duration.ofHours(1);
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final List<OutboxEventHandler> handlers;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate handlerTemplate;
+  private final int workers;
+  private final int batchSize;
+  private final long pollIntervalMs;
+  private final int maxAttempts;
+  private final long backoffInitialMs;
+  private final long backoffMaxMs;
+
+  private final Object monitor = new Object();
+  private final AtomicBoolean pending = new AtomicBoolean(true);
+  private final AtomicLong lagMillis = new AtomicLong();
+  private final AtomicReference<LocalDateTime> liveFrom = new AtomicReference<>(LocalDateTime.of(1970, 1, 1, 0, 0));
+  private final Counter dispatchedCounter;
+  private final Counter failedCounter;
+  private volatile boolean running;
+  private ExecutorService executor;
+
+  public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+      List<OutboxEventHandler> handlers,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.transaction.outbox.workers}") int workers,
+      @Value("${app.transaction.outbox.batch-size}") int batchSize,
+      @Value("${app.transaction.outbox.poll-interval-ms}") long pollIntervalMs,
+      @Value("${app.transaction.outbox.max-attempts}") int maxAttempts,
+      @Value("${app.transaction.outbox.backoff-initial-ms}") long backoffInitialMs,
+      @Value("${app.transaction.outbox.backoff-max-ms}") long backoffMaxMs) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.handlers = handlers;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.handlerTemplate = new TransactionTemplate(transactionManager);
+    this.handlerTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.workers = workers;
+    this.batchSize = batchSize;
+    this.pollIntervalMs = pollIntervalMs;
+    this.maxAttempts = maxAttempts;
+    this.backoffInitialMs = backoffInitialMs;
+    this.backoffMaxMs = backoffMaxMs;
+    this.dispatchedCounter = meterRegistry.counter("outbox.dispatched");
+    this.failedCounter = meterRegistry.counter("outbox.failed");
+    Gauge.builder("outbox.publish.lag.seconds", lagMillis, lag -> lag.get() / 1000.0)
+        .description("Age of the oldest unprocessed outbox event")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    running = true;
+    executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("outbox-worker-"));
+    for (int i = 0; i < workers; i++) {
+      executor.execute(this::runWorker);
+    }
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    wakeUp();
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  // goi tu LISTEN thread khi co NOTIFY
+  public void wakeUp() {
+    pending.set(true);
+    synchronized (monitor) {
+      monitor.notifyAll();
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.transaction.outbox.lag-refresh-ms}")
+  public void refreshLag() {
+    LocalDateTime now = LocalDateTime.now();
+    Optional<LocalDateTime> oldest = outboxEventRepository.findOldestPendingCreatedAt(maxAttempts);
+    lagMillis.set(oldest.map(created -> Math.max(Duration.between(created, now).toMillis(), 0)).orElse(0L));
+    // event moi luon co created_at >= now nen watermark chi can <= event pending cu nhat
+    LocalDateTime watermark = oldest.filter(created -> created.isBefore(now)).orElse(now);
+    liveFrom.set(watermark.minus(LIVE_FROM_MARGIN));
+  }
+
+  private void runWorker() {
+    while (running) {
+      try {
+        pending.set(false);
+        // batch day -> con viec, claim tiep khong cho
+        if (dispatchBatch() >= batchSize) {
+          continue;
+        }
+        awaitWakeUp();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException ex) {
+        log.error("Outbox dispatch failed", ex);
+        sleepQuietly();
+      }
+    }
+  }
+
+  private int dispatchBatch() {
+    Integer claimed = transactionTemplate.execute(status -> {
+      List<OutboxEvent> events = outboxEventRepository.claimBatch(liveFrom.get(), LocalDateTime.now(),
+          maxAttempts, batchSize);
+      events.forEach(this::deliver);
+      return events.size();
+    });
+    return claimed == null ? 0 : claimed;
+  }
+
+  private void deliver(OutboxEvent event) {
+    try {
+      for (OutboxEventHandler handler : handlers) {
+        if (handler.supports(event.getEventType())) {
+          handlerTemplate.executeWithoutResult(status -> handler.handle(event));
+        }
+      }
+      event.setProcessed(true);
+      event.setProcessedAt(LocalDateTime.now());
+      event.setLastError(null);
+      dispatchedCounter.increment();
+    } catch (RuntimeException ex) {
+      int attempts = event.getRetryCount() + 1;
+      event.setRetryCount(attempts);
+      event.setLastError(truncate(ex.getClass().getSimpleName() + ": " + ex.getMessage()));
+      event.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoff(attempts))));
+      failedCounter.increment();
+      if (attempts >= maxAttempts) {
+        log.error("Outbox event={} type={} gave up after {} attempts", event.getId(), event.getEventType(),
+            attempts, ex);
+      } else {
+        log.warn("Outbox event={} type={} failed attempt {}: {}", event.getId(), event.getEventType(), attempts,
+            ex.getMessage());
+      }
+    }
+  }
+
+  // exponential backoff + jitter de cac node khong retry cung luc
+  private long backoff(int attempts) {
+    long delay = backoffInitialMs << Math.min(attempts - 1, 20);
+    delay = Math.min(delay, backoffMaxMs);
+    return delay + ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+  }
+
+  private void awaitWakeUp() throws InterruptedException {
+    synchronized (monitor) {
+      if (!pending.get() && running) {
+        monitor.wait(pollIntervalMs);
+      }
+    }
+  }
+
+  private void sleepQuietly() {
+    try {
+      Thread.sleep(pollIntervalMs);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static String truncate(String message) {
+    return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+  }
+}
@@ -0,0 +1,10 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.module.transaction.entity.OutboxEvent;
+
+// handler phai idempotent: event co the duoc giao lai khi 1 handler khac cung event bi loi
+public interface OutboxEventHandler {
+  boolean supports(String eventType);
+
+  void handle(OutboxEvent event);
+}
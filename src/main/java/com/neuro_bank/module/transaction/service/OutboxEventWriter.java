@@ -0,0 +1,41 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.module.transaction.entity.OutboxEvent;
+import com.neuro_bank.module.transaction.repository.OutboxEventRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// ghi outbox + NOTIFY trong cung transaction; Postgres chi giao NOTIFY khi commit
+@Component
+@RequiredArgsConstructor
+public class OutboxEventWriter {
+  private final OutboxEventRepository outboxEventRepository;
+  private final EntityManager entityManager;
+
+  @Value("${app.transaction.outbox.notify-channel}")
+  private String notifyChannel;
+
+  public OutboxEvent save(OutboxEvent event) {
+    return saveAll(List.of(event)).get(0);
+  }
+
+  public List<OutboxEvent> saveAll(List<OutboxEvent> events) {
+    if (events.isEmpty()) {
+      return events;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    for (OutboxEvent event : events) {
+      if (event.getNextAttemptAt() == null) {
+        event.setNextAttemptAt(now);
+      }
+    }
+    List<OutboxEvent> saved = outboxEventRepository.saveAll(events);
+    entityManager.createNativeQuery("NOTIFY " + notifyChannel).executeUpdate();
+    return saved;
+  }
+}
@@ -0,0 +1,84 @@
+package com.neuro_bank.module.transaction.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// giu 1 connection LISTEN rieng, danh thuc OutboxDispatcher khi co event moi commit
+@Component
+@Lazy(false)
+@Slf4j
+public class OutboxNotificationListener {
+  private static final int RECONNECT_DELAY_MS = 5000;
+
+  private final DataSource dataSource;
+  private final OutboxDispatcher outboxDispatcher;
+  private final String channel;
+  private final int pollIntervalMs;
+  private volatile boolean running;
+  private Thread thread;
+
+  public OutboxNotificationListener(DataSource dataSource,
+      OutboxDispatcher outboxDispatcher,
+      @Value("${app.transaction.outbox.notify-channel}") String channel,
+      @Value("${app.transaction.outbox.poll-interval-ms}") int pollIntervalMs) {
+    this.dataSource = dataSource;
+    this.outboxDispatcher = outboxDispatcher;
+    this.channel = channel;
+    this.pollIntervalMs = pollIntervalMs;
+  }
+
+  @PostConstruct
+  public void start() {
+    running = true;
+    thread = new Thread(this::run, "outbox-listener");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @PreDestroy
+  public void stop() {
+    running = false;
+    thread.interrupt();
+  }
+
+  private void run() {
+    while (running) {
+      try (Connection connection = dataSource.getConnection()) {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("LISTEN " + channel);
+        }
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        log.info("Listening for outbox notifications on channel={}", channel);
+        while (running) {
+          PGNotification[] notifications = pgConnection.getNotifications(pollIntervalMs);
+          if (notifications != null && notifications.length > 0) {
+            outboxDispatcher.wakeUp();
+          }
+        }
+      } catch (SQLException ex) {
+        if (!running) {
+          return;
+        }
+        log.warn("Outbox LISTEN connection lost, reconnecting in {}ms: {}", RECONNECT_DELAY_MS, ex.getMessage());
+        try {
+          Thread.sleep(RECONNECT_DELAY_MS);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,271 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+// outbox_events partition theo ngay (xem db/outbox_events_partitioning.sql):
+// tao truoc partition cho cac ngay toi, detach + drop partition da xu ly het va qua retention.
+// Neu bang chua partition thi fallback xoa theo batch cac event da xu ly.
+@Component
+@Lazy(false)
+@Slf4j
+public class OutboxPartitionManager {
+  private static final String TABLE = "outbox_events";
+  private static final String PARTITION_PREFIX = TABLE + "_p";
+  private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+  private static final String DEFAULT_PARTITION = TABLE + "_default";
+  private static final int DELETE_BATCH_SIZE = 5000;
+  // detach giu ACCESS EXCLUSIVE tren bang cha: cho lock toi da 2s roi thu lai, khong de insert xep hang sau no
+  private static final String DETACH_LOCK_TIMEOUT = "2s";
+  private static final int DETACH_ATTEMPTS = 3;
+  private static final long DETACH_RETRY_DELAY_MS = 5000;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final int retentionDays;
+  private final int premakeDays;
+  private final boolean archiveEnabled;
+  private final Path archiveDir;
+
+  public OutboxPartitionManager(JdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate,
+      ObjectMapper objectMapper,
+      @Value("${app.transaction.outbox.retention.days}") int retentionDays,
+      @Value("${app.transaction.outbox.retention.premake-days}") int premakeDays,
+      @Value("${app.transaction.outbox.retention.archive-enabled}") boolean archiveEnabled,
+      @Value("${app.transaction.outbox.retention.archive-dir}") String archiveDir) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.objectMapper = objectMapper;
+    this.retentionDays = retentionDays;
+    this.premakeDays = premakeDays;
+    this.archiveEnabled = archiveEnabled;
+    this.archiveDir = Path.of(archiveDir);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onStartup() {
+    if (isPartitioned()) {
+      createUpcomingPartitions();
+    }
+  }
+
+  @Scheduled(cron = "${app.transaction.outbox.retention.cron}")
+  public void maintain() {
+    if (!isPartitioned()) {
+      purgeProcessedRows();
+      return;
+    }
+    createUpcomingPartitions();
+    LocalDate cutoff = today().minusDays(retentionDays);
+    for (String partition : listDailyPartitions()) {
+      LocalDate day = LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+      if (!day.isBefore(cutoff)) {
+        continue;
+      }
+      try {
+        retirePartition(partition);
+      } catch (RuntimeException | IOException ex) {
+        log.error("Failed to retire outbox partition={}", partition, ex);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private boolean isPartitioned() {
+    List<String> kinds = jdbcTemplate.queryForList(
+        "select c.relkind::text from pg_class c where c.relname = ? and pg_table_is_visible(c.oid)",
+        String.class, TABLE);
+    return kinds.contains("p");
+  }
+
+  // created_at do auditing ghi bang LocalDateTime.now() cua JVM -> ngay partition cung tinh theo gio JVM,
+  // khong dung current_date cua DB (lech zone thi event roi vao partition default)
+  private static LocalDate today() {
+    return LocalDateTime.now().toLocalDate();
+  }
+
+  private void createUpcomingPartitions() {
+    LocalDate today = today();
+    for (int i = 0; i <= premakeDays; i++) {
+      createPartition(today.plusDays(i));
+    }
+  }
+
+  // "partition of" loi neu default da co row cua ngay do (partition tao tre) -> chuyen cac row do sang bang moi
+  // roi attach, trong 1 transaction
+  private void createPartition(LocalDate day) {
+    String partition = partitionName(day);
+    Boolean exists = jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, partition);
+    if (Boolean.TRUE.equals(exists)) {
+      return;
+    }
+    Timestamp from = Timestamp.valueOf(day.atStartOfDay());
+    Timestamp to = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+    Boolean spilled = jdbcTemplate.queryForObject(
+        "select exists (select 1 from " + DEFAULT_PARTITION + " where created_at >= ? and created_at < ?)",
+        Boolean.class, from, to);
+    String bounds = " for values from ('" + day + "') to ('" + day.plusDays(1) + "')";
+    if (!Boolean.TRUE.equals(spilled)) {
+      jdbcTemplate.execute("create table if not exists " + partition + " partition of " + TABLE + bounds);
+      return;
+    }
+    Integer moved = transactionTemplate.execute(status -> {
+      jdbcTemplate.execute("create table " + partition + " (like " + TABLE
+          + " including defaults including constraints)");
+      int rows = jdbcTemplate.update("""
+          with moved as (
+              delete from %s where created_at >= ? and created_at < ? returning *)
+          insert into %s select * from moved
+          """.formatted(DEFAULT_PARTITION, partition), from, to);
+      // attach quet lai default duoi lock: row moi chen giua chung -> loi, rollback, lan chay sau lam lai
+      jdbcTemplate.execute("alter table " + TABLE + " attach partition " + partition + bounds);
+      return rows;
+    });
+    log.warn("Created outbox partition={} late, moved {} events out of {}", partition, moved, DEFAULT_PARTITION);
+  }
+
+  private List<String> listDailyPartitions() {
+    return jdbcTemplate.queryForList("""
+            select c.relname
+            from pg_inherits i
+            join pg_class c on c.oid = i.inhrelid
+            join pg_class p on p.oid = i.inhparent
+            where p.relname = ? and c.relname ~ '^outbox_events_p[0-9]{8}$'
+            order by c.relname
+            """, String.class, TABLE);
+  }
+
+  private void retirePartition(String partition) throws IOException, InterruptedException {
+    Boolean hasPending = jdbcTemplate.queryForObject(
+        "select exists (select 1 from " + partition + " where processed = false)", Boolean.class);
+    if (Boolean.TRUE.equals(hasPending)) {
+      log.warn("Outbox partition={} is past retention but still has unprocessed events", partition);
+      return;
+    }
+    if (archiveEnabled) {
+      archive(partition);
+    }
+    detachAndDrop(partition);
+    log.info("Dropped outbox partition={}", partition);
+  }
+
+  // detach thuong lay ACCESS EXCLUSIVE tren bang cha (chan ca insert outbox) trong luc cho lock;
+  // DETACH ... CONCURRENTLY khong dung duoc vi bang co partition default. Nen gioi han lock_timeout va thu lai;
+  // drop chi lock partition da tach.
+  private void detachAndDrop(String partition) throws InterruptedException {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        transactionTemplate.executeWithoutResult(status -> {
+          jdbcTemplate.execute("set local lock_timeout = '" + DETACH_LOCK_TIMEOUT + "'");
+          jdbcTemplate.execute("alter table " + TABLE + " detach partition " + partition);
+          jdbcTemplate.execute("drop table " + partition);
+        });
+        return;
+      } catch (PessimisticLockingFailureException ex) {
+        if (attempt >= DETACH_ATTEMPTS) {
+          throw ex;
+        }
+        log.info("Outbox partition={} detach timed out waiting for lock, attempt {}/{}",
+            partition, attempt, DETACH_ATTEMPTS);
+        Thread.sleep(DETACH_RETRY_DELAY_MS);
+      }
+    }
+  }
+
+  // NDJSON nen gzip, ghi ra file tam roi rename -> khong de lai file dang do neu loi giua chung
+  private void archive(String partition) throws IOException {
+    Files.createDirectories(archiveDir);
+    Path target = archiveDir.resolve(partition + ".ndjson.gz");
+    Path tmp = archiveDir.resolve(partition + ".ndjson.gz.tmp");
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp));
+         JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+      transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+        PreparedStatement ps = connection.prepareStatement("""
+            select id, event_type, aggregate_type, aggregate_id, payload::text, created_at, processed_at, retry_count
+            from %s order by created_at
+            """.formatted(partition));
+        ps.setFetchSize(1000);
+        return ps;
+      }, rs -> {
+        try {
+          generator.writeStartObject();
+          generator.writeStringField("id", rs.getString(1));
+          generator.writeStringField("eventType", rs.getString(2));
+          generator.writeStringField("aggregateType", rs.getString(3));
+          generator.writeStringField("aggregateId", rs.getString(4));
+          generator.writeFieldName("payload");
+          generator.writeRawValue(rs.getString(5));
+          generator.writeStringField("createdAt", toIso(rs.getTimestamp(6)));
+          generator.writeStringField("processedAt", toIso(rs.getTimestamp(7)));
+          generator.writeNumberField("retryCount", rs.getInt(8));
+          generator.writeEndObject();
+          generator.writeRaw('\n');
+        } catch (IOException ex) {
+          throw new UncheckedIOException(ex);
+        }
+      }));
+    } catch (UncheckedIOException ex) {
+      Files.deleteIfExists(tmp);
+      throw ex.getCause();
+    } catch (RuntimeException ex) {
+      Files.deleteIfExists(tmp);
+      throw ex;
+    }
+    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    log.info("Archived outbox partition={} to {}", partition, target);
+  }
+
+  // bang chua partition: xoa dan theo batch de vacuum theo kip, khong lock lau
+  private void purgeProcessedRows() {
+    Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays));
+    int total = 0;
+    int deleted;
+    do {
+      deleted = jdbcTemplate.update("""
+          delete from outbox_events where id in (
+              select id from outbox_events where processed = true and created_at < ? limit ?)
+          """, cutoff, DELETE_BATCH_SIZE);
+      total += deleted;
+    } while (deleted == DELETE_BATCH_SIZE);
+    if (total > 0) {
+      log.info("Purged {} processed outbox events older than {} days", total, retentionDays);
+    }
+  }
+
+  private static String partitionName(LocalDate day) {
+    return PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+  }
+
+  private static String toIso(Timestamp timestamp) {
+    return timestamp == null ? null : timestamp.toLocalDateTime().toString();
+  }
+}
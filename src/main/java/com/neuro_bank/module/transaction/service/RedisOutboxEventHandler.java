@@ -0,0 +1,44 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neuro_bank.infrastructure.RedisService;
+import com.neuro_bank.module.transaction.entity.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// publish moi event ra Redis channel <prefix><eventType> cho notification/consumer khac
+@Component
+@RequiredArgsConstructor
+public class RedisOutboxEventHandler implements OutboxEventHandler {
+  private final RedisService redisService;
+  private final ObjectMapper objectMapper;
+
+  @Value("${app.transaction.outbox.redis-channel-prefix}")
+  private String channelPrefix;
+
+  @Override
+  public boolean supports(String eventType) {
+    return true;
+  }
+
+  @Override
+  public void handle(OutboxEvent event) {
+    Map<String, Object> message = new LinkedHashMap<>();
+    message.put("id", event.getId());
+    message.put("eventType", event.getEventType());
+    message.put("aggregateType", event.getAggregateType());
+    message.put("aggregateId", event.getAggregateId());
+    message.put("createdAt", event.getCreatedAt());
+    message.put("payload", event.getPayload());
+    try {
+      redisService.publish(channelPrefix + event.getEventType(), objectMapper.writeValueAsString(message));
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Cannot serialize outbox event " + event.getId(), ex);
+    }
+  }
+}
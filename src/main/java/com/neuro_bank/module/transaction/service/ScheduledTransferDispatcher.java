@@ -0,0 +1,251 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.common.enums.Currency;
+import com.neuro_bank.common.enums.ScheduleFrequency;
+import com.neuro_bank.common.enums.ScheduledTransferStatus;
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.module.transaction.dto.request.CreateTransferRequest;
+import com.neuro_bank.module.transaction.entity.ScheduledTransfer;
+import com.neuro_bank.module.transaction.repository.ScheduledTransferRepository;
+import com.neuro_bank.module.transaction.repository.TransactionRepository;
+import com.neuro_bank.module.transaction.util.TransactionHashService;
+import com.neuro_bank.module.transaction.util.TransferSchedule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Moi node 1 thread claim bucket den han (FOR UPDATE SKIP LOCKED + lease) va 1 pool worker rieng chay transfer.
+// So worker co dinh va nho hon hikari pool -> dinh dau thang hang tram nghin lenh van chi chiem toi da
+// `workers` connection, request tuong tac (StripedExecutor) khong bi bo doi.
+@Component
+@Lazy(false)
+@Slf4j
+public class ScheduledTransferDispatcher {
+  private static final String SCHEDULED_ENDPOINT = "SCHEDULED:";
+  private static final int MAX_ERROR_LENGTH = 255;
+
+  private final ScheduledTransferRepository scheduledTransferRepository;
+  private final TransactionRepository transactionRepository;
+  private final TransferEngine transferEngine;
+  private final TransactionHashService transactionHashService;
+  private final TransactionTemplate transactionTemplate;
+  private final int workers;
+  private final int batchSize;
+  private final long pollIntervalMs;
+  private final long leaseSeconds;
+  private final int maxConsecutiveFailures;
+  private final Counter executedCounter;
+  private final Counter failedCounter;
+  private volatile boolean running;
+  private ExecutorService claimer;
+  private ExecutorService executor;
+
+  public ScheduledTransferDispatcher(ScheduledTransferRepository scheduledTransferRepository,
+      TransactionRepository transactionRepository,
+      TransferEngine transferEngine,
+      TransactionHashService transactionHashService,
+      TransactionTemplate transactionTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${app.transaction.scheduled.workers}") int workers,
+      @Value("${app.transaction.scheduled.batch-size}") int batchSize,
+      @Value("${app.transaction.scheduled.poll-interval-ms}") long pollIntervalMs,
+      @Value("${app.transaction.scheduled.lease-seconds}") long leaseSeconds,
+      @Value("${app.transaction.scheduled.max-consecutive-failures}") int maxConsecutiveFailures) {
+    this.scheduledTransferRepository = scheduledTransferRepository;
+    this.transactionRepository = transactionRepository;
+    this.transferEngine = transferEngine;
+    this.transactionHashService = transactionHashService;
+    this.transactionTemplate = transactionTemplate;
+    this.workers = workers;
+    this.batchSize = batchSize;
+    this.pollIntervalMs = pollIntervalMs;
+    this.leaseSeconds = leaseSeconds;
+    this.maxConsecutiveFailures = maxConsecutiveFailures;
+    this.executedCounter = meterRegistry.counter("scheduled.transfers.executed");
+    this.failedCounter = meterRegistry.counter("scheduled.transfers.failed");
+  }
+
+  @PostConstruct
+  public void start() {
+    running = true;
+    executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("scheduled-transfer-"));
+    claimer = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("scheduled-claim-"));
+    claimer.execute(this::runClaimer);
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    claimer.shutdownNow();
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  // key co dinh theo (lenh, lan chay): chay lai sau crash/het lease khong chuyen tien 2 lan
+  public String idempotencyKey(UUID userId, UUID instructionId, int occurrence) {
+    return transactionHashService.hashIdempotencyKey(userId, SCHEDULED_ENDPOINT + instructionId,
+        String.valueOf(occurrence));
+  }
+
+  private void runClaimer() {
+    while (running) {
+      try {
+        List<ClaimedRun> runs = claim();
+        if (runs.isEmpty()) {
+          Thread.sleep(pollIntervalMs);
+          continue;
+        }
+        // batch day -> con bucket den han, claim tiep ngay
+        executor.invokeAll(runs.stream().<Callable<Void>>map(run -> () -> {
+          execute(run);
+          return null;
+        }).toList());
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException ex) {
+        log.error("Scheduled transfer claim failed", ex);
+        sleepQuietly();
+      }
+    }
+  }
+
+  // claim + ghi lease trong 1 transaction ngan; transfer chay ngoai transaction nay
+  private List<ClaimedRun> claim() {
+    LocalDateTime now = LocalDateTime.now();
+    List<ClaimedRun> runs = transactionTemplate.execute(status -> scheduledTransferRepository
+        .claimDue(TransferSchedule.bucket(now), now, batchSize).stream()
+        .map(instruction -> {
+          instruction.setClaimedUntil(now.plusSeconds(leaseSeconds));
+          return ClaimedRun.of(instruction);
+        })
+        .toList());
+    return runs == null ? List.of() : runs;
+  }
+
+  private void execute(ClaimedRun run) {
+    String key = idempotencyKey(run.userId(), run.id(), run.occurrence());
+    String error = null;
+    try {
+      // lan truoc da chuyen xong nhung chet truoc khi cap nhat lenh
+      if (transactionRepository.findByIdempotencyKey(key).isEmpty()) {
+        transferEngine.execute(run.userId(), run.toRequest(), key);
+      }
+      executedCounter.increment();
+    } catch (DataIntegrityViolationException ex) {
+      if (transactionRepository.findByIdempotencyKey(key).isEmpty()) {
+        error = truncate(ex.getClass().getSimpleName() + ": " + ex.getMessage());
+      }
+    } catch (BusinessException ex) {
+      error = truncate(ex.getMessage());
+    } catch (RuntimeException ex) {
+      log.error("Scheduled transfer={} occurrence={} failed", run.id(), run.occurrence(), ex);
+      error = truncate(ex.getClass().getSimpleName() + ": " + ex.getMessage());
+    }
+    if (error != null) {
+      failedCounter.increment();
+    }
+    String outcome = error;
+    try {
+      transactionTemplate.executeWithoutResult(status -> advance(run, outcome));
+    } catch (RuntimeException ex) {
+      // lease het han -> claim lai, key idempotency chan chuyen trung
+      log.error("Failed to advance scheduled transfer={} occurrence={}", run.id(), run.occurrence(), ex);
+    }
+  }
+
+  private void advance(ClaimedRun run, String error) {
+    ScheduledTransfer instruction = scheduledTransferRepository.findByIdForUpdate(run.id()).orElse(null);
+    // da duoc worker khac (lease cu) cap nhat
+    if (instruction == null || instruction.getOccurrence() != run.occurrence()) {
+      return;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    instruction.setClaimedUntil(null);
+    instruction.setLastRunAt(now);
+    if (error == null) {
+      instruction.setExecutedCount(instruction.getExecutedCount() + 1);
+      instruction.setConsecutiveFailures(0);
+      instruction.setLastError(null);
+    } else {
+      instruction.setConsecutiveFailures(instruction.getConsecutiveFailures() + 1);
+      instruction.setLastError(error);
+    }
+    if (instruction.getStatus() != ScheduledTransferStatus.ACTIVE) {
+      return;
+    }
+    if (instruction.getFrequency() == ScheduleFrequency.ONCE) {
+      instruction.setOccurrence(run.occurrence() + 1);
+      instruction.setStatus(error == null ? ScheduledTransferStatus.COMPLETED : ScheduledTransferStatus.FAILED);
+      return;
+    }
+    // lenh dinh ky bo qua cac lan da lo (node ngung lau, lenh bi tam dung) thay vi chay don
+    int next = run.occurrence() + 1;
+    LocalDateTime nextRunAt = TransferSchedule.runAt(instruction.getFirstRunAt(), instruction.getFrequency(), next);
+    LocalDateTime currentMinute = now.truncatedTo(ChronoUnit.MINUTES);
+    while (nextRunAt.isBefore(currentMinute)) {
+      next++;
+      nextRunAt = TransferSchedule.runAt(instruction.getFirstRunAt(), instruction.getFrequency(), next);
+    }
+    instruction.setOccurrence(next);
+    if (instruction.getEndAt() != null && nextRunAt.isAfter(instruction.getEndAt())) {
+      instruction.setStatus(ScheduledTransferStatus.COMPLETED);
+      return;
+    }
+    instruction.setNextRunAt(nextRunAt);
+    instruction.setNextBucket(TransferSchedule.bucket(nextRunAt));
+    if (instruction.getConsecutiveFailures() >= maxConsecutiveFailures) {
+      instruction.setStatus(ScheduledTransferStatus.PAUSED);
+    }
+  }
+
+  private void sleepQuietly() {
+    try {
+      Thread.sleep(pollIntervalMs);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static String truncate(String message) {
+    return message == null || message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+  }
+
+  // snapshot du lieu can de chay, khong giu entity ngoai transaction claim
+  private record ClaimedRun(UUID id, UUID userId, UUID fromAccountId, UUID toAccountId, BigDecimal amount,
+                            Currency currency, String description, int occurrence) {
+    static ClaimedRun of(ScheduledTransfer instruction) {
+      return new ClaimedRun(instruction.getId(), instruction.getUser().getId(), instruction.getFromAccount().getId(),
+          instruction.getToAccount().getId(), instruction.getAmount(), instruction.getCurrency(),
+          instruction.getDescription(), instruction.getOccurrence());
+    }
+
+    CreateTransferRequest toRequest() {
+      return CreateTransferRequest.builder()
+          .fromAccountId(fromAccountId)
+          .toAccountId(toAccountId)
+          .amount(amount)
+          .currency(currency)
+          .description(description)
+          .build();
+    }
+  }
+}
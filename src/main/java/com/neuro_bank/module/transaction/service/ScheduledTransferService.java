@@ -0,0 +1,15 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.module.transaction.dto.request.CreateScheduledTransferRequest;
+import com.neuro_bank.module.transaction.dto.response.ScheduledTransferResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ScheduledTransferService {
+  ScheduledTransferResponse create(UUID userId, CreateScheduledTransferRequest request);
+
+  List<ScheduledTransferResponse> listMine(UUID userId, int page, int size);
+
+  ScheduledTransferResponse cancel(UUID userId, UUID scheduledTransferId);
+}
@@ -0,0 +1,100 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.common.enums.AccountStatus;
+import com.neuro_bank.common.enums.ScheduleFrequency;
+import com.neuro_bank.common.enums.ScheduledTransferStatus;
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.module.account.entity.Account;
+import com.neuro_bank.module.account.repository.AccountRepository;
+import com.neuro_bank.module.transaction.dto.request.CreateScheduledTransferRequest;
+import com.neuro_bank.module.transaction.dto.response.ScheduledTransferResponse;
+import com.neuro_bank.module.transaction.entity.ScheduledTransfer;
+import com.neuro_bank.module.transaction.repository.ScheduledTransferRepository;
+import com.neuro_bank.module.transaction.util.TransferSchedule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Chi luu lenh; so du, han muc, fraud kiem tra luc ScheduledTransferDispatcher chay tung lan qua TransferEngine
+@Service
+@RequiredArgsConstructor
+public class ScheduledTransferServiceImpl implements ScheduledTransferService {
+  private final ScheduledTransferRepository scheduledTransferRepository;
+  private final AccountRepository accountRepository;
+
+  @Override
+  @Transactional
+  public ScheduledTransferResponse create(UUID userId, CreateScheduledTransferRequest request) {
+    if (request.getFromAccountId().equals(request.getToAccountId())) {
+      throw BusinessException.badRequest("Cannot transfer to the same account");
+    }
+    if (request.getFrequency() == ScheduleFrequency.ONCE && request.getEndAt() != null) {
+      throw BusinessException.badRequest("endAt is only supported for recurring transfers");
+    }
+    if (request.getEndAt() != null && request.getEndAt().isBefore(request.getFirstRunAt())) {
+      throw BusinessException.badRequest("endAt must not be before firstRunAt");
+    }
+    Account from = accountRepository.findByIdAndDeletedFalse(request.getFromAccountId())
+        .orElseThrow(() -> BusinessException.notFound("Account"));
+    Account to = accountRepository.findByIdAndDeletedFalse(request.getToAccountId())
+        .orElseThrow(() -> BusinessException.notFound("Account"));
+    if (!from.getUser().getId().equals(userId)) {
+      throw BusinessException.forbidden("You do not own the source account");
+    }
+    if (from.getStatus() != AccountStatus.ACTIVE) {
+      throw BusinessException.badRequest("Source account is not active");
+    }
+    // account nhan khac tien te duoc doi theo ty gia luc chay
+    if (from.getCurrency() != request.getCurrency()) {
+      throw BusinessException.badRequest("Currency mismatch");
+    }
+
+    LocalDateTime firstRunAt = TransferSchedule.runAt(request.getFirstRunAt(), request.getFrequency(), 0);
+    ScheduledTransfer instruction = new ScheduledTransfer();
+    instruction.setUser(from.getUser());
+    instruction.setFromAccount(from);
+    instruction.setToAccount(to);
+    instruction.setAmount(request.getAmount());
+    instruction.setCurrency(request.getCurrency());
+    instruction.setDescription(request.getDescription());
+    instruction.setFrequency(request.getFrequency());
+    instruction.setFirstRunAt(firstRunAt);
+    instruction.setEndAt(request.getEndAt());
+    instruction.setNextRunAt(firstRunAt);
+    instruction.setNextBucket(TransferSchedule.bucket(firstRunAt));
+    scheduledTransferRepository.save(instruction);
+    return ScheduledTransferResponse.from(instruction);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<ScheduledTransferResponse> listMine(UUID userId, int page, int size) {
+    return scheduledTransferRepository.findByUserIdOrderByCreatedAtDesc(userId,
+            PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 100)))
+        .map(ScheduledTransferResponse::from)
+        .getContent();
+  }
+
+  // lock dong: worker dang chay lan hien tai van hoan tat, advance() thay khong con ACTIVE thi dung
+  @Override
+  @Transactional
+  public ScheduledTransferResponse cancel(UUID userId, UUID scheduledTransferId) {
+    ScheduledTransfer instruction = scheduledTransferRepository.findByIdForUpdate(scheduledTransferId)
+        .orElseThrow(() -> BusinessException.notFound("Scheduled transfer"));
+    if (!instruction.getUser().getId().equals(userId)) {
+      throw BusinessException.notFound("Scheduled transfer");
+    }
+    if (instruction.getStatus() != ScheduledTransferStatus.ACTIVE
+        && instruction.getStatus() != ScheduledTransferStatus.PAUSED) {
+      throw BusinessException.conflict("Scheduled transfer is already "
+          + instruction.getStatus().name().toLowerCase());
+    }
+    instruction.setStatus(ScheduledTransferStatus.CANCELLED);
+    return ScheduledTransferResponse.from(instruction);
+  }
+}
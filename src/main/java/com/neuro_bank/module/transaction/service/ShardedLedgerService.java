@@ -0,0 +1,92 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.common.enums.EntryType;
+import com.neuro_bank.common.enums.TransactionStatus;
+import com.neuro_bank.common.enums.TransactionType;
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.common.util.Money;
+import com.neuro_bank.module.account.entity.Account;
+import com.neuro_bank.module.account.entity.AccountShard;
+import com.neuro_bank.module.account.repository.AccountRepository;
+import com.neuro_bank.module.account.repository.AccountShardRepository;
+import com.neuro_bank.module.account.service.AccountShardService;
+import com.neuro_bank.module.ledger.service.BalanceCheckpointService;
+import com.neuro_bank.module.transaction.entity.Transaction;
+import com.neuro_bank.module.transaction.entity.TransactionEntry;
+import com.neuro_bank.module.transaction.repository.TransactionRepository;
+import com.neuro_bank.module.transaction.util.LedgerEntries;
+import com.neuro_bank.module.transaction.util.TransactionReferenceGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// thu tu lock: tat ca account (theo AccountLockOrder) truoc, shard sau cung
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ShardedLedgerService {
+  private final AccountRepository accountRepository;
+  private final AccountShardRepository accountShardRepository;
+  private final AccountShardService accountShardService;
+  private final TransactionRepository transactionRepository;
+  private final TransactionReferenceGenerator referenceGenerator;
+  private final BalanceCheckpointService balanceCheckpointService;
+
+  // credit vao 1 shard ngau nhien, khong dung toi dong account chinh
+  public TransactionEntry creditShard(Transaction transaction, Account account, Money amount) {
+    int shardIndex = accountShardService.pickShard(account);
+    AccountShard shard = accountShardRepository.findForUpdate(account.getId(), shardIndex)
+        .orElseThrow(() -> new IllegalStateException(
+            "Missing shard " + shardIndex + " of account " + account.getId()));
+    Money before = Money.of(shard.getBalance(), account.getCurrency());
+    Money after = before.plus(amount);
+    shard.setBalance(after.toBigDecimal());
+    return LedgerEntries.shardEntry(transaction, account, shardIndex, EntryType.CREDIT, amount, before, after);
+  }
+
+  // gom balance cua cac shard ve dong chinh; account phai dang duoc lock
+  public void fold(Account account) {
+    List<AccountShard> shards = accountShardRepository.findAllByAccountIdForUpdate(account.getId());
+    Money total = Money.zero(account.getCurrency());
+    for (AccountShard shard : shards) {
+      total = total.plus(Money.of(shard.getBalance(), account.getCurrency()));
+    }
+    if (total.signum() == 0) {
+      return;
+    }
+    Transaction transaction = new Transaction();
+    transaction.setReferenceNo(referenceGenerator.nextReference());
+    transaction.setType(TransactionType.SHARD_FOLD);
+    transaction.setCurrency(account.getCurrency());
+    transaction.setAmount(total);
+    transaction.setFee(Money.zero(account.getCurrency()));
+    transaction.setStatus(TransactionStatus.COMPLETED);
+    transaction.setCompletedAt(LocalDateTime.now());
+    for (AccountShard shard : shards) {
+      if (shard.getBalance().signum() == 0) {
+        continue;
+      }
+      Money before = Money.of(shard.getBalance(), account.getCurrency());
+      shard.setBalance(BigDecimal.ZERO);
+      transaction.getEntries().add(LedgerEntries.shardEntry(transaction, account, shard.getShardIndex(),
+          EntryType.DEBIT, before, before, Money.zero(account.getCurrency())));
+    }
+    transaction.getEntries().add(LedgerEntries.post(transaction, account, EntryType.CREDIT, total));
+    transactionRepository.save(transaction);
+    // fold doi balance cua tung chain (shard ve 0, dong chinh tang) du tong khong doi
+    balanceCheckpointService.record(transaction.getEntries());
+  }
+
+  @Transactional
+  public void foldAll(UUID accountId) {
+    Account account = accountRepository.findByIdForUpdate(accountId)
+        .orElseThrow(() -> BusinessException.notFound("Account"));
+    fold(account);
+  }
+}
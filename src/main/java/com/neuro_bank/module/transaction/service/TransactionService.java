@@ -0,0 +1,20 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.module.transaction.dto.request.CreateTransferRequest;
+import com.neuro_bank.module.transaction.dto.request.QueryTransactionRequest;
+import com.neuro_bank.module.transaction.dto.response.PagedTransactionResponse;
+import com.neuro_bank.module.transaction.dto.response.TransactionDetailResponse;
+import com.neuro_bank.module.transaction.dto.response.TransactionResponse;
+
+import java.util.UUID;
+
+public interface TransactionService {
+  TransactionResponse createTransfer(UUID userId, CreateTransferRequest request, String idempotencyKey,
+                                     String ipAddress);
+
+  PagedTransactionResponse searchMyTransactions(UUID userId, QueryTransactionRequest request);
+
+  PagedTransactionResponse scrollMyTransactions(UUID userId, QueryTransactionRequest request);
+
+  TransactionDetailResponse getMyTransaction(UUID userId, String referenceNo);
+}
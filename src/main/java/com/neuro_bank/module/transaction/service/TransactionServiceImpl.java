@@ -0,0 +1,195 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.infrastructure.IdempotencyService;
+import com.neuro_bank.infrastructure.RateLimiterService;
+import com.neuro_bank.infrastructure.StripedExecutor;
+import com.neuro_bank.module.account.repository.AccountRepository;
+import com.neuro_bank.module.transaction.dto.request.CreateTransferRequest;
+import com.neuro_bank.module.transaction.dto.projection.TransactionLegView;
+import com.neuro_bank.module.transaction.dto.projection.TransactionScrollView;
+import com.neuro_bank.module.transaction.dto.projection.TransactionSummaryView;
+import com.neuro_bank.module.transaction.dto.request.QueryTransactionRequest;
+import com.neuro_bank.module.transaction.dto.response.PagedTransactionResponse;
+import com.neuro_bank.module.transaction.dto.response.TransactionDetailResponse;
+import com.neuro_bank.module.transaction.dto.response.TransactionResponse;
+import com.neuro_bank.module.transaction.entity.Transaction;
+import com.neuro_bank.module.transaction.repository.TransactionEntryRepository;
+import com.neuro_bank.module.transaction.repository.TransactionRepository;
+import com.neuro_bank.module.transaction.util.TransactionCursor;
+import com.neuro_bank.module.transaction.util.TransactionHashService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class TransactionServiceImpl implements TransactionService {
+  private static final String TRANSFER_ENDPOINT = "POST:/api/v1/transactions/transfer";
+  private static final int MAX_PAGE_SIZE = 100;
+
+  private final TransactionRepository transactionRepository;
+  private final TransactionEntryRepository transactionEntryRepository;
+  private final AccountRepository accountRepository;
+  private final TransferEngine transferEngine;
+  private final TransactionHashService transactionHashService;
+  private final RateLimiterService rateLimiterService;
+  private final IdempotencyService idempotencyService;
+  private final StripedExecutor accountMutationExecutor;
+  private final Duration stripeWaitTimeout;
+
+  public TransactionServiceImpl(TransactionRepository transactionRepository,
+      TransactionEntryRepository transactionEntryRepository,
+      AccountRepository accountRepository,
+      TransferEngine transferEngine,
+      TransactionHashService transactionHashService,
+      RateLimiterService rateLimiterService,
+      IdempotencyService idempotencyService,
+      @Qualifier("accountMutationExecutor") StripedExecutor accountMutationExecutor,
+      @Value("${app.transaction.striped.wait-timeout-seconds}") long stripeWaitTimeoutSeconds) {
+    this.transactionRepository = transactionRepository;
+    this.transactionEntryRepository = transactionEntryRepository;
+    this.accountRepository = accountRepository;
+    this.transferEngine = transferEngine;
+    this.transactionHashService = transactionHashService;
+    this.rateLimiterService = rateLimiterService;
+    this.idempotencyService = idempotencyService;
+    this.accountMutationExecutor = accountMutationExecutor;
+    this.stripeWaitTimeout = Duration.ofSeconds(stripeWaitTimeoutSeconds);
+  }
+
+  // khong @Transactional o day: connection chi duoc lay khi worker cua stripe chay TransferEngine
+  @Override
+  public TransactionResponse createTransfer(UUID userId, CreateTransferRequest request, String idempotencyKey,
+                                            String ipAddress) {
+    if (idempotencyKey == null) {
+      return transfer(userId, request, null, null, ipAddress);
+    }
+    String hashedKey = transactionHashService.hashIdempotencyKey(userId, TRANSFER_ENDPOINT, idempotencyKey);
+    String requestHash = transactionHashService.hashTransferRequest(request);
+    // retry storm: duplicate cho ket qua request dau tien o Redis thay vi dap vao unique constraint
+    return idempotencyService.execute(hashedKey, requestHash, TransactionResponse.class,
+        () -> findByIdempotencyKey(hashedKey, requestHash)
+            .orElseGet(() -> transfer(userId, request, hashedKey, requestHash, ipAddress)));
+  }
+
+  private TransactionResponse transfer(UUID userId, CreateTransferRequest request, String hashedKey,
+                                       String requestHash, String ipAddress) {
+    rateLimiterService.checkTransactionCreateRateLimitByUser(userId);
+    rateLimiterService.checkTransactionCreateRateLimitByIp(ipAddress);
+    try {
+      // Chi stripe theo account nhan tien: account hot (payroll, merchant) la ben nhan, xep hang trong memory.
+      // Khong stripe them theo account nguon: worker phai giu stripe A trong khi cho stripe B -> A->B va B->A
+      // chan worker cua nhau toi timeout (deadlock o muc thread thay vi o DB), va stripe nguon giu worker
+      // khong lam gi. Ben debit de cho row lock: TransferEngine lock ca 2 account theo AccountLockOrder nen
+      // khong deadlock (OpposingTransfersTest); debit cua 1 account den tu chinh user do, it canh tranh.
+      return TransactionResponse.from(accountMutationExecutor.execute(request.getToAccountId(),
+          () -> transferEngine.execute(userId, request, hashedKey), stripeWaitTimeout));
+    } catch (DataIntegrityViolationException ex) {
+      // Redis khong dung duoc va 2 request trung key chay song song -> tra ve ket qua cua request dau tien
+      return findByIdempotencyKey(hashedKey, requestHash).orElseThrow(() -> ex);
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public PagedTransactionResponse searchMyTransactions(UUID userId, QueryTransactionRequest request) {
+    Page<TransactionSummaryView> page = transactionRepository.searchMyTransactions(userId, request.getStatus(),
+        request.getType(), request.getFromDate(), request.getToDate(),
+        PageRequest.of(Math.max(request.getPage(), 0), pageSize(request),
+            Sort.by(Sort.Direction.DESC, "createdAt", "id")));
+    return PagedTransactionResponse.builder()
+        .items(toResponses(page.getContent()))
+        .totalElements(page.getTotalElements())
+        .totalPages(page.getTotalPages())
+        .page(page.getNumber())
+        .size(page.getSize())
+        .hasNext(page.hasNext())
+        .build();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public PagedTransactionResponse scrollMyTransactions(UUID userId, QueryTransactionRequest request) {
+    int size = pageSize(request);
+    List<UUID> accountIds = accountRepository.findIdsByUserId(userId);
+    if (accountIds.isEmpty()) {
+      return PagedTransactionResponse.builder().items(List.of()).size(size).hasNext(false).build();
+    }
+    // lay du 1 dong de biet con trang sau ma khong can count(*)
+    Limit limit = Limit.of(size + 1);
+    List<TransactionScrollView> rows;
+    if (request.getCursor() == null || request.getCursor().isBlank()) {
+      rows = transactionRepository.scrollMyTransactions(accountIds, request.getStatus(), request.getType(),
+          request.getFromDate(), request.getToDate(), limit);
+    } else {
+      TransactionCursor cursor = TransactionCursor.decode(request.getCursor());
+      rows = transactionRepository.scrollMyTransactionsAfter(accountIds, request.getStatus(), request.getType(),
+          request.getFromDate(), request.getToDate(), cursor.createdAt(), cursor.id(), limit);
+    }
+
+    boolean hasNext = rows.size() > size;
+    List<TransactionScrollView> content = hasNext ? rows.subList(0, size) : rows;
+    return PagedTransactionResponse.builder()
+        .items(toResponses(content.stream().map(TransactionScrollView::summary).toList()))
+        .size(size)
+        .hasNext(hasNext)
+        .nextCursor(hasNext ? TransactionCursor.of(content.get(size - 1)).encode() : null)
+        .build();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public TransactionDetailResponse getMyTransaction(UUID userId, String referenceNo) {
+    Transaction transaction = transactionRepository.findWithEntriesByReferenceNo(referenceNo)
+        .orElseThrow(() -> BusinessException.notFound("Transaction"));
+    if (!transactionEntryRepository.existsByTransactionIdAndAccountUserId(transaction.getId(), userId)) {
+      throw BusinessException.notFound("Transaction");
+    }
+    return TransactionDetailResponse.from(transaction);
+  }
+
+  // 1 query cho trang + 1 query lay from/to cua ca trang, khong N+1
+  private List<TransactionResponse> toResponses(List<TransactionSummaryView> rows) {
+    if (rows.isEmpty()) {
+      return List.of();
+    }
+    Map<UUID, List<TransactionLegView>> legs = transactionEntryRepository
+        .findLegsByTransactionIds(rows.stream().map(TransactionSummaryView::id).toList())
+        .stream()
+        .collect(Collectors.groupingBy(TransactionLegView::transactionId));
+    return rows.stream()
+        .map(row -> TransactionResponse.from(row, legs.getOrDefault(row.id(), List.of())))
+        .toList();
+  }
+
+  private int pageSize(QueryTransactionRequest request) {
+    return Math.min(Math.max(request.getSize(), 1), MAX_PAGE_SIZE);
+  }
+
+  // key da dung voi request khac -> 422 nhu replay tu Redis
+  private Optional<TransactionResponse> findByIdempotencyKey(String hashedKey, String requestHash) {
+    if (hashedKey == null) {
+      return Optional.empty();
+    }
+    return transactionRepository.findByIdempotencyKey(hashedKey)
+        .map(transaction -> {
+          IdempotencyService.verifyRequestHash(transaction.getRequestHash(), requestHash);
+          return TransactionResponse.from(transaction);
+        });
+  }
+}
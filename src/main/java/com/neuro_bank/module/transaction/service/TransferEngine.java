@@ -0,0 +1,147 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.common.enums.AccountStatus;
+import com.neuro_bank.common.enums.EntryType;
+import com.neuro_bank.common.enums.TransactionStatus;
+import com.neuro_bank.common.enums.TransactionType;
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.common.util.Money;
+import com.neuro_bank.module.account.entity.Account;
+import com.neuro_bank.module.account.repository.AccountRepository;
+import com.neuro_bank.module.account.service.AccountShardService;
+import com.neuro_bank.module.account.service.TransferLimitService;
+import com.neuro_bank.module.ledger.service.BalanceCheckpointService;
+import com.neuro_bank.module.transaction.dto.request.CreateTransferRequest;
+import com.neuro_bank.module.transaction.entity.Transaction;
+import com.neuro_bank.module.transaction.repository.TransactionRepository;
+import com.neuro_bank.module.transaction.util.AccountLockOrder;
+import com.neuro_bank.module.transaction.util.LedgerEntries;
+import com.neuro_bank.module.transaction.util.TransactionEvents;
+import com.neuro_bank.module.transaction.util.TransactionHashService;
+import com.neuro_bank.module.transaction.util.TransactionReferenceGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransferEngine {
+  private final AccountRepository accountRepository;
+  private final TransactionRepository transactionRepository;
+  private final OutboxEventWriter outboxEventWriter;
+  private final TransactionReferenceGenerator referenceGenerator;
+  private final AccountShardService accountShardService;
+  private final ShardedLedgerService shardedLedgerService;
+  private final TransferLimitService transferLimitService;
+  private final FraudRuleEngine fraudRuleEngine;
+  private final BalanceCheckpointService balanceCheckpointService;
+  private final FxRateService fxRateService;
+  private final TransactionHashService transactionHashService;
+  private final TransactionTemplate transactionTemplate;
+
+  // lich su fraud doc tu Redis truoc khi mo transaction: Redis cham khong keo dai lock account / giu connection
+  public Transaction execute(UUID userId, CreateTransferRequest request, String idempotencyKey) {
+    if (request.getFromAccountId().equals(request.getToAccountId())) {
+      throw BusinessException.badRequest("Cannot transfer to the same account");
+    }
+    FraudHistory fraudHistory = fraudRuleEngine.history(userId, request.getAmount());
+    return transactionTemplate.execute(status -> post(userId, request, idempotencyKey, fraudHistory));
+  }
+
+  // 1 transaction DB ngan: reserve han muc -> lock 2 account -> check -> ghi 2 entry -> commit
+  private Transaction post(UUID userId, CreateTransferRequest request, String idempotencyKey,
+                           FraudHistory fraudHistory) {
+    // BigDecimal chi o request va cot DB; tinh toan tren Money (long)
+    Money amount = Money.of(request.getAmount(), request.getCurrency());
+    Money fee = Money.zero(request.getCurrency());
+    Money total = amount.plus(fee);
+    // reserve han muc (Redis) truoc khi lock account; moi check fail phia duoi deu rollback -> tu tra lai
+    transferLimitService.reserve(userId, request.getFromAccountId(), total);
+
+    // account nhan co shard -> khong lock dong chinh, credit vao 1 shard (lock sau cung)
+    boolean creditToShard = accountShardService.isSharded(request.getToAccountId());
+    Map<UUID, Account> locked = lockInOrder(creditToShard
+        ? List.of(request.getFromAccountId())
+        : List.of(request.getFromAccountId(), request.getToAccountId()));
+    Account from = locked.get(request.getFromAccountId());
+    Account to = creditToShard
+        ? accountRepository.findByIdAndDeletedFalse(request.getToAccountId())
+        .orElseThrow(() -> BusinessException.notFound("Account"))
+        : locked.get(request.getToAccountId());
+
+    if (!from.getUser().getId().equals(userId)) {
+      throw BusinessException.forbidden("You do not own the source account");
+    }
+    validateAccount(from, "Source");
+    validateAccount(to, "Destination");
+    // so tien tinh theo tien te account nguon; account nhan khac tien te thi doi qua FxRateService
+    if (from.getCurrency() != request.getCurrency()) {
+      throw BusinessException.badRequest("Currency mismatch");
+    }
+
+    if (from.getShardCount() > 0 && from.availableMoney().isLessThan(total)) {
+      shardedLedgerService.fold(from);
+    }
+    if (from.availableMoney().isLessThan(total)) {
+      throw new BusinessException(422, "INSUFFICIENT_FUNDS", "Insufficient available balance");
+    }
+    FraudDecision fraudDecision = fraudRuleEngine.evaluate(userId, from.getId(), to.getId(), total.toBigDecimal(),
+        fraudHistory);
+    if (fraudDecision.blocked()) {
+      log.warn("Transfer blocked by fraud rules={} user={} from={}", fraudDecision.rules(), userId, from.getId());
+      throw new BusinessException(422, "FRAUD_SUSPECTED", "Transfer was blocked by risk checks");
+    }
+    FxConversion fx = to.getCurrency() != from.getCurrency() ? fxRateService.convert(amount, to.getCurrency()) : null;
+    Money credited = fx != null ? fx.target() : amount;
+
+    Transaction transaction = new Transaction();
+    transaction.setReferenceNo(referenceGenerator.nextReference());
+    transaction.setType(TransactionType.TRANSFER);
+    transaction.setCurrency(request.getCurrency());
+    transaction.setAmount(amount);
+    transaction.setFee(fee);
+    transaction.setDescription(request.getDescription());
+    transaction.setIdempotencyKey(idempotencyKey);
+    transaction.setRequestHash(idempotencyKey == null ? null : transactionHashService.hashTransferRequest(request));
+    transaction.setStatus(TransactionStatus.COMPLETED);
+    transaction.setCompletedAt(LocalDateTime.now());
+    if (fx != null) {
+      TransactionEvents.putFx(transaction, fx);
+    }
+    transaction.getEntries().add(LedgerEntries.post(transaction, from, EntryType.DEBIT, total));
+    transaction.getEntries().add(creditToShard
+        ? shardedLedgerService.creditShard(transaction, to, credited)
+        : LedgerEntries.post(transaction, to, EntryType.CREDIT, credited));
+    transactionRepository.save(transaction);
+    balanceCheckpointService.record(transaction.getEntries());
+
+    outboxEventWriter.saveAll(fraudDecision.alerted()
+        ? List.of(TransactionEvents.completed(transaction, from, to),
+        TransactionEvents.fraudDetected(transaction, userId, fraudDecision))
+        : List.of(TransactionEvents.completed(transaction, from, to)));
+    return transaction;
+  }
+
+  private Map<UUID, Account> lockInOrder(List<UUID> accountIds) {
+    Map<UUID, Account> locked = new HashMap<>();
+    for (UUID id : AccountLockOrder.sort(accountIds)) {
+      locked.put(id, accountRepository.findByIdForUpdate(id)
+          .orElseThrow(() -> BusinessException.notFound("Account")));
+    }
+    return locked;
+  }
+
+  private void validateAccount(Account account, String label) {
+    if (account.getStatus() != AccountStatus.ACTIVE) {
+      throw BusinessException.badRequest(label + " account is not active");
+    }
+  }
+}
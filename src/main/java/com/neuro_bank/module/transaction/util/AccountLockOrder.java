@@ -0,0 +1,22 @@
+package com.neuro_bank.module.transaction.util;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+public final class AccountLockOrder {
+  // cung thu tu voi "order by id" cua postgres (uuid so sanh theo byte, unsigned)
+  // -> moi luong lock account theo cung mot thu tu, khong bao gio deadlock
+  public static final Comparator<UUID> COMPARATOR = (a, b) -> {
+    int cmp = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+    return cmp != 0 ? cmp : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+  };
+
+  private AccountLockOrder() {
+  }
+
+  public static List<UUID> sort(Collection<UUID> accountIds) {
+    return accountIds.stream().distinct().sorted(COMPARATOR).toList();
+  }
+}
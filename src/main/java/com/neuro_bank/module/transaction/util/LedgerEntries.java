@@ -0,0 +1,44 @@
+package com.neuro_bank.module.transaction.util;
+
+import com.neuro_bank.common.enums.EntryType;
+import com.neuro_bank.common.util.Money;
+import com.neuro_bank.module.account.entity.Account;
+import com.neuro_bank.module.transaction.entity.Transaction;
+import com.neuro_bank.module.transaction.entity.TransactionEntry;
+
+public final class LedgerEntries {
+  private LedgerEntries() {
+  }
+
+  public static TransactionEntry entry(Transaction transaction, Account account, EntryType entryType,
+                                       Money amount, Money balanceBefore, Money balanceAfter) {
+    TransactionEntry entry = new TransactionEntry();
+    entry.setTransaction(transaction);
+    entry.setAccount(account);
+    entry.setEntryType(entryType);
+    entry.setAmount(amount.minorUnits());
+    entry.setBalanceBefore(balanceBefore.minorUnits());
+    entry.setBalanceAfter(balanceAfter.minorUnits());
+    return entry;
+  }
+
+  // ghi entry tren dong account chinh va cap nhat balance + availableBalance; account phai dang duoc lock
+  public static TransactionEntry post(Transaction transaction, Account account, EntryType entryType,
+                                      Money amount) {
+    Money signed = entryType == EntryType.DEBIT ? amount.negate() : amount;
+    Money before = account.balanceMoney();
+    Money after = before.plus(signed);
+    account.setBalance(after);
+    account.setAvailableBalance(account.availableMoney().plus(signed));
+    return entry(transaction, account, entryType, amount, before, after);
+  }
+
+  // entry tren 1 shard: balanceBefore/After la balance cua shard, khong phai cua account
+  public static TransactionEntry shardEntry(Transaction transaction, Account account, int shardIndex,
+                                            EntryType entryType, Money amount, Money balanceBefore,
+                                            Money balanceAfter) {
+    TransactionEntry entry = entry(transaction, account, entryType, amount, balanceBefore, balanceAfter);
+    entry.setShardIndex(shardIndex);
+    return entry;
+  }
+}
@@ -0,0 +1,50 @@
+package com.neuro_bank.module.transaction.util;
+
+// dem count/sum trong N bucket gan nhat (ring buffer), bucket cu tu bi ghi de -> O(buckets), khong cap phat
+public final class SlidingWindow {
+  private final long bucketMillis;
+  private final long[] bucketIds;
+  private final long[] counts;
+  private final double[] sums;
+
+  public SlidingWindow(int buckets, long bucketMillis) {
+    this.bucketMillis = bucketMillis;
+    this.bucketIds = new long[buckets];
+    this.counts = new long[buckets];
+    this.sums = new double[buckets];
+  }
+
+  public synchronized void add(long nowMillis, double amount) {
+    long bucketId = nowMillis / bucketMillis;
+    int index = (int) (bucketId % bucketIds.length);
+    if (bucketIds[index] != bucketId) {
+      bucketIds[index] = bucketId;
+      counts[index] = 0;
+      sums[index] = 0;
+    }
+    counts[index]++;
+    sums[index] += amount;
+  }
+
+  public synchronized long count(long nowMillis) {
+    long oldest = nowMillis / bucketMillis - bucketIds.length + 1;
+    long total = 0;
+    for (int i = 0; i < bucketIds.length; i++) {
+      if (bucketIds[i] >= oldest) {
+        total += counts[i];
+      }
+    }
+    return total;
+  }
+
+  public synchronized double sum(long nowMillis) {
+    long oldest = nowMillis / bucketMillis - bucketIds.length + 1;
+    double total = 0;
+    for (int i = 0; i < bucketIds.length; i++) {
+      if (bucketIds[i] >= oldest) {
+        total += sums[i];
+      }
+    }
+    return total;
+  }
+}
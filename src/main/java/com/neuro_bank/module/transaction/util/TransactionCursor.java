@@ -0,0 +1,43 @@
+package com.neuro_bank.module.transaction.util;
+
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.module.transaction.dto.projection.TransactionScrollView;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+// cursor keyset (created_at, id) cua entry cuoi trang, encode base64url de client coi nhu opaque string
+public record TransactionCursor(LocalDateTime createdAt, UUID id) {
+  private static final int LENGTH = Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+  public static TransactionCursor of(TransactionScrollView row) {
+    return new TransactionCursor(row.entryCreatedAt(), row.entryId());
+  }
+
+  public String encode() {
+    ByteBuffer buffer = ByteBuffer.allocate(LENGTH)
+        .putLong(createdAt.toEpochSecond(ZoneOffset.UTC))
+        .putInt(createdAt.getNano())
+        .putLong(id.getMostSignificantBits())
+        .putLong(id.getLeastSignificantBits());
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+  }
+
+  public static TransactionCursor decode(String cursor) {
+    try {
+      byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+      if (bytes.length != LENGTH) {
+        throw BusinessException.badRequest("Invalid cursor");
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      LocalDateTime createdAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+      return new TransactionCursor(createdAt, new UUID(buffer.getLong(), buffer.getLong()));
+    } catch (IllegalArgumentException | DateTimeException ex) {
+      throw BusinessException.badRequest("Invalid cursor");
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.neuro_bank.module.transaction.util;
+
+import com.neuro_bank.module.account.entity.Account;
+import com.neuro_bank.module.transaction.entity.OutboxEvent;
+import com.neuro_bank.module.transaction.entity.Transaction;
+import com.neuro_bank.module.transaction.service.FraudDecision;
+import com.neuro_bank.module.transaction.service.FxConversion;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public final class TransactionEvents {
+  public static final String TRANSACTION_COMPLETED = "TRANSACTION_COMPLETED";
+  public static final String FRAUD_DETECTED = "FRAUD_DETECTED";
+  private static final String CREDIT_AMOUNT = "creditAmount";
+  private static final String CREDIT_CURRENCY = "creditCurrency";
+
+  private TransactionEvents() {
+  }
+
+  public static OutboxEvent completed(Transaction transaction, Account from, Account to) {
+    Map<String, Object> payload = new HashMap<>();
+    payload.put("referenceNo", transaction.getReferenceNo());
+    payload.put("type", transaction.getType().name());
+    payload.put("amount", transaction.amountMoney().toBigDecimal().toPlainString());
+    payload.put("currency", transaction.getCurrency().name());
+    payload.put("fromAccountId", from.getId().toString());
+    payload.put("fromUserId", from.getUser().getId().toString());
+    payload.put("toAccountId", to.getId().toString());
+    // chuyen khac tien te: account nhan duoc ghi co theo tien te cua no
+    Object creditAmount = transaction.getMetadata().get(CREDIT_AMOUNT);
+    if (creditAmount != null) {
+      payload.put("creditAmount", creditAmount);
+      payload.put("creditCurrency", transaction.getMetadata().get(CREDIT_CURRENCY));
+    }
+
+    return event(TRANSACTION_COMPLETED, transaction, payload);
+  }
+
+  // luu ty gia da ap dung de doi soat / hien thi lai dung so tien 2 chan
+  public static void putFx(Transaction transaction, FxConversion fx) {
+    Map<String, Object> metadata = transaction.getMetadata();
+    metadata.put("fxPair", fx.source().currency() + "/" + fx.target().currency());
+    metadata.put("fxRate", fx.rate().toPlainString());
+    metadata.put("fxRatesAsOf", fx.ratesAsOf().toString());
+    metadata.put(CREDIT_AMOUNT, fx.target().toBigDecimal().toPlainString());
+    metadata.put(CREDIT_CURRENCY, fx.target().currency().name());
+  }
+
+  public static OutboxEvent fraudDetected(Transaction transaction, UUID userId, FraudDecision decision) {
+    Map<String, Object> payload = new HashMap<>();
+    payload.put("referenceNo", transaction.getReferenceNo());
+    payload.put("userId", userId.toString());
+    payload.put("rules", decision.rules());
+    payload.put("severity", decision.severity());
+    return event(FRAUD_DETECTED, transaction, payload);
+  }
+
+  private static OutboxEvent event(String eventType, Transaction transaction, Map<String, Object> payload) {
+    OutboxEvent event = new OutboxEvent();
+    event.setEventType(eventType);
+    event.setAggregateType("TRANSACTION");
+    event.setAggregateId(transaction.getId());
+    event.setPayload(payload);
+    return event;
+  }
+}
@@ -1,12 +1,16 @@
 package com.neuro_bank.module.transaction.util;
 
 import java.math.BigDecimal;
+import java.security.MessageDigest;
 import java.util.UUID;
 
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.neuro_bank.module.transaction.dto.request.BulkTransferRequest;
+import com.neuro_bank.module.transaction.dto.request.CreateHoldRequest;
 import com.neuro_bank.module.transaction.dto.request.CreateTransferRequest;
 
 @Component
@@ -20,10 +24,24 @@ public class TransactionHashService {
   }
 
   public String hashTransferRequest(CreateTransferRequest request) {
+    return DigestUtils.sha256Hex(transferRaw(request));
+  }
+
+  // toi 100k item: cap nhat digest theo tung item (gom ca account nguon) thay vi ghep 1 chuoi lon
+  public String hashBulkTransferRequest(BulkTransferRequest request) {
+    MessageDigest digest = DigestUtils.getSha256Digest();
+    for (CreateTransferRequest item : request.getItems()) {
+      DigestUtils.updateDigest(digest, transferRaw(item));
+      DigestUtils.updateDigest(digest, "\n");
+    }
+    return Hex.encodeHexString(digest.digest());
+  }
+
+  public String hashHoldRequest(CreateHoldRequest request) {
     String description = request.getDescription() == null ? "" : request.getDescription().trim().toLowerCase();
-    String amount = normalizeAmount(request.getAmount());
-    String raw = request.getFromAccountId() + ":" + request.getToAccountId() + ":" + amount + ":"
-        + request.getCurrency() + ":" + description;
+    String ttl = request.getTtlSeconds() == null ? "" : request.getTtlSeconds().toString();
+    String raw = request.getFromAccountId() + ":" + request.getToAccountId() + ":"
+        + normalizeAmount(request.getAmount()) + ":" + request.getCurrency() + ":" + ttl + ":" + description;
     return DigestUtils.sha256Hex(raw);
   }
 
@@ -34,6 +52,13 @@ public class TransactionHashService {
     return accountNumber.substring(0, 4) + "******" + accountNumber.substring(accountNumber.length() - 4);
   }
 
+  private String transferRaw(CreateTransferRequest request) {
+    String description = request.getDescription() == null ? "" : request.getDescription().trim().toLowerCase();
+    String amount = normalizeAmount(request.getAmount());
+    return request.getFromAccountId() + ":" + request.getToAccountId() + ":" + amount + ":"
+        + request.getCurrency() + ":" + description;
+  }
+
   private String normalizeAmount(BigDecimal amount) {
     return amount == null ? "0" : amount.stripTrailingZeros().toPlainString();
   }
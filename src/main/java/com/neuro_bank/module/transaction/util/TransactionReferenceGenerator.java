@@ -1,20 +1,86 @@
 package com.neuro_bank.module.transaction.util;
 
-import java.security.SecureRandom;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+// TXN + yyyyMMddHHmmss (UTC) + node (3 so) + sequence (6 so) = 26 ky tu.
+// Unique tren moi node: (giay, sequence) tang don dieu trong 1 AtomicLong, het 1M/giay thi muon giay ke tiep.
+// Node id phai khac nhau giua cac instance.
 @Component
 public class TransactionReferenceGenerator {
-  private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
-  private final SecureRandom secureRandom = new SecureRandom();
+  private static final int SEQUENCE_PER_SECOND = 1_000_000;
+  private static final int LENGTH = 26;
+  private static final int TIMESTAMP_OFFSET = 3;
+  private static final int NODE_OFFSET = 17;
+  private static final int SEQUENCE_OFFSET = 20;
+
+  private final char[] nodeDigits;
+  // state = epochSecond * 1_000_000 + sequence
+  private final AtomicLong state = new AtomicLong();
+  private volatile TimestampPrefix prefix = new TimestampPrefix(-1, new char[0]);
+
+  public TransactionReferenceGenerator(@Value("${app.transaction.reference.node-id}") int nodeId) {
+    if (nodeId < 0 || nodeId > 999) {
+      throw new IllegalArgumentException("app.transaction.reference.node-id must be between 0 and 999");
+    }
+    this.nodeDigits = new char[3];
+    writeDigits(nodeDigits, 0, nodeId, 3);
+  }
 
   public String nextReference() {
-    String timestamp = LocalDateTime.now(ZoneOffset.UTC).format(FORMATTER);
-    int randomNumber = secureRandom.nextInt(1_000_000);
-    return "TXN" + timestamp + String.format("%06d", randomNumber);
+    long now = System.currentTimeMillis() / 1000;
+    long next;
+    long current;
+    do {
+      current = state.get();
+      long second = current / SEQUENCE_PER_SECOND;
+      // dong ho lui hoac het sequence -> tiep tuc tren giay cu/giay sau, khong bao gio lap lai
+      next = now > second ? now * SEQUENCE_PER_SECOND : current + 1;
+    } while (!state.compareAndSet(current, next));
+
+    long second = next / SEQUENCE_PER_SECOND;
+    int sequence = (int) (next % SEQUENCE_PER_SECOND);
+
+    char[] chars = new char[LENGTH];
+    chars[0] = 'T';
+    chars[1] = 'X';
+    chars[2] = 'N';
+    System.arraycopy(timestampDigits(second), 0, chars, TIMESTAMP_OFFSET, 14);
+    System.arraycopy(nodeDigits, 0, chars, NODE_OFFSET, 3);
+    writeDigits(chars, SEQUENCE_OFFSET, sequence, 6);
+    return new String(chars);
+  }
+
+  // chi format lai 1 lan moi giay
+  private char[] timestampDigits(long epochSecond) {
+    TimestampPrefix cached = prefix;
+    if (cached.epochSecond() == epochSecond) {
+      return cached.digits();
+    }
+    LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+    char[] digits = new char[14];
+    writeDigits(digits, 0, time.getYear(), 4);
+    writeDigits(digits, 4, time.getMonthValue(), 2);
+    writeDigits(digits, 6, time.getDayOfMonth(), 2);
+    writeDigits(digits, 8, time.getHour(), 2);
+    writeDigits(digits, 10, time.getMinute(), 2);
+    writeDigits(digits, 12, time.getSecond(), 2);
+    prefix = new TimestampPrefix(epochSecond, digits);
+    return digits;
+  }
+
+  private static void writeDigits(char[] target, int offset, int value, int width) {
+    for (int i = offset + width - 1; i >= offset; i--) {
+      target[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+  }
+
+  private record TimestampPrefix(long epochSecond, char[] digits) {
   }
 }
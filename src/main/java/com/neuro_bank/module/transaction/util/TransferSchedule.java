@@ -0,0 +1,27 @@
+package com.neuro_bank.module.transaction.util;
+
+import com.neuro_bank.common.enums.ScheduleFrequency;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+public final class TransferSchedule {
+  private TransferSchedule() {
+  }
+
+  // tinh tu firstRunAt thay vi cong don -> 31/01 -> 28/02 -> 31/03, khong troi ve ngay 28
+  public static LocalDateTime runAt(LocalDateTime firstRunAt, ScheduleFrequency frequency, int occurrence) {
+    LocalDateTime minute = firstRunAt.truncatedTo(ChronoUnit.MINUTES);
+    return switch (frequency) {
+      case ONCE -> minute;
+      case DAILY -> minute.plusDays(occurrence);
+      case WEEKLY -> minute.plusWeeks(occurrence);
+      case MONTHLY -> minute.plusMonths(occurrence);
+    };
+  }
+
+  public static long bucket(LocalDateTime runAt) {
+    return runAt.atZone(ZoneId.systemDefault()).toEpochSecond() / 60;
+  }
+}
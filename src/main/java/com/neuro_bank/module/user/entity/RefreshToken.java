@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "refresh_token", indexes = {
-    @Index(name = "idx_refresh_token_hash", columnList = "token_hash")
+    @Index(name = "idx_refresh_token_hash", columnList = "token_hash"),
+    @Index(name = "idx_refresh_token_session", columnList = "session_id")
 })
 @Getter
 @Setter
@@ -24,6 +24,15 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID
   @Query("UPDATE RefreshToken r SET r.revoked = true, r.revokedAt = :now WHERE r.user = :user AND r.revoked = false")
   void revokeAllByUser(@Param("user") User user, @Param("now") LocalDateTime now);
 
+  // logout chi co access token: refresh token cua cung session (moi family deu mang sessionId do)
+  @Modifying
+  @Query("""
+          UPDATE RefreshToken r SET r.revoked = true, r.revokedAt = :now
+          WHERE r.user.id = :userId AND r.sessionId = :sessionId AND r.revoked = false
+      """)
+  void revokeBySession(@Param("userId") UUID userId, @Param("sessionId") String sessionId,
+                       @Param("now") LocalDateTime now);
+
   @Modifying
   @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now OR r.revoked = true")
   void deleteExpiredAndRevoked(@Param("now") LocalDateTime now);
@@ -12,6 +12,7 @@ import com.neuro_bank.module.user.entity.User;
 import com.neuro_bank.module.user.entity.UserCredential;
 import com.neuro_bank.module.user.repository.UserCredentialRepository;
 import com.neuro_bank.module.user.repository.UserRepository;
+import com.neuro_bank.security.PrincipalCache;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -32,19 +33,22 @@ public class UserServiceImpl implements UserService {
   private final AuditLogService auditLogService;
   private final PasswordEncoder passwordEncoder;
   private final PasswordEncoder pinEncoder;
+  private final PrincipalCache principalCache;
 
   public UserServiceImpl(UserRepository userRepository,
       UserCredentialRepository userCredentialRepository,
       OtpService otpService,
       AuditLogService auditLogService,
       PasswordEncoder passwordEncoder,
-      @Qualifier("pinEncoder") PasswordEncoder pinEncoder) {
+      @Qualifier("pinEncoder") PasswordEncoder pinEncoder,
+      PrincipalCache principalCache) {
     this.userRepository = userRepository;
     this.userCredentialRepository = userCredentialRepository;
     this.otpService = otpService;
     this.auditLogService = auditLogService;
     this.passwordEncoder = passwordEncoder;
     this.pinEncoder = pinEncoder;
+    this.principalCache = principalCache;
   }
 
   @Override
@@ -103,6 +107,7 @@ public class UserServiceImpl implements UserService {
     otpService.verifyOtp(user, "EMAIL_VERIFICATION", request.getCode());
     user.setStatus(UserStatus.ACTIVE);
     userRepository.save(user);
+    principalCache.invalidate(user.getId());
     auditLogService.longAsync(user, "EMAIL_VERIFIED", "USER", user.getId(), true, null, null);
   }
 
@@ -135,6 +140,7 @@ public class UserServiceImpl implements UserService {
     if (request.getAvatarUrl() != null)
       user.setAvatarUrl(request.getAvatarUrl());
     userRepository.save(user);
+    principalCache.invalidate(user.getId());
     auditLogService.longAsync(user, "UPDATE_PROFILE", "USER", user.getId(), true, null, null);
     return UserResponse.from(user);
   }
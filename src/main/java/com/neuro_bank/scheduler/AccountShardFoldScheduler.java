@@ -0,0 +1,32 @@
+package com.neuro_bank.scheduler;
+
+import com.neuro_bank.module.account.repository.AccountShardRepository;
+import com.neuro_bank.module.transaction.service.ShardedLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@Lazy(false)
+@RequiredArgsConstructor
+@Slf4j
+public class AccountShardFoldScheduler {
+  private final AccountShardRepository accountShardRepository;
+  private final ShardedLedgerService shardedLedgerService;
+
+  // gom shard ve dong chinh dinh ky; moi account 1 transaction rieng
+  @Scheduled(fixedDelayString = "${app.account.shard.fold-interval-ms}")
+  public void fold() {
+    for (UUID accountId : accountShardRepository.findAccountIdsWithShardBalance()) {
+      try {
+        shardedLedgerService.foldAll(accountId);
+      } catch (RuntimeException ex) {
+        log.error("Failed to fold shards of account={}", accountId, ex);
+      }
+    }
+  }
+}
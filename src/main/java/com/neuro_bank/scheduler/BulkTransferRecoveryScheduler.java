@@ -0,0 +1,35 @@
+package com.neuro_bank.scheduler;
+
+import com.neuro_bank.module.transaction.service.BulkTransferProcessor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@Lazy(false)
+@RequiredArgsConstructor
+@Slf4j
+public class BulkTransferRecoveryScheduler {
+  private final BulkTransferProcessor bulkTransferProcessor;
+
+  // chay lai job bulk bi bo do sau crash / @Async tu choi; goi qua proxy de vao bulkTransferExecutor
+  @Scheduled(fixedDelayString = "${app.transaction.bulk.recovery-interval-ms}")
+  public void recover() {
+    try {
+      for (UUID jobId : bulkTransferProcessor.claimStale()) {
+        log.info("Resuming stale bulk transfer job={}", jobId);
+        bulkTransferProcessor.process(jobId);
+      }
+    } catch (TaskRejectedException ex) {
+      // job vua claim se het han lai sau stale-after va duoc thu tiep
+      log.warn("Bulk transfer executor is full, recovery postponed: {}", ex.getMessage());
+    } catch (RuntimeException ex) {
+      log.error("Bulk transfer recovery failed", ex);
+    }
+  }
+}
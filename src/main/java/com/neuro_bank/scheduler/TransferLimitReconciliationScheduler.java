@@ -0,0 +1,25 @@
+package com.neuro_bank.scheduler;
+
+import com.neuro_bank.module.account.service.TransferLimitService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Lazy(false)
+@RequiredArgsConstructor
+@Slf4j
+public class TransferLimitReconciliationScheduler {
+  private final TransferLimitService transferLimitService;
+
+  @Scheduled(fixedDelayString = "${app.transaction.limit.reconcile-interval-ms}")
+  public void reconcile() {
+    try {
+      transferLimitService.reconcile();
+    } catch (RuntimeException ex) {
+      log.error("Transfer limit reconciliation failed", ex);
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.neuro_bank.security;
+
+import com.neuro_bank.infrastructure.PasswordHashingExecutor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Boc encoder cham (argon2) de encode/matches chay tren PasswordHashingExecutor; upgradeEncoding chi doc
+// tham so trong hash nen chay tai cho
+@RequiredArgsConstructor
+public class BoundedPasswordEncoder implements PasswordEncoder {
+  private final String name;
+  private final PasswordEncoder delegate;
+  private final PasswordHashingExecutor executor;
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return executor.execute(name, "encode", () -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return executor.execute(name, "matches", () -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+}
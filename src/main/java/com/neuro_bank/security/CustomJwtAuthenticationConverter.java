@@ -1,6 +1,5 @@
 package com.neuro_bank.security;
 
-import com.neuro_bank.infrastructure.RedisService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
@@ -18,7 +17,9 @@ public class CustomJwtAuthenticationConverter
     implements Converter<Jwt, AbstractAuthenticationToken> {
 
   private final CustomUserDetailsService userDetailsService;
-  private final RedisService redisService;
+  private final RevokedTokenFilter revokedTokenFilter;
+  private final PrincipalCache principalCache;
+  private final TokenEpochService tokenEpochService;
 
   @Override
   public AbstractAuthenticationToken convert(Jwt jwt) {
@@ -27,16 +28,26 @@ public class CustomJwtAuthenticationConverter
     if (!"ACCESS".equals(tokenType))
       throw new BadCredentialsException("Invalid token type");
 
-    // 2. Check blacklist — token đã logout
+    // 2. Check blacklist — token đã logout (Bloom filter local trước, chỉ "có thể" mới hỏi Redis)
     String jti = jwt.getId();
-    if (jti != null && redisService.isTokenBlacklisted(jti))
+    if (jti != null && revokedTokenFilter.isRevoked(jti))
       throw new BadCredentialsException("Token has been revoked");
 
-    // 3. Load user để lấy status mới nhất từ DB
+    // 3. Check epoch — đăng xuất mọi nơi / thu hồi session (token không có claim coi như epoch 0)
     UUID userId = UUID.fromString(jwt.getSubject());
-    UserDetails userDetails = userDetailsService.loadByUserId(userId);
+    if (tokenEpochService.isRevoked(userId, jwt.getClaimAsString("sessionId"),
+        epochClaim(jwt, TokenEpochService.USER_EPOCH_CLAIM), epochClaim(jwt, TokenEpochService.SESSION_EPOCH_CLAIM)))
+      throw new BadCredentialsException("Token has been revoked");
+
+    // 4. Load user (status mới nhất) qua PrincipalCache, miss mới xuống DB
+    UserDetails userDetails = principalCache.get(userId, userDetailsService::loadByUserId);
 
     return new UsernamePasswordAuthenticationToken(
         userDetails, jwt, userDetails.getAuthorities());
   }
+
+  private static long epochClaim(Jwt jwt, String name) {
+    Object value = jwt.getClaim(name);
+    return value instanceof Number number ? number.longValue() : 0;
+  }
 }
\ No newline at end of file
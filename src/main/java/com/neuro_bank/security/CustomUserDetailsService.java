@@ -26,7 +26,7 @@ public class CustomUserDetailsService implements UserDetailsService {
     return new UserPrincipal(user);
   }
   //load bang uuid tu jwt subject
-  public UserDetails loadByUserId(UUID id){
+  public UserPrincipal loadByUserId(UUID id){
     User user = userRepository.findByIdWithCredential(id)
         .orElseThrow(() -> new UsernameNotFoundException("User not found: "+ id));
     return new UserPrincipal(user);
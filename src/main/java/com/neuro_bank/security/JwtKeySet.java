@@ -0,0 +1,207 @@
+package com.neuro_bank.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
+import com.nimbusds.jose.jca.JCAContext;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.proc.JWSVerifierFactory;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.nimbusds.jwt.proc.JWTProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Khoa ky JWT dung chung cho ca node: signer/verifier cua nimbus thread-safe nen tao 1 lan luc khoi dong thay vi
+// moi token. kid = JWK thumbprint (RFC 7638) -> giong nhau tren moi node va qua cac lan restart.
+// Ky bang app.jwt.algorithm (RS256 | ES256); verify chap nhan moi khoa da cau hinh de doi thuat toan khong
+// lam roi token dang song. Public key cong bo qua /.well-known/jwks.json.
+@Component
+@Slf4j
+public class JwtKeySet {
+  private final JWK signingKey;
+  private final JWSSigner signer;
+  private final JWSHeader signingHeader;
+  private final Map<String, VerificationKey> keysById;
+  private final Map<JWSAlgorithm, VerificationKey> keysByAlgorithm;
+  private final Map<String, Object> jwks;
+
+  public JwtKeySet(ResourceLoader resourceLoader,
+      @Value("${app.jwt.algorithm}") String algorithm,
+      @Value("${app.jwt.private-key-location}") RSAPrivateKey rsaPrivateKey,
+      @Value("${spring.security.oauth2.resourceserver.jwt.public-key-location}") RSAPublicKey rsaPublicKey,
+      @Value("${app.jwt.ec.private-key-location:}") String ecPrivateKeyLocation,
+      @Value("${app.jwt.ec.public-key-location:}") String ecPublicKeyLocation) throws JOSEException {
+    List<JWK> keys = new ArrayList<>();
+    RSAKey rsaKey = new RSAKey.Builder(rsaPublicKey)
+        .privateKey(rsaPrivateKey)
+        .keyUse(KeyUse.SIGNATURE)
+        .algorithm(JWSAlgorithm.RS256)
+        .keyIDFromThumbprint()
+        .build();
+    keys.add(rsaKey);
+    ECKey ecKey = null;
+    if (!ecPrivateKeyLocation.isBlank()) {
+      ecKey = loadEcKey(resourceLoader, ecPrivateKeyLocation, ecPublicKeyLocation);
+      keys.add(ecKey);
+    }
+
+    JWSAlgorithm active = JWSAlgorithm.parse(algorithm);
+    if (JWSAlgorithm.RS256.equals(active)) {
+      this.signingKey = rsaKey;
+      this.signer = new RSASSASigner(rsaKey);
+    } else if (JWSAlgorithm.ES256.equals(active)) {
+      if (ecKey == null)
+        throw new IllegalStateException("app.jwt.ec.private-key-location is required for ES256");
+      this.signingKey = ecKey;
+      this.signer = new ECDSASigner(ecKey);
+    } else {
+      throw new IllegalStateException("Unsupported JWT algorithm: " + algorithm);
+    }
+    this.signingHeader = new JWSHeader.Builder(active)
+        .type(JOSEObjectType.JWT)
+        .keyID(signingKey.getKeyID())
+        .build();
+
+    Map<String, VerificationKey> byId = new HashMap<>();
+    Map<JWSAlgorithm, VerificationKey> byAlgorithm = new HashMap<>();
+    VerificationKey rsa = new VerificationKey(rsaPublicKey, new RSASSAVerifier(rsaKey));
+    byId.put(rsaKey.getKeyID(), rsa);
+    byAlgorithm.put(JWSAlgorithm.RS256, rsa);
+    if (ecKey != null) {
+      VerificationKey ec = new VerificationKey(ecKey.toECPublicKey(), new ECDSAVerifier(ecKey));
+      byId.put(ecKey.getKeyID(), ec);
+      byAlgorithm.put(JWSAlgorithm.ES256, ec);
+    }
+    this.keysById = Map.copyOf(byId);
+    this.keysByAlgorithm = Map.copyOf(byAlgorithm);
+    this.jwks = new JWKSet(keys).toPublicJWKSet().toJSONObject();
+    log.info("JWT signing with {} kid={}", active, signingKey.getKeyID());
+  }
+
+  public JWSHeader signingHeader() {
+    return signingHeader;
+  }
+
+  public JWSSigner signer() {
+    return signer;
+  }
+
+  // null neu thuat toan khong duoc cau hinh
+  public JWSVerifier verifier(JWSHeader header) {
+    VerificationKey key = find(header);
+    return key == null ? null : key.verifier();
+  }
+
+  public Map<String, Object> jwks() {
+    return jwks;
+  }
+
+  // processor cho JwtDecoder cua resource server: chon khoa theo kid, verify bang verifier da cache
+  public JWTProcessor<SecurityContext> jwtProcessor() {
+    DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+    processor.setJWSKeySelector((header, context) -> {
+      VerificationKey key = find(header);
+      return key == null ? List.of() : List.of(key.publicKey());
+    });
+    processor.setJWSVerifierFactory(new CachedVerifierFactory());
+    // claim (exp, nbf) do JwtValidators cua Spring kiem tra
+    processor.setJWTClaimsSetVerifier((claims, context) -> {
+    });
+    return processor;
+  }
+
+  // token phat truoc khi kid la thumbprint (kid ngau nhien moi lan boot) -> lui ve khoa cung thuat toan,
+  // chu ky van phai dung
+  private VerificationKey find(JWSHeader header) {
+    VerificationKey key = header.getKeyID() == null ? null : keysById.get(header.getKeyID());
+    if (key == null) {
+      key = keysByAlgorithm.get(header.getAlgorithm());
+    }
+    return key;
+  }
+
+  private static ECKey loadEcKey(ResourceLoader resourceLoader, String privateLocation, String publicLocation) {
+    try {
+      KeyFactory keyFactory = KeyFactory.getInstance("EC");
+      ECPrivateKey privateKey = (ECPrivateKey) keyFactory.generatePrivate(
+          new PKCS8EncodedKeySpec(readPem(resourceLoader, privateLocation)));
+      ECPublicKey publicKey = (ECPublicKey) keyFactory.generatePublic(
+          new X509EncodedKeySpec(readPem(resourceLoader, publicLocation)));
+      if (!Curve.P_256.equals(Curve.forECParameterSpec(publicKey.getParams())))
+        throw new IllegalStateException("ES256 key must be on curve P-256");
+      return new ECKey.Builder(Curve.P_256, publicKey)
+          .privateKey(privateKey)
+          .keyUse(KeyUse.SIGNATURE)
+          .algorithm(JWSAlgorithm.ES256)
+          .keyIDFromThumbprint()
+          .build();
+    } catch (IOException | GeneralSecurityException | JOSEException e) {
+      throw new IllegalStateException("Cannot load EC key from " + privateLocation, e);
+    }
+  }
+
+  // PEM (PKCS#8 / X.509 SubjectPublicKeyInfo) -> DER
+  private static byte[] readPem(ResourceLoader resourceLoader, String location) throws IOException {
+    String pem = resourceLoader.getResource(location).getContentAsString(StandardCharsets.US_ASCII);
+    String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+    return Base64.getDecoder().decode(base64);
+  }
+
+  private record VerificationKey(Key publicKey, JWSVerifier verifier) {
+  }
+
+  // key selector va factory cung tra theo header nen verifier cache la cua dung khoa da chon
+  private final class CachedVerifierFactory implements JWSVerifierFactory {
+    private final DefaultJWSVerifierFactory delegate = new DefaultJWSVerifierFactory();
+
+    @Override
+    public JWSVerifier createJWSVerifier(JWSHeader header, Key key) throws JOSEException {
+      JWSVerifier cached = verifier(header);
+      return cached != null ? cached : delegate.createJWSVerifier(header, key);
+    }
+
+    @Override
+    public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+      return delegate.supportedJWSAlgorithms();
+    }
+
+    @Override
+    public JCAContext getJCAContext() {
+      return delegate.getJCAContext();
+    }
+  }
+}
@@ -2,18 +2,12 @@ package com.neuro_bank.security;
 
 import com.neuro_bank.common.exception.BusinessException;
 import com.neuro_bank.module.user.entity.User;
-import com.nimbusds.jose.JWSAlgorithm;
-import com.nimbusds.jose.JWSHeader;
-import com.nimbusds.jose.crypto.RSASSASigner;
-import com.nimbusds.jose.crypto.RSASSAVerifier;
-import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.JWSVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
 import java.sql.Date;
 import java.time.Duration;
 import java.time.Instant;
@@ -21,7 +15,8 @@ import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
-  private final RSAKey rsaKey;
+  private final JwtKeySet jwtKeySet;
+  private final TokenEpochService tokenEpochService;
   @Value("${app.jwt.issuer}")
   private String issuer;
   @Value("${app.jwt.access-token-expiry}")
@@ -29,14 +24,9 @@ public class JwtTokenProvider {
   @Value("${app.jwt.refresh-token-expiry}")
   private long refreshTokenExpiry;
 
-  public JwtTokenProvider(
-      @Value("${app.jwt.private-key-location}") RSAPrivateKey privateKey,
-      @Value("${spring.security.oauth2.resourceserver.jwt.public-key-location}") RSAPublicKey publicKey
-  ) {
-    this.rsaKey = new RSAKey.Builder(publicKey)
-        .privateKey(privateKey)
-        .keyID(UUID.randomUUID().toString())
-        .build();
+  public JwtTokenProvider(JwtKeySet jwtKeySet, TokenEpochService tokenEpochService) {
+    this.jwtKeySet = jwtKeySet;
+    this.tokenEpochService = tokenEpochService;
   }
 
   public String generateAccessToken(User user, String deviceFingerprint, String sessionId) {
@@ -51,7 +41,7 @@ public class JwtTokenProvider {
                             String deviceFingerprint, String sessionId) {
     try {
       Instant now = Instant.now();
-      JWTClaimsSet claims = new JWTClaimsSet.Builder()
+      JWTClaimsSet.Builder builder = new JWTClaimsSet.Builder()
           .subject(user.getId().toString())
           .issuer(issuer)
           .issueTime(Date.from(now))
@@ -61,13 +51,17 @@ public class JwtTokenProvider {
           .claim("status", user.getStatus().name())
           .claim("tokenType", tokenType)
           .claim("sessionId", sessionId)
-          .claim("deviceFingerprint", deviceFingerprint)
-          .build();
+          .claim("deviceFingerprint", deviceFingerprint);
+      // access token mang epoch luc phat hanh de thu hoi theo user/session (TokenEpochService)
+      if ("ACCESS".equals(tokenType)) {
+        TokenEpochService.Epochs epochs = tokenEpochService.latest(user.getId());
+        builder.claim(TokenEpochService.USER_EPOCH_CLAIM, epochs.user())
+            .claim(TokenEpochService.SESSION_EPOCH_CLAIM, epochs.session(sessionId));
+      }
+      JWTClaimsSet claims = builder.build();
 
-      SignedJWT signedJWT = new SignedJWT(
-          new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(rsaKey.getKeyID()).build(),
-          claims);
-      signedJWT.sign(new RSASSASigner(rsaKey));
+      SignedJWT signedJWT = new SignedJWT(jwtKeySet.signingHeader(), claims);
+      signedJWT.sign(jwtKeySet.signer());
       return signedJWT.serialize();
     } catch (Exception e) {
       throw new RuntimeException("Cannot generate JWT", e);
@@ -77,7 +71,8 @@ public class JwtTokenProvider {
   public JWTClaimsSet parseToken(String token) {
     try {
       SignedJWT jwt = SignedJWT.parse(token);
-      if (!jwt.verify(new RSASSAVerifier(rsaKey.toRSAPublicKey())))
+      JWSVerifier verifier = jwtKeySet.verifier(jwt.getHeader());
+      if (verifier == null || !jwt.verify(verifier))
         throw BusinessException.unauthorized("Invalid token signature");
 
       JWTClaimsSet claims = jwt.getJWTClaimsSet();
@@ -100,6 +95,14 @@ public class JwtTokenProvider {
     }
   }
 
+  public String extractSessionId(String token) {
+    try {
+      return SignedJWT.parse(token).getJWTClaimsSet().getStringClaim("sessionId");
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
   public Duration getRemainingTtl(String token) {
     try {
       Date expiry = (Date) SignedJWT.parse(token).getJWTClaimsSet().getExpirationTime();
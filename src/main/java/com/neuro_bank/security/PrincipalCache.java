@@ -0,0 +1,92 @@
+package com.neuro_bank.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neuro_bank.infrastructure.RedisService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+// Cache UserPrincipal theo userId cho CustomJwtAuthenticationConverter: request co JWT hop le khong can
+// query findByIdWithCredential moi lan. Doi status/credential/profile -> invalidate sau commit o node nay
+// va publish qua Redis cho node khac; mat message thi TTL ngan chan do cu.
+// Hit ratio / so lan load DB: metric cache.gets{cache=auth.principal,result=hit|miss}.
+@Component
+@Lazy(false)
+@Slf4j
+public class PrincipalCache {
+  private final RedisService redisService;
+  private final RedisMessageListenerContainer listenerContainer;
+  private final String channel;
+  private final Cache<UUID, UserPrincipal> cache;
+
+  public PrincipalCache(RedisService redisService,
+      RedisMessageListenerContainer listenerContainer,
+      MeterRegistry meterRegistry,
+      @Value("${app.security.principal-cache.size}") long size,
+      @Value("${app.security.principal-cache.ttl-seconds}") long ttlSeconds,
+      @Value("${app.security.principal-cache.channel}") String channel) {
+    this.redisService = redisService;
+    this.listenerContainer = listenerContainer;
+    this.channel = channel;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(size)
+        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.principal");
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    listenerContainer.addMessageListener((message, pattern) -> {
+      String body = new String(message.getBody(), StandardCharsets.UTF_8);
+      try {
+        cache.invalidate(UUID.fromString(body));
+      } catch (IllegalArgumentException ex) {
+        log.warn("Ignoring malformed principal invalidation: {}", body);
+      }
+    }, new ChannelTopic(channel));
+  }
+
+  public UserPrincipal get(UUID userId, Function<UUID, UserPrincipal> loader) {
+    return cache.get(userId, loader);
+  }
+
+  // goi trong transaction ghi: doi commit de node khac khong nap lai ban cu
+  public void invalidate(UUID userId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      evict(userId);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        evict(userId);
+      }
+    });
+  }
+
+  private void evict(UUID userId) {
+    cache.invalidate(userId);
+    try {
+      redisService.publish(channel, userId.toString());
+    } catch (DataAccessException ex) {
+      log.warn("Cannot broadcast principal invalidation user={}: {}", userId, ex.getMessage());
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package com.neuro_bank.security;
+
+import com.neuro_bank.infrastructure.BloomFilter;
+import com.neuro_bank.infrastructure.RedisService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Mat truoc blacklist JTI trong Redis: Bloom filter local, "chac chan khong bi revoke" thi bo qua EXISTS.
+// Chia theo cua so = han access token: jti revoke trong cua so hien tai con song toi het cua so sau,
+// nen chi giu 2 filter (hien tai + truoc), quay vong thi bo filter cu -> bo nho co dinh.
+// Dong bo: node revoke publish jti, node khac nhan qua pub/sub; khoi dong va dinh ky SCAN lai blacklist de
+// lap message bi mat. Chua nap xong lan dau thi moi request van hoi Redis.
+@Component
+@Lazy(false)
+@Slf4j
+public class RevokedTokenFilter {
+  private final RedisService redisService;
+  private final RedisMessageListenerContainer listenerContainer;
+  private final String channel;
+  private final long windowMs;
+  private final long expectedPerWindow;
+  private final double falsePositiveRate;
+  private final AtomicReference<Generations> generations = new AtomicReference<>();
+  private final Counter skippedCounter;
+  private final Counter redisCheckCounter;
+  private volatile boolean ready;
+
+  public RevokedTokenFilter(RedisService redisService,
+      RedisMessageListenerContainer listenerContainer,
+      MeterRegistry meterRegistry,
+      @Value("${app.jwt.access-token-expiry}") long accessTokenExpirySeconds,
+      @Value("${app.security.revoked-token-filter.expected-per-window}") long expectedPerWindow,
+      @Value("${app.security.revoked-token-filter.false-positive-rate}") double falsePositiveRate,
+      @Value("${app.security.revoked-token-filter.channel}") String channel) {
+    this.redisService = redisService;
+    this.listenerContainer = listenerContainer;
+    this.channel = channel;
+    this.windowMs = Duration.ofSeconds(accessTokenExpirySeconds).toMillis();
+    this.expectedPerWindow = expectedPerWindow;
+    this.falsePositiveRate = falsePositiveRate;
+    this.skippedCounter = meterRegistry.counter("auth.revocation.checks", "result", "filtered");
+    this.redisCheckCounter = meterRegistry.counter("auth.revocation.checks", "result", "redis");
+    long window = System.currentTimeMillis() / windowMs;
+    this.generations.set(new Generations(window, newFilter(), newFilter()));
+  }
+
+  @PostConstruct
+  public void start() {
+    listenerContainer.addMessageListener((message, pattern) ->
+        add(new String(message.getBody(), StandardCharsets.UTF_8)), new ChannelTopic(channel));
+    resync();
+  }
+
+  // subscribe truoc roi moi SCAN: jti revoke trong luc quet van vao filter qua pub/sub
+  @Scheduled(initialDelayString = "${app.security.revoked-token-filter.resync-interval-ms}",
+      fixedDelayString = "${app.security.revoked-token-filter.resync-interval-ms}")
+  public void resync() {
+    try {
+      long[] loaded = {0};
+      redisService.forEachBlacklistedToken(jti -> {
+        add(jti);
+        loaded[0]++;
+      });
+      if (!ready) {
+        log.info("Loaded {} revoked token ids into local filter", loaded[0]);
+      }
+      ready = true;
+    } catch (DataAccessException ex) {
+      log.warn("Revoked token resync failed, ready={}: {}", ready, ex.getMessage());
+    }
+  }
+
+  // ghi Redis truoc (nguon su that), roi filter local, roi bao node khac
+  public void revoke(String jti, Duration ttl) {
+    redisService.blacklistToken(jti, ttl);
+    add(jti);
+    try {
+      redisService.publish(channel, jti);
+    } catch (DataAccessException ex) {
+      // node khac bat lai o lan resync ke tiep
+      log.warn("Cannot broadcast token revocation jti={}: {}", jti, ex.getMessage());
+    }
+  }
+
+  public boolean isRevoked(String jti) {
+    if (ready && !current().mightContain(jti)) {
+      skippedCounter.increment();
+      return false;
+    }
+    redisCheckCounter.increment();
+    return redisService.isTokenBlacklisted(jti);
+  }
+
+  private void add(String jti) {
+    current().current().put(jti);
+  }
+
+  private Generations current() {
+    long window = System.currentTimeMillis() / windowMs;
+    Generations active = generations.get();
+    while (active.window() < window) {
+      // qua 2 cua so tro len thi ca 2 filter deu het han
+      Generations rotated = active.window() == window - 1
+          ? new Generations(window, newFilter(), active.current())
+          : new Generations(window, newFilter(), newFilter());
+      if (generations.compareAndSet(active, rotated)) {
+        return rotated;
+      }
+      active = generations.get();
+    }
+    return active;
+  }
+
+  private BloomFilter newFilter() {
+    return new BloomFilter(expectedPerWindow, falsePositiveRate);
+  }
+
+  private record Generations(long window, BloomFilter current, BloomFilter previous) {
+    boolean mightContain(String jti) {
+      return current.mightContain(jti) || previous.mightContain(jti);
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package com.neuro_bank.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neuro_bank.infrastructure.RedisService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Thu hoi access token theo epoch thay vi tung JTI: access token mang epoch cua user (uep) va session (sep)
+// luc phat hanh; tang epoch 1 lan (1 lenh Redis) la moi token phat truoc do bi tu choi.
+// Epoch luu trong hash auth:epoch:{userId}, song bang han access token ke tu lan tang cuoi -> token cu nhat
+// con song cung da het han khi hash mat. Moi node cache hash theo user, invalidate qua pub/sub.
+@Component
+@Lazy(false)
+@Slf4j
+public class TokenEpochService {
+  public static final String USER_EPOCH_CLAIM = "uep";
+  public static final String SESSION_EPOCH_CLAIM = "sep";
+  private static final String KEY_PREFIX = "auth:epoch:";
+  private static final String USER_FIELD = "user";
+  private static final String SESSION_FIELD_PREFIX = "s:";
+  private static final RedisScript<Long> BUMP_SCRIPT =
+      RedisScript.of(new ClassPathResource("redis/token_epoch_bump.lua"), Long.class);
+
+  private final RedisService redisService;
+  private final RedisMessageListenerContainer listenerContainer;
+  private final String channel;
+  private final Duration ttl;
+  private final Cache<UUID, Epochs> cache;
+
+  public TokenEpochService(RedisService redisService,
+      RedisMessageListenerContainer listenerContainer,
+      MeterRegistry meterRegistry,
+      @Value("${app.jwt.access-token-expiry}") long accessTokenExpirySeconds,
+      @Value("${app.security.token-epoch.cache-size}") long cacheSize,
+      @Value("${app.security.token-epoch.cache-ttl-seconds}") long cacheTtlSeconds,
+      @Value("${app.security.token-epoch.channel}") String channel) {
+    this.redisService = redisService;
+    this.listenerContainer = listenerContainer;
+    this.channel = channel;
+    this.ttl = Duration.ofSeconds(accessTokenExpirySeconds);
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(cacheSize)
+        .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.token-epoch");
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    listenerContainer.addMessageListener((message, pattern) -> {
+      String body = new String(message.getBody(), StandardCharsets.UTF_8);
+      try {
+        cache.invalidate(UUID.fromString(body));
+      } catch (IllegalArgumentException ex) {
+        log.warn("Ignoring malformed token epoch invalidation: {}", body);
+      }
+    }, new ChannelTopic(channel));
+  }
+
+  public Epochs current(UUID userId) {
+    return cache.get(userId, this::load);
+  }
+
+  // luc phat hanh token doc thang Redis: cache cu co the chua nhan invalidate -> token moi mang epoch cu
+  public Epochs latest(UUID userId) {
+    return load(userId);
+  }
+
+  // token phat truoc lan tang epoch gan nhat cua user hoac session -> da bi thu hoi
+  public boolean isRevoked(UUID userId, String sessionId, long userEpoch, long sessionEpoch) {
+    Epochs epochs = current(userId);
+    return userEpoch < epochs.user() || sessionEpoch < epochs.session(sessionId);
+  }
+
+  // dang xuat moi noi / doi mat khau / khoa tai khoan
+  public void revokeUser(UUID userId) {
+    bump(userId, USER_FIELD);
+  }
+
+  public void revokeSession(UUID userId, String sessionId) {
+    bump(userId, SESSION_FIELD_PREFIX + sessionId);
+  }
+
+  private void bump(UUID userId, String field) {
+    redisService.execute(BUMP_SCRIPT, List.of(KEY_PREFIX + userId), field,
+        String.valueOf(System.currentTimeMillis()), String.valueOf(ttl.toSeconds()));
+    cache.invalidate(userId);
+    try {
+      redisService.publish(channel, userId.toString());
+    } catch (DataAccessException ex) {
+      // node khac thay epoch moi khi cache het han (cache-ttl-seconds)
+      log.warn("Cannot broadcast token epoch change user={}: {}", userId, ex.getMessage());
+    }
+  }
+
+  private Epochs load(UUID userId) {
+    Map<String, String> entries = redisService.hashEntries(KEY_PREFIX + userId);
+    if (entries.isEmpty()) {
+      return Epochs.NONE;
+    }
+    long user = 0;
+    Map<String, Long> sessions = new HashMap<>();
+    for (Map.Entry<String, String> entry : entries.entrySet()) {
+      if (USER_FIELD.equals(entry.getKey())) {
+        user = Long.parseLong(entry.getValue());
+      } else if (entry.getKey().startsWith(SESSION_FIELD_PREFIX)) {
+        sessions.put(entry.getKey().substring(SESSION_FIELD_PREFIX.length()), Long.parseLong(entry.getValue()));
+      }
+    }
+    return new Epochs(user, Map.copyOf(sessions));
+  }
+
+  public record Epochs(long user, Map<String, Long> sessions) {
+    static final Epochs NONE = new Epochs(0, Map.of());
+
+    public long session(String sessionId) {
+      return sessionId == null ? 0 : sessions.getOrDefault(sessionId, 0L);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+-- Chuyen outbox_events sang bang partition theo ngay (RANGE created_at).
+-- Chay 1 lan khi app dung. Sau do OutboxPartitionManager tu tao partition moi va don partition cu.
+-- Partition ten outbox_events_pYYYYMMDD, khoang [ngay, ngay + 1).
+
+BEGIN;
+
+ALTER TABLE outbox_events RENAME TO outbox_events_legacy;
+ALTER INDEX IF EXISTS idx_outbox_processed RENAME TO idx_outbox_legacy_processed;
+ALTER INDEX IF EXISTS idx_outbox_pending RENAME TO idx_outbox_legacy_pending;
+
+CREATE TABLE outbox_events (
+    id              uuid         NOT NULL,
+    created_at      timestamp(6) NOT NULL,
+    updated_at      timestamp(6),
+    created_by      varchar(255),
+    updated_by      varchar(255),
+    version         bigint,
+    event_type      varchar(50)  NOT NULL,
+    aggregate_type  varchar(50)  NOT NULL,
+    aggregate_id    uuid         NOT NULL,
+    payload         jsonb        NOT NULL,
+    processed       boolean      NOT NULL,
+    processed_at    timestamp(6),
+    retry_count     integer      NOT NULL,
+    last_error      varchar(255),
+    next_attempt_at timestamp(6),
+    -- partition key bat buoc nam trong primary key
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- luoi an toan neu chua kip tao partition cho ngay moi; manager khong bao gio drop partition nay
+CREATE TABLE outbox_events_default PARTITION OF outbox_events DEFAULT;
+
+CREATE INDEX idx_outbox_processed ON outbox_events (processed, created_at);
+CREATE INDEX idx_outbox_pending ON outbox_events (processed, next_attempt_at);
+
+-- tao partition cho cac ngay co event chua xu ly. created_at ghi theo gio cua app, khong theo current_date
+-- cua DB: partition hom nay va cac ngay toi do OutboxPartitionManager tao luc app khoi dong lai
+DO $$
+DECLARE
+    day date := (SELECT min(created_at)::date FROM outbox_events_legacy WHERE processed = false);
+    last_day date := (SELECT max(created_at)::date FROM outbox_events_legacy WHERE processed = false);
+BEGIN
+    WHILE day <= last_day LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF outbox_events FOR VALUES FROM (%L) TO (%L)',
+                       'outbox_events_p' || to_char(day, 'YYYYMMDD'), day, day + 1);
+        day := day + 1;
+    END LOOP;
+END $$;
+
+-- chi chuyen event chua xu ly; event da xu ly o lai bang legacy de archive/drop tay
+INSERT INTO outbox_events (id, created_at, updated_at, created_by, updated_by, version, event_type,
+                           aggregate_type, aggregate_id, payload, processed, processed_at, retry_count,
+                           last_error, next_attempt_at)
+SELECT id, created_at, updated_at, created_by, updated_by, version, event_type,
+       aggregate_type, aggregate_id, payload, processed, processed_at, retry_count,
+       last_error, COALESCE(next_attempt_at, created_at)
+FROM outbox_events_legacy
+WHERE processed = false;
+
+COMMIT;
+
+-- sau khi kiem tra: DROP TABLE outbox_events_legacy;
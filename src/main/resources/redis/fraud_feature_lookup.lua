@@ -0,0 +1,29 @@
+-- KEYS[1] = amounts histogram, KEYS[2..days+1] = daily hash, KEYS[days+2..2*days+1] = recipients HLL
+-- ARGV: days, bucket cua so tien dang xet
+-- return {count, sum, distinctRecipients, bucketsBelow, sameBucket, totalSamples}
+local days = tonumber(ARGV[1])
+local count, sum = 0, 0
+for i = 2, days + 1 do
+  local v = redis.call('HMGET', KEYS[i], 'count', 'sum')
+  count = count + (tonumber(v[1]) or 0)
+  sum = sum + (tonumber(v[2]) or 0)
+end
+local hll = {}
+for i = days + 2, 2 * days + 1 do
+  hll[#hll + 1] = KEYS[i]
+end
+local distinct = redis.call('PFCOUNT', unpack(hll))
+local bucket = tonumber(ARGV[2])
+local below, same, total = 0, 0, 0
+local amounts = redis.call('HGETALL', KEYS[1])
+for i = 1, #amounts, 2 do
+  local b = tonumber(amounts[i])
+  local c = tonumber(amounts[i + 1])
+  total = total + c
+  if b < bucket then
+    below = below + c
+  elseif b == bucket then
+    same = same + c
+  end
+end
+return {count, tostring(sum), distinct, below, same, total}
@@ -0,0 +1,14 @@
+-- ghi 1 giao dich vao feature store, dedupe theo transaction id (outbox giao it nhat 1 lan)
+-- KEYS: seen, recipients HLL (ngay), daily hash (ngay), amounts histogram
+-- ARGV: recipient, amount, bucket, seenTtl, dailyTtl, amountsTtl
+if not redis.call('SET', KEYS[1], '1', 'NX', 'EX', ARGV[4]) then
+  return 0
+end
+redis.call('PFADD', KEYS[2], ARGV[1])
+redis.call('EXPIRE', KEYS[2], ARGV[5])
+redis.call('HINCRBY', KEYS[3], 'count', 1)
+redis.call('HINCRBYFLOAT', KEYS[3], 'sum', ARGV[2])
+redis.call('EXPIRE', KEYS[3], ARGV[5])
+redis.call('HINCRBY', KEYS[4], ARGV[3], 1)
+redis.call('EXPIRE', KEYS[4], ARGV[6])
+return 1
@@ -0,0 +1,7 @@
+-- tang epoch cua user/session: max(cu + 1, now ms) -> van tang dan khi hash da het han va bi tao lai
+-- KEYS[1] = auth:epoch:{userId}, ARGV[1] = field, ARGV[2] = now ms, ARGV[3] = ttl giay (= han access token)
+local current = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0')
+local next = math.max(current + 1, tonumber(ARGV[2]))
+redis.call('HSET', KEYS[1], ARGV[1], next)
+redis.call('EXPIRE', KEYS[1], ARGV[3])
+return next
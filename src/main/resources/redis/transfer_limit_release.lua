@@ -0,0 +1,7 @@
+-- tra lai phan da reserve khi transaction DB rollback; key het han roi thi bo qua
+for i = 1, #KEYS do
+  if redis.call('EXISTS', KEYS[i]) == 1 then
+    redis.call('DECRBY', KEYS[i], ARGV[1])
+  end
+end
+return 1
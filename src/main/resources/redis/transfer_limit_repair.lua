@@ -0,0 +1,8 @@
+-- KEYS[1] = counter key; ARGV: expected (gia tri luc doc, '' = chua co key), target, ttl
+-- chi ghi de khi counter khong doi ke tu luc doc -> khong de mat reserve dang chay
+local current = redis.call('GET', KEYS[1])
+if (current or '') ~= ARGV[1] then
+  return 0
+end
+redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])
+return 1
@@ -0,0 +1,15 @@
+-- KEYS[1] = daily key, KEYS[2] = monthly key (gia tri = minor units, scale 4)
+-- ARGV: amount, dailyLimit, monthlyLimit, dailyTtl, monthlyTtl, dailySeed, monthlySeed
+-- return 1 = ok, -1 = vuot han muc ngay, -2 = vuot han muc thang
+redis.call('SET', KEYS[1], ARGV[6], 'NX', 'EX', ARGV[4])
+redis.call('SET', KEYS[2], ARGV[7], 'NX', 'EX', ARGV[5])
+local amount = tonumber(ARGV[1])
+if tonumber(redis.call('GET', KEYS[1])) + amount > tonumber(ARGV[2]) then
+  return -1
+end
+if tonumber(redis.call('GET', KEYS[2])) + amount > tonumber(ARGV[3]) then
+  return -2
+end
+redis.call('INCRBY', KEYS[1], ARGV[1])
+redis.call('INCRBY', KEYS[2], ARGV[1])
+return 1
@@ -0,0 +1,33 @@
+package com.neuro_bank;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+// Postgres + Redis that cho test can lock/transaction that. Container start 1 lan cho ca JVM (khong dung
+// @Container static: Spring cache context giua cac class test, container phai song lau hon 1 class)
+@SpringBootTest
+@ActiveProfiles("test")
+public abstract class IntegrationTest {
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+  private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+  static {
+    POSTGRES.start();
+    REDIS.start();
+  }
+
+  @DynamicPropertySource
+  static void containers(DynamicPropertyRegistry registry) {
+    registry.add("DATABASE_HOST", POSTGRES::getHost);
+    registry.add("DATABASE_PORT", () -> POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT));
+    registry.add("DATABASE_NAME", POSTGRES::getDatabaseName);
+    registry.add("DATABASE_USERNAME", POSTGRES::getUsername);
+    registry.add("DATABASE_PASSWORD", POSTGRES::getPassword);
+    registry.add("REDIS_HOST", REDIS::getHost);
+    registry.add("REDIS_PORT", () -> REDIS.getMappedPort(6379));
+  }
+}
@@ -3,7 +3,7 @@ package com.neuro_bank;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.transaction.reference.node-id=0")
 class NeuroBankApplicationTests {
 
   @Test
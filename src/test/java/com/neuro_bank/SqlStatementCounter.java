@@ -0,0 +1,24 @@
+package com.neuro_bank;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Dem cau SQL Hibernate chuan bi tren thread hien tai (hibernate.session_factory.statement_inspector trong
+// application-test.yaml). Statistics cua SessionFactory la toan cuc, scheduler chay nen cung cong vao -> dem
+// theo thread de assert so statement cua 1 lan goi service khong bi nhieu.
+public class SqlStatementCounter implements StatementInspector {
+  private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+  @Override
+  public String inspect(String sql) {
+    COUNT.get()[0]++;
+    return sql;
+  }
+
+  public static void reset() {
+    COUNT.get()[0] = 0;
+  }
+
+  public static long count() {
+    return COUNT.get()[0];
+  }
+}
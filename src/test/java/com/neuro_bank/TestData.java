@@ -0,0 +1,54 @@
+package com.neuro_bank;
+
+import com.neuro_bank.common.enums.AccountStatus;
+import com.neuro_bank.common.enums.AccountType;
+import com.neuro_bank.common.enums.Currency;
+import com.neuro_bank.common.enums.UserStatus;
+import com.neuro_bank.common.util.Money;
+import com.neuro_bank.module.account.entity.Account;
+import com.neuro_bank.module.user.entity.User;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+// entity toi thieu cho integration test; so/email ngau nhien de cac test khong dung unique constraint
+public final class TestData {
+  private TestData() {
+  }
+
+  public static User user() {
+    String suffix = digits(9);
+    return User.builder()
+        .fullName("Test User " + suffix)
+        .email("user" + suffix + "@test.local")
+        .phone("09" + suffix)
+        .dateOfBirth(LocalDate.of(1990, 1, 1))
+        .status(UserStatus.ACTIVE)
+        .build();
+  }
+
+  public static Account account(User user, Money balance) {
+    return Account.builder()
+        .user(user)
+        .accountNumber(digits(14))
+        .type(AccountType.CHECKING)
+        .status(AccountStatus.ACTIVE)
+        .currency(balance.currency())
+        .balance(balance.minorUnits())
+        .availableBalance(balance.minorUnits())
+        .openedDate(LocalDate.now())
+        .build();
+  }
+
+  public static Money vnd(long amount) {
+    return new Money(Math.multiplyExact(amount, 10_000L), Currency.VND);
+  }
+
+  private static String digits(int length) {
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(ThreadLocalRandom.current().nextInt(10));
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,73 @@
+package com.neuro_bank.common.util;
+
+import com.neuro_bank.common.enums.Currency;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+  @Test
+  void convertsToMinorUnitsAtScaleFour() {
+    Money money = Money.of(new BigDecimal("12.5"), Currency.VND);
+
+    assertThat(money.minorUnits()).isEqualTo(125_000);
+    assertThat(money.toBigDecimal()).isEqualByComparingTo("12.5").hasScale(Money.SCALE);
+  }
+
+  @Test
+  void acceptsTrailingZerosBeyondScale() {
+    assertThat(Money.of(new BigDecimal("1.500000"), Currency.VND).minorUnits()).isEqualTo(15_000);
+  }
+
+  @Test
+  void rejectsMoreThanFourDecimalsInsteadOfRounding() {
+    assertThatThrownBy(() -> Money.of(new BigDecimal("0.00001"), Currency.VND))
+        .isInstanceOf(ArithmeticException.class);
+  }
+
+  // @Digits(integer = 14, fraction = 4) cua request luon vua long
+  @Test
+  void largestRequestAmountFits() {
+    BigDecimal largest = new BigDecimal("99999999999999.9999");
+
+    assertThat(Money.of(largest, Currency.VND).toBigDecimal()).isEqualByComparingTo(largest);
+  }
+
+  @Test
+  void rejectsAmountsOverflowingLong() {
+    assertThatThrownBy(() -> Money.of(new BigDecimal("999999999999999.9999"), Currency.VND))
+        .isInstanceOf(ArithmeticException.class);
+  }
+
+  @Test
+  void arithmeticAndComparison() {
+    Money ten = Money.of(BigDecimal.TEN, Currency.USD);
+    Money three = Money.of(new BigDecimal("3.25"), Currency.USD);
+
+    assertThat(ten.minus(three)).isEqualTo(Money.of(new BigDecimal("6.75"), Currency.USD));
+    assertThat(ten.plus(three)).isEqualTo(Money.of(new BigDecimal("13.25"), Currency.USD));
+    assertThat(three.negate().signum()).isNegative();
+    assertThat(ten.isGreaterThan(three)).isTrue();
+    assertThat(three.isLessThan(ten)).isTrue();
+    assertThat(Money.zero(Currency.USD).signum()).isZero();
+  }
+
+  @Test
+  void overflowThrowsInsteadOfWrapping() {
+    Money max = new Money(Long.MAX_VALUE, Currency.VND);
+
+    assertThatThrownBy(() -> max.plus(new Money(1, Currency.VND))).isInstanceOf(ArithmeticException.class);
+  }
+
+  @Test
+  void rejectsMixedCurrencies() {
+    Money vnd = Money.zero(Currency.VND);
+    Money usd = Money.zero(Currency.USD);
+
+    assertThatThrownBy(() -> vnd.plus(usd)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> vnd.compareTo(usd)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,53 @@
+package com.neuro_bank.common.util;
+
+import com.neuro_bank.module.transaction.util.AccountLockOrder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UuidRangesTest {
+  @Test
+  void rangesAreContiguousAndCoverWholeSpace() {
+    List<UuidRanges.Range> ranges = UuidRanges.split(7);
+
+    assertThat(ranges).hasSize(7);
+    assertThat(ranges.get(0).lower()).isEqualTo(new UUID(0, 0));
+    assertThat(ranges.get(6).upper()).isNull();
+    for (int i = 0; i < ranges.size() - 1; i++) {
+      assertThat(ranges.get(i).upper()).isEqualTo(ranges.get(i + 1).lower());
+      assertThat(AccountLockOrder.COMPARATOR.compare(ranges.get(i).lower(), ranges.get(i).upper())).isNegative();
+    }
+  }
+
+  // moi uuid roi vao dung 1 khoang theo thu tu khong dau cua Postgres
+  @Test
+  void everyUuidFallsInExactlyOneRange() {
+    List<UuidRanges.Range> ranges = UuidRanges.split(5);
+    for (int i = 0; i < 1000; i++) {
+      UUID id = UUID.randomUUID();
+      long matches = ranges.stream().filter(range -> contains(range, id)).count();
+      assertThat(matches).isEqualTo(1);
+    }
+    UUID max = new UUID(-1L, -1L);
+    assertThat(ranges.stream().filter(range -> contains(range, max)).count()).isEqualTo(1);
+  }
+
+  @Test
+  void singleRangeIsUnbounded() {
+    assertThat(UuidRanges.split(1)).containsExactly(new UuidRanges.Range(new UUID(0, 0), null));
+  }
+
+  @Test
+  void rejectsNonPositiveCount() {
+    assertThatThrownBy(() -> UuidRanges.split(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static boolean contains(UuidRanges.Range range, UUID id) {
+    return AccountLockOrder.COMPARATOR.compare(id, range.lower()) >= 0
+        && (range.upper() == null || AccountLockOrder.COMPARATOR.compare(id, range.upper()) < 0);
+  }
+}
@@ -0,0 +1,81 @@
+package com.neuro_bank.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+  private static final int INSERTIONS = 20_000;
+  private static final double FALSE_POSITIVE_RATE = 0.01;
+
+  @Test
+  void neverReturnsFalseNegatives() {
+    BloomFilter filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+    for (int i = 0; i < INSERTIONS; i++) {
+      filter.put("jti-" + i);
+    }
+
+    for (int i = 0; i < INSERTIONS; i++) {
+      assertThat(filter.mightContain("jti-" + i)).isTrue();
+    }
+  }
+
+  @Test
+  void falsePositiveRateStaysNearConfigured() {
+    BloomFilter filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+    for (int i = 0; i < INSERTIONS; i++) {
+      filter.put("jti-" + i);
+    }
+
+    int falsePositives = 0;
+    int probes = 100_000;
+    for (int i = 0; i < probes; i++) {
+      if (filter.mightContain("other-" + i)) {
+        falsePositives++;
+      }
+    }
+    assertThat((double) falsePositives / probes).isLessThan(FALSE_POSITIVE_RATE * 2);
+  }
+
+  @Test
+  void emptyFilterContainsNothing() {
+    BloomFilter filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+
+    assertThat(filter.mightContain("jti-0")).isFalse();
+    assertThat(filter.mightContain("")).isFalse();
+  }
+
+  // put dung CAS: bit cua cac thread ghi cung word khong de len nhau
+  @Test
+  void concurrentPutsAreNotLost() throws Exception {
+    BloomFilter filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+    int threads = 8;
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        int offset = t;
+        futures.add(pool.submit(() -> {
+          for (int i = offset; i < INSERTIONS; i += threads) {
+            filter.put("jti-" + i);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    for (int i = 0; i < INSERTIONS; i++) {
+      assertThat(filter.mightContain("jti-" + i)).isTrue();
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.neuro_bank.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+  // tick 10ms, 8 o, 3 tang: tang 0 = 80ms, tang 1 = 640ms, tang 2 = 5120ms
+  private static final long TICK_MS = 10;
+
+  private final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, 8, 3, 0);
+
+  @Test
+  void expiresOnTheTickOfItsDeadline() {
+    wheel.schedule("a", 30);
+
+    assertThat(wheel.advance(20)).isEmpty();
+    assertThat(wheel.advance(30)).containsExactly("a");
+    assertThat(wheel.size()).isZero();
+  }
+
+  // deadline giua 2 tick lam tron len: khong bao gio het han som
+  @Test
+  void neverExpiresEarly() {
+    wheel.schedule("a", 25);
+
+    assertThat(wheel.advance(29)).isEmpty();
+    assertThat(wheel.advance(30)).containsExactly("a");
+  }
+
+  @Test
+  void cascadesFromHigherLevels() {
+    wheel.schedule("level1", 500);
+    wheel.schedule("level2", 3_000);
+
+    assertThat(wheel.advance(490)).isEmpty();
+    assertThat(wheel.advance(500)).containsExactly("level1");
+    assertThat(wheel.advance(2_990)).isEmpty();
+    assertThat(wheel.advance(3_000)).containsExactly("level2");
+  }
+
+  // xa hon ca wheel: nam o tang cao nhat, duoc xep lai moi vong cho toi deadline that
+  @Test
+  void holdsItemsBeyondHorizon() {
+    wheel.schedule("far", 20_000);
+
+    assertThat(wheel.advance(19_990)).isEmpty();
+    assertThat(wheel.size()).isEqualTo(1);
+    assertThat(wheel.advance(20_000)).containsExactly("far");
+  }
+
+  @Test
+  void overdueItemsReturnOnNextAdvance() {
+    wheel.advance(1_000);
+    wheel.schedule("late", 500);
+
+    assertThat(wheel.advance(1_000)).containsExactly("late");
+  }
+
+  @Test
+  void randomDeadlinesExpireExactlyOnTime() {
+    Random random = new Random(42);
+    List<Long> deadlines = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++) {
+      long deadline = 1 + random.nextInt(30_000);
+      deadlines.add(deadline);
+      wheel.schedule(String.valueOf(deadline), deadline);
+    }
+
+    int expired = 0;
+    for (long now = TICK_MS; now <= 30_000; now += TICK_MS) {
+      for (String item : wheel.advance(now)) {
+        long deadline = Long.parseLong(item);
+        assertThat(deadline).isLessThanOrEqualTo(now).isGreaterThan(now - TICK_MS);
+        expired++;
+      }
+    }
+    assertThat(expired).isEqualTo(deadlines.size());
+    assertThat(wheel.size()).isZero();
+  }
+}
@@ -0,0 +1,96 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.IntegrationTest;
+import com.neuro_bank.TestData;
+import com.neuro_bank.common.util.Money;
+import com.neuro_bank.module.account.entity.Account;
+import com.neuro_bank.module.account.repository.AccountRepository;
+import com.neuro_bank.module.transaction.dto.request.CreateTransferRequest;
+import com.neuro_bank.module.user.entity.User;
+import com.neuro_bank.module.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A->B va B->A cung luc, goi thang TransferEngine (khong qua stripe) de chi con thu tu lock row cua DB:
+// lock khong theo AccountLockOrder thi Postgres bao deadlock (40P01) va transfer nem exception.
+// Log throughput (transfer/s) cua 2 account tranh chap nhau -> so sanh giua cac thay doi o duong post.
+@Slf4j
+class OpposingTransfersTest extends IntegrationTest {
+  private static final int TRANSFERS_PER_DIRECTION = 2_000;
+  private static final int THREADS = 8;
+  // du cho 1 chieu chay het truoc chieu kia
+  private static final Money INITIAL = TestData.vnd(10_000_000);
+  private static final Money A_TO_B = TestData.vnd(700);
+  private static final Money B_TO_A = TestData.vnd(300);
+
+  @Autowired
+  private TransferEngine transferEngine;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private AccountRepository accountRepository;
+
+  @Test
+  void opposingTransfersDoNotDeadlockAndConserveMoney() throws Exception {
+    User user = userRepository.save(TestData.user());
+    Account a = accountRepository.save(TestData.account(user, INITIAL));
+    Account b = accountRepository.save(TestData.account(user, INITIAL));
+
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<?>> transfers = new ArrayList<>();
+      for (int i = 0; i < TRANSFERS_PER_DIRECTION; i++) {
+        transfers.add(pool.submit(() -> transfer(start, user.getId(), a, b, A_TO_B)));
+        transfers.add(pool.submit(() -> transfer(start, user.getId(), b, a, B_TO_A)));
+      }
+      long startedAt = System.nanoTime();
+      start.countDown();
+      // deadlock -> ExecutionException; lock cho nhau mai -> timeout
+      for (Future<?> transfer : transfers) {
+        transfer.get(60, TimeUnit.SECONDS);
+      }
+      double seconds = (System.nanoTime() - startedAt) / 1e9;
+      double throughput = transfers.size() / seconds;
+      log.info("Opposing transfers: {} in {} s with {} threads = {} transfers/s", transfers.size(),
+          String.format("%.2f", seconds), THREADS, String.format("%.0f", throughput));
+    } finally {
+      pool.shutdownNow();
+    }
+
+    Account finalA = accountRepository.findById(a.getId()).orElseThrow();
+    Account finalB = accountRepository.findById(b.getId()).orElseThrow();
+    Money net = new Money((B_TO_A.minorUnits() - A_TO_B.minorUnits()) * TRANSFERS_PER_DIRECTION, INITIAL.currency());
+    assertThat(finalA.balanceMoney()).isEqualTo(INITIAL.plus(net));
+    assertThat(finalB.balanceMoney()).isEqualTo(INITIAL.minus(net));
+    assertThat(finalA.balanceMoney().plus(finalB.balanceMoney())).isEqualTo(INITIAL.plus(INITIAL));
+    assertThat(finalA.availableMoney()).isEqualTo(finalA.balanceMoney());
+    assertThat(finalB.availableMoney()).isEqualTo(finalB.balanceMoney());
+  }
+
+  private Void transfer(CountDownLatch start, UUID userId, Account from, Account to, Money amount)
+      throws InterruptedException {
+    start.await();
+    CreateTransferRequest request = CreateTransferRequest.builder()
+        .fromAccountId(from.getId())
+        .toAccountId(to.getId())
+        .amount(amount.toBigDecimal())
+        .currency(amount.currency())
+        .description("opposing transfer test")
+        .build();
+    transferEngine.execute(userId, request, UUID.randomUUID().toString());
+    return null;
+  }
+}
@@ -0,0 +1,95 @@
+package com.neuro_bank.module.transaction.service;
+
+import com.neuro_bank.IntegrationTest;
+import com.neuro_bank.SqlStatementCounter;
+import com.neuro_bank.TestData;
+import com.neuro_bank.common.util.Money;
+import com.neuro_bank.module.account.entity.Account;
+import com.neuro_bank.module.account.repository.AccountRepository;
+import com.neuro_bank.module.transaction.dto.request.CreateTransferRequest;
+import com.neuro_bank.module.transaction.dto.request.QueryTransactionRequest;
+import com.neuro_bank.module.transaction.dto.response.PagedTransactionResponse;
+import com.neuro_bank.module.user.entity.User;
+import com.neuro_bank.module.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Chot so SQL moi trang: trang + legs cua ca trang (+ count cho offset, + account ids cho scroll), khong doi
+// theo page size -> entries/FraudAlert khong bi load tung dong (N+1)
+class TransactionListQueriesTest extends IntegrationTest {
+  private static final int TRANSFERS = 25;
+
+  @Autowired
+  private TransactionService transactionService;
+  @Autowired
+  private TransferEngine transferEngine;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private AccountRepository accountRepository;
+
+  private User user;
+
+  @BeforeEach
+  void transfers() {
+    user = userRepository.save(TestData.user());
+    Account from = accountRepository.save(TestData.account(user, TestData.vnd(1_000_000)));
+    Account to = accountRepository.save(TestData.account(user, TestData.vnd(0)));
+    Money amount = TestData.vnd(100);
+    for (int i = 0; i < TRANSFERS; i++) {
+      CreateTransferRequest request = CreateTransferRequest.builder()
+          .fromAccountId(from.getId())
+          .toAccountId(to.getId())
+          .amount(amount.toBigDecimal())
+          .currency(amount.currency())
+          .description("list query test")
+          .build();
+      transferEngine.execute(user.getId(), request, UUID.randomUUID().toString());
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {5, 20})
+  void offsetPageRunsThreeStatements(int size) {
+    QueryTransactionRequest request = QueryTransactionRequest.builder().page(0).size(size).build();
+
+    SqlStatementCounter.reset();
+    PagedTransactionResponse page = transactionService.searchMyTransactions(user.getId(), request);
+
+    // page + count + legs
+    assertThat(SqlStatementCounter.count()).isEqualTo(3);
+    assertThat(page.getItems()).hasSize(size);
+    assertThat(page.getTotalElements()).isEqualTo(TRANSFERS);
+    assertThat(page.getItems()).allSatisfy(item -> {
+      assertThat(item.getFromAccountNumber()).isNotNull();
+      assertThat(item.getToAccountNumber()).isNotNull();
+    });
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {5, 20})
+  void scrollPageRunsThreeStatements(int size) {
+    QueryTransactionRequest first = QueryTransactionRequest.builder().size(size).build();
+
+    SqlStatementCounter.reset();
+    PagedTransactionResponse page = transactionService.scrollMyTransactions(user.getId(), first);
+
+    // account ids + page + legs
+    assertThat(SqlStatementCounter.count()).isEqualTo(3);
+    assertThat(page.getItems()).hasSize(size);
+    assertThat(page.isHasNext()).isTrue();
+
+    QueryTransactionRequest next = QueryTransactionRequest.builder().size(size).cursor(page.getNextCursor()).build();
+    SqlStatementCounter.reset();
+    PagedTransactionResponse nextPage = transactionService.scrollMyTransactions(user.getId(), next);
+
+    assertThat(SqlStatementCounter.count()).isEqualTo(3);
+    assertThat(nextPage.getItems()).hasSize(Math.min(size, TRANSFERS - size));
+  }
+}
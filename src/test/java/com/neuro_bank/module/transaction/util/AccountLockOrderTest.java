@@ -0,0 +1,54 @@
+package com.neuro_bank.module.transaction.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountLockOrderTest {
+  private static final UUID LOW = UUID.fromString("7fffffff-ffff-ffff-ffff-ffffffffffff");
+  private static final UUID HIGH = UUID.fromString("80000000-0000-0000-0000-000000000000");
+
+  // UUID.compareTo so sanh co dau -> 8000... dung truoc 7fff...; Postgres so byte khong dau thi nguoc lai
+  @Test
+  void ordersMostSignificantBitsUnsigned() {
+    assertThat(HIGH.compareTo(LOW)).isNegative();
+
+    assertThat(AccountLockOrder.sort(List.of(HIGH, LOW))).containsExactly(LOW, HIGH);
+  }
+
+  @Test
+  void breaksTiesOnLeastSignificantBitsUnsigned() {
+    UUID low = UUID.fromString("00000000-0000-0000-7fff-ffffffffffff");
+    UUID high = UUID.fromString("00000000-0000-0000-8000-000000000000");
+
+    assertThat(AccountLockOrder.sort(List.of(high, low))).containsExactly(low, high);
+  }
+
+  // uuid cua Postgres so sanh nhu chuoi hex cung do dai
+  @Test
+  void matchesPostgresTextOrder() {
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      ids.add(UUID.randomUUID());
+    }
+    ids.add(LOW);
+    ids.add(HIGH);
+
+    List<UUID> byText = ids.stream().sorted((a, b) -> a.toString().compareTo(b.toString())).toList();
+
+    assertThat(AccountLockOrder.sort(ids)).containsExactlyElementsOf(byText);
+  }
+
+  @Test
+  void sortIsIndependentOfInputOrderAndDropsDuplicates() {
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+
+    assertThat(AccountLockOrder.sort(List.of(a, b, a))).isEqualTo(AccountLockOrder.sort(List.of(b, a)))
+        .hasSize(2);
+  }
+}
@@ -0,0 +1,48 @@
+package com.neuro_bank.module.transaction.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SlidingWindowTest {
+  // 3 bucket x 1s: cua so gom bucket hien tai va 2 bucket truoc
+  private final SlidingWindow window = new SlidingWindow(3, 1000);
+
+  @Test
+  void countsAndSumsWithinWindow() {
+    window.add(0, 10);
+    window.add(1500, 20);
+    window.add(2500, 30);
+
+    assertThat(window.count(2999)).isEqualTo(3);
+    assertThat(window.sum(2999)).isCloseTo(60, within(1e-9));
+  }
+
+  @Test
+  void dropsBucketsOlderThanWindow() {
+    window.add(0, 10);
+    window.add(1500, 20);
+
+    assertThat(window.count(3000)).isEqualTo(1);
+    assertThat(window.sum(3000)).isCloseTo(20, within(1e-9));
+    assertThat(window.count(10_000)).isZero();
+  }
+
+  @Test
+  void reusedSlotStartsFromZero() {
+    window.add(0, 10);
+    window.add(0, 15);
+    // bucket 3 dung lai slot cua bucket 0
+    window.add(3000, 5);
+
+    assertThat(window.count(3000)).isEqualTo(1);
+    assertThat(window.sum(3000)).isCloseTo(5, within(1e-9));
+  }
+
+  @Test
+  void emptyWindowIsZero() {
+    assertThat(window.count(123_456)).isZero();
+    assertThat(window.sum(123_456)).isZero();
+  }
+}
@@ -0,0 +1,55 @@
+package com.neuro_bank.module.transaction.util;
+
+import com.neuro_bank.common.exception.BusinessException;
+import com.neuro_bank.module.transaction.dto.projection.TransactionScrollView;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionCursorTest {
+  @Test
+  void roundTripsWithNanoseconds() {
+    TransactionCursor cursor = new TransactionCursor(LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789),
+        UUID.randomUUID());
+
+    assertThat(TransactionCursor.decode(cursor.encode())).isEqualTo(cursor);
+  }
+
+  @Test
+  void encodesAsUrlSafeStringWithoutPadding() {
+    String encoded = new TransactionCursor(LocalDateTime.now(), UUID.randomUUID()).encode();
+
+    assertThat(encoded).matches("[A-Za-z0-9_-]+");
+  }
+
+  @Test
+  void seeksFromLastEntryOfPage() {
+    LocalDateTime entryCreatedAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+    UUID entryId = UUID.randomUUID();
+    TransactionScrollView row = new TransactionScrollView(entryCreatedAt, entryId, UUID.randomUUID(), "TXN",
+        null, null, null, null, null, null, null, entryCreatedAt.minusSeconds(1));
+
+    assertThat(TransactionCursor.of(row)).isEqualTo(new TransactionCursor(entryCreatedAt, entryId));
+  }
+
+  @Test
+  void rejectsGarbage() {
+    assertThatThrownBy(() -> TransactionCursor.decode("not a cursor!"))
+        .isInstanceOf(BusinessException.class)
+        .hasMessage("Invalid cursor");
+  }
+
+  @Test
+  void rejectsWrongLength() {
+    String tooShort = Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[10]);
+
+    assertThatThrownBy(() -> TransactionCursor.decode(tooShort))
+        .isInstanceOf(BusinessException.class)
+        .extracting("code").isEqualTo(400);
+  }
+}
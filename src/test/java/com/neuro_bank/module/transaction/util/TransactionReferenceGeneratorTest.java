@@ -0,0 +1,88 @@
+package com.neuro_bank.module.transaction.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionReferenceGeneratorTest {
+  private static final int THREADS = 8;
+  private static final int PER_THREAD = 250_000;
+
+  @Test
+  void formatIsFixedLength() {
+    String reference = new TransactionReferenceGenerator(42).nextReference();
+
+    assertThat(reference).hasSize(26).startsWith("TXN").matches("TXN\\d{23}");
+    assertThat(reference.substring(17, 20)).isEqualTo("042");
+  }
+
+  // 2M reference trong vai giay -> vuot 1M/giay, sequence phai muon sang giay ke tiep ma khong lap
+  @Test
+  void uniqueAcrossThreads() throws Exception {
+    TransactionReferenceGenerator generator = new TransactionReferenceGenerator(1);
+    Set<String> seen = ConcurrentHashMap.newKeySet();
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        futures.add(pool.submit(() -> {
+          start.await();
+          for (int i = 0; i < PER_THREAD; i++) {
+            seen.add(generator.nextReference());
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertThat(seen).hasSize(THREADS * PER_THREAD);
+  }
+
+  @Test
+  void differentNodesNeverCollide() {
+    TransactionReferenceGenerator first = new TransactionReferenceGenerator(1);
+    TransactionReferenceGenerator second = new TransactionReferenceGenerator(2);
+    Set<String> seen = ConcurrentHashMap.newKeySet();
+
+    for (int i = 0; i < 100_000; i++) {
+      seen.add(first.nextReference());
+      seen.add(second.nextReference());
+    }
+
+    assertThat(seen).hasSize(200_000);
+  }
+
+  @Test
+  void sequenceIsMonotonicOnOneNode() {
+    TransactionReferenceGenerator generator = new TransactionReferenceGenerator(7);
+    String previous = generator.nextReference();
+    for (int i = 0; i < 10_000; i++) {
+      String next = generator.nextReference();
+      assertThat(next).isGreaterThan(previous);
+      previous = next;
+    }
+  }
+
+  @Test
+  void rejectsNodeIdOutOfRange() {
+    assertThatThrownBy(() -> new TransactionReferenceGenerator(-1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new TransactionReferenceGenerator(1000)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
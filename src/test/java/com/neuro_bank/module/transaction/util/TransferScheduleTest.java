@@ -0,0 +1,45 @@
+package com.neuro_bank.module.transaction.util;
+
+import com.neuro_bank.common.enums.ScheduleFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransferScheduleTest {
+  private static final LocalDateTime END_OF_JANUARY = LocalDateTime.of(2025, 1, 31, 9, 30, 45, 500);
+
+  // tinh tu lan dau nen thang ngan khong keo cac lan sau ve ngay 28
+  @Test
+  void monthlyKeepsDayOfMonthAfterShortMonth() {
+    assertThat(TransferSchedule.runAt(END_OF_JANUARY, ScheduleFrequency.MONTHLY, 1))
+        .isEqualTo(LocalDateTime.of(2025, 2, 28, 9, 30));
+    assertThat(TransferSchedule.runAt(END_OF_JANUARY, ScheduleFrequency.MONTHLY, 2))
+        .isEqualTo(LocalDateTime.of(2025, 3, 31, 9, 30));
+    assertThat(TransferSchedule.runAt(END_OF_JANUARY, ScheduleFrequency.MONTHLY, 3))
+        .isEqualTo(LocalDateTime.of(2025, 4, 30, 9, 30));
+  }
+
+  @Test
+  void dailyAndWeeklyStepFromFirstRun() {
+    assertThat(TransferSchedule.runAt(END_OF_JANUARY, ScheduleFrequency.DAILY, 1))
+        .isEqualTo(LocalDateTime.of(2025, 2, 1, 9, 30));
+    assertThat(TransferSchedule.runAt(END_OF_JANUARY, ScheduleFrequency.WEEKLY, 2))
+        .isEqualTo(LocalDateTime.of(2025, 2, 14, 9, 30));
+  }
+
+  @Test
+  void onceIgnoresOccurrence() {
+    assertThat(TransferSchedule.runAt(END_OF_JANUARY, ScheduleFrequency.ONCE, 5))
+        .isEqualTo(LocalDateTime.of(2025, 1, 31, 9, 30));
+  }
+
+  @Test
+  void bucketIsOneMinute() {
+    LocalDateTime minute = LocalDateTime.of(2025, 1, 31, 9, 30);
+
+    assertThat(TransferSchedule.bucket(minute.plusSeconds(59))).isEqualTo(TransferSchedule.bucket(minute));
+    assertThat(TransferSchedule.bucket(minute.plusMinutes(1))).isEqualTo(TransferSchedule.bucket(minute) + 1);
+  }
+}